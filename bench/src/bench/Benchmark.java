@@ -0,0 +1,29 @@
+package bench;
+
+/**
+ * A single measured operation.
+ * Subclasses prepare state in {@link #setup()} and perform exactly one operation per
+ * {@link #run()} call; the returned value is consumed so the JIT cannot discard the work.
+ */
+public abstract class Benchmark {
+
+    private final String name;
+
+    protected Benchmark(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Called once before warmup.
+     */
+    public void setup() throws Exception { }
+
+    /**
+     * Performs one operation.
+     *
+     * @return Any value derived from the work done.
+     */
+    public abstract Object run() throws Exception;
+}
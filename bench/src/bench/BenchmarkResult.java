@@ -0,0 +1,89 @@
+package bench;
+
+import java.util.Locale;
+
+/**
+ * Measured statistics for one benchmark, in nanoseconds per operation.
+ */
+public class BenchmarkResult {
+    private final String name;
+    private final double[] samples; // ns/op for each measurement iteration
+    private final long operations;
+
+    public BenchmarkResult(String name, double[] samples, long operations) {
+        this.name = name;
+        this.samples = samples;
+        this.operations = operations;
+    }
+
+    public String getName() { return name; }
+    public long getOperations() { return operations; }
+
+    public double getMean() {
+        double sum = 0;
+        for (double s : samples) sum += s;
+        return sum / samples.length;
+    }
+
+    /**
+     * Half-width of a ~99.9% confidence interval (normal approximation);
+     * NaN with fewer than two measurement iterations.
+     */
+    public double getError() {
+        if (samples.length < 2) return Double.NaN;
+        double mean = getMean();
+        double sq = 0;
+        for (double s : samples) sq += (s - mean) * (s - mean);
+        double stdDev = Math.sqrt(sq / (samples.length - 1));
+        return 3.29 * stdDev / Math.sqrt(samples.length);
+    }
+
+    public double getMin() {
+        double min = Double.MAX_VALUE;
+        for (double s : samples) min = Math.min(min, s);
+        return min;
+    }
+
+    public double getMax() {
+        double max = 0;
+        for (double s : samples) max = Math.max(max, s);
+        return max;
+    }
+
+    /**
+     * JSON object in the same shape JMH uses for average-time results.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("    {\n");
+        sb.append("      \"benchmark\": \"").append(name).append("\",\n");
+        sb.append("      \"mode\": \"avgt\",\n");
+        sb.append("      \"operations\": ").append(operations).append(",\n");
+        sb.append("      \"primaryMetric\": {\n");
+        sb.append("        \"score\": ").append(format(getMean())).append(",\n");
+        sb.append("        \"scoreError\": ").append(format(getError())).append(",\n");
+        sb.append("        \"scoreUnit\": \"ns/op\",\n");
+        sb.append("        \"min\": ").append(format(getMin())).append(",\n");
+        sb.append("        \"max\": ").append(format(getMax())).append(",\n");
+        sb.append("        \"rawData\": [");
+        for (int i = 0; i < samples.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(format(samples[i]));
+        }
+        sb.append("]\n");
+        sb.append("      }\n");
+        sb.append("    }");
+        return sb.toString();
+    }
+
+    /** Numeric JSON value; NaN (no error estimate) is written as {@code null}. */
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "null";
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-40s %14.1f +- %10.1f ns/op", name, getMean(), getError());
+    }
+}
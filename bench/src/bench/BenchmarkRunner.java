@@ -0,0 +1,121 @@
+package bench;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the engine benchmarks and writes the results as JSON.
+ *
+ * <p>Each benchmark gets timed warmup iterations, then timed measurement iterations;
+ * every iteration reports the average time per operation. Game output is discarded
+ * while benchmarks run so console I/O does not dominate the numbers.</p>
+ *
+ * <pre>
+ * java -cp bin:bench/bin bench.BenchmarkRunner [--warmup 3] [--iterations 5]
+ *      [--time 1000] [--filter Name] [--out bench-results.json]
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    // Results are folded in here so the JIT cannot prove the work unused
+    private static volatile int sink;
+
+    public static void main(String[] args) throws Exception {
+        int warmup = 3;
+        int iterations = 5;
+        long iterationMillis = 1000;
+        String filter = null;
+        String out = "bench-results.json";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "--iterations": iterations = Integer.parseInt(args[++i]); break;
+                case "--time": iterationMillis = Long.parseLong(args[++i]); break;
+                case "--filter": filter = args[++i]; break;
+                case "--out": out = args[++i]; break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        PrintStream console = System.out;
+        PrintStream discard = new PrintStream(new OutputStream() {
+            @Override public void write(int b) { }
+            @Override public void write(byte[] b, int off, int len) { }
+        });
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Benchmark benchmark : EngineBenchmarks.all()) {
+            if (filter != null && !benchmark.getName().contains(filter)) continue;
+
+            console.println("Running " + benchmark.getName() + "...");
+            System.setOut(discard);
+            try {
+                benchmark.setup();
+                for (int i = 0; i < warmup; i++) measure(benchmark, iterationMillis);
+
+                double[] samples = new double[iterations];
+                long operations = 0;
+                for (int i = 0; i < iterations; i++) {
+                    long[] measured = measure(benchmark, iterationMillis);
+                    samples[i] = (double) measured[0] / measured[1];
+                    operations += measured[1];
+                }
+                results.add(new BenchmarkResult(benchmark.getName(), samples, operations));
+            } finally {
+                System.setOut(console);
+            }
+            console.println("  " + results.get(results.size() - 1));
+        }
+
+        writeJson(out, results, warmup, iterations, iterationMillis);
+        console.println("Results written to " + out);
+    }
+
+    /**
+     * Runs operations until the time budget is spent.
+     *
+     * @return {elapsed nanoseconds, operation count}
+     */
+    private static long[] measure(Benchmark benchmark, long iterationMillis) throws Exception {
+        long budget = iterationMillis * 1_000_000L;
+        long start = System.nanoTime();
+        long elapsed;
+        long ops = 0;
+        int acc = 0;
+        do {
+            Object result = benchmark.run();
+            acc += (result == null) ? 0 : result.hashCode();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < budget);
+        sink += acc;
+        return new long[] {elapsed, ops};
+    }
+
+    private static void writeJson(String path, List<BenchmarkResult> results,
+                                  int warmup, int iterations, long iterationMillis) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(path))) {
+            writer.println("{");
+            writer.println("  \"timestamp\": " + System.currentTimeMillis() + ",");
+            writer.println("  \"jvm\": \"" + System.getProperty("java.vm.name") + " " + System.getProperty("java.version") + "\",");
+            writer.println("  \"warmupIterations\": " + warmup + ",");
+            writer.println("  \"measurementIterations\": " + iterations + ",");
+            writer.println("  \"iterationTimeMs\": " + iterationMillis + ",");
+            writer.println("  \"benchmarks\": [");
+            for (int i = 0; i < results.size(); i++) {
+                writer.print(results.get(i).toJson());
+                writer.println(i < results.size() - 1 ? "," : "");
+            }
+            writer.println("  ]");
+            writer.println("}");
+        }
+    }
+}
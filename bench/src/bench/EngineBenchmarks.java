@@ -0,0 +1,215 @@
+package bench;
+
+import board.LegendsBoard;
+import board.ValorBoard;
+import entities.Hero;
+import entities.Hero.HeroType;
+import entities.Monster;
+import entities.Monster.MonsterType;
+import entities.Party;
+import game.BattleController;
+import game.MarketController;
+import game.ValorGame;
+import items.Inventory;
+import items.Item;
+import items.Spell.SpellType;
+import utils.GameDataLoader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * The engine's hot paths, one benchmark each.
+ */
+public final class EngineBenchmarks {
+
+    private EngineBenchmarks() { }
+
+    public static List<Benchmark> all() {
+        return Arrays.asList(
+                new LegendsBoardGeneration(8),
+                new LegendsBoardGeneration(20),
+                new ValorBoardRender(),
+                new InventoryQueries(),
+                new MarketStockGeneration(),
+                new DataLoaderParsing(),
+                new HeroGainExperience(),
+                new HeadlessBattle(),
+                new ValorRound()
+        );
+    }
+
+    /** Random terrain generation including the connectivity retries. */
+    static class LegendsBoardGeneration extends Benchmark {
+        private final int size;
+
+        LegendsBoardGeneration(int size) {
+            super("LegendsBoard.generate[" + size + "x" + size + "]");
+            this.size = size;
+        }
+
+        @Override
+        public Object run() {
+            return new LegendsBoard(size);
+        }
+    }
+
+    /** Full 8x8 Valor board render into a discarded stream. */
+    static class ValorBoardRender extends Benchmark {
+        private ValorBoard board;
+
+        ValorBoardRender() { super("ValorBoard.printBoard"); }
+
+        @Override
+        public void setup() { board = new ValorBoard(); }
+
+        @Override
+        public Object run() {
+            board.printBoard();
+            return board;
+        }
+    }
+
+    /** All four category filters over a market-sized inventory. */
+    static class InventoryQueries extends Benchmark {
+        private final Inventory inventory = new Inventory();
+
+        InventoryQueries() { super("Inventory.categoryQueries"); }
+
+        @Override
+        public void setup() {
+            for (Item item : loadItemCatalog()) inventory.addItem(item);
+        }
+
+        @Override
+        public Object run() {
+            return inventory.getWeapons().size() + inventory.getArmor().size()
+                    + inventory.getPotions().size() + inventory.getSpells().size();
+        }
+    }
+
+    /** One market visit: level-filtered stock generation, then leave. */
+    static class MarketStockGeneration extends Benchmark {
+        private MarketController market;
+        private Hero hero;
+
+        MarketStockGeneration() { super("MarketController.generateStock"); }
+
+        @Override
+        public void setup() {
+            market = new MarketController();
+            hero = newHero(HeroType.WARRIOR);
+        }
+
+        @Override
+        public Object run() {
+            market.enterMarket(new Scanner("3\n"), hero); // 3 = Exit Market
+            return hero;
+        }
+    }
+
+    /** Parsing every data file. */
+    static class DataLoaderParsing extends Benchmark {
+        DataLoaderParsing() { super("GameDataLoader.parseAll"); }
+
+        @Override
+        public Object run() {
+            int count = 0;
+            count += GameDataLoader.loadHeroes("Warriors.txt", HeroType.WARRIOR).size();
+            count += GameDataLoader.loadHeroes("Sorcerers.txt", HeroType.SORCERER).size();
+            count += GameDataLoader.loadHeroes("Paladins.txt", HeroType.PALADIN).size();
+            count += loadMonsterCatalog().size();
+            count += loadItemCatalog().size();
+            return count;
+        }
+    }
+
+    /** A large XP award spanning many levels. */
+    static class HeroGainExperience extends Benchmark {
+        HeroGainExperience() { super("Hero.gainExperience[5000xp]"); }
+
+        @Override
+        public Object run() {
+            Hero hero = newHero(HeroType.SORCERER);
+            hero.gainExperience(5000);
+            return hero.getLevel();
+        }
+    }
+
+    /** A complete Legends encounter with every hero attacking the first target. */
+    static class HeadlessBattle extends Benchmark {
+        private List<Monster> catalog;
+        private final Scanner input = ScriptedInput.repeating("1"); // Attack, first target
+
+        HeadlessBattle() { super("BattleController.fullBattle"); }
+
+        @Override
+        public void setup() { catalog = loadMonsterCatalog(); }
+
+        @Override
+        public Object run() {
+            Party party = new Party();
+            party.addHero(newHero(HeroType.WARRIOR));
+            party.addHero(newHero(HeroType.SORCERER));
+            party.addHero(newHero(HeroType.PALADIN));
+            new BattleController(catalog).startBattle(input, party);
+            return party;
+        }
+    }
+
+    /**
+     * One Valor round (three hero turns, monster turn, regeneration) driven by a
+     * script that attacks when possible, otherwise advances and breaks obstacles.
+     * A new game is set up whenever one ends.
+     */
+    static class ValorRound extends Benchmark {
+        private final Scanner input = ScriptedInput.repeating("a", "1", "w", "w", "y");
+        private ScriptedValorGame game;
+
+        ValorRound() { super("ValorGame.round"); }
+
+        @Override
+        public Object run() {
+            if (game == null || game.over()) {
+                game = new ScriptedValorGame();
+                game.setup(input);
+            }
+            game.round(input);
+            return game;
+        }
+    }
+
+    /** Exposes the template-method hooks so rounds can be stepped individually. */
+    static class ScriptedValorGame extends ValorGame {
+        void setup(Scanner scanner) { initializeGame(scanner); }
+        void round(Scanner scanner) { processTurn(scanner); }
+        boolean over() { return isGameOver(); }
+    }
+
+    // --- Fixtures ---
+
+    private static Hero newHero(HeroType type) {
+        return new Hero("Bench_" + type, type, 600, 750, 650, 700, 2500, 0);
+    }
+
+    private static List<Monster> loadMonsterCatalog() {
+        List<Monster> monsters = new ArrayList<>();
+        monsters.addAll(GameDataLoader.loadMonsters("Dragons.txt", MonsterType.DRAGON));
+        monsters.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", MonsterType.EXOSKELETON));
+        monsters.addAll(GameDataLoader.loadMonsters("Spirits.txt", MonsterType.SPIRIT));
+        return monsters;
+    }
+
+    private static List<Item> loadItemCatalog() {
+        List<Item> items = new ArrayList<>();
+        items.addAll(GameDataLoader.loadWeapons("Weaponry.txt"));
+        items.addAll(GameDataLoader.loadArmor("Armory.txt"));
+        items.addAll(GameDataLoader.loadPotions("Potions.txt"));
+        items.addAll(GameDataLoader.loadSpells("FireSpells.txt", SpellType.FIRE));
+        items.addAll(GameDataLoader.loadSpells("IceSpells.txt", SpellType.ICE));
+        items.addAll(GameDataLoader.loadSpells("LightningSpells.txt", SpellType.LIGHTNING));
+        return items;
+    }
+}
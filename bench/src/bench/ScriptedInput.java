@@ -0,0 +1,38 @@
+package bench;
+
+import java.io.Reader;
+import java.util.Scanner;
+
+/**
+ * Endless console input for driving interactive game code without a human.
+ * The script is replayed forever, so prompts never run out of lines.
+ */
+public final class ScriptedInput extends Reader {
+    private final char[] script;
+    private int position;
+
+    private ScriptedInput(String script) {
+        this.script = script.toCharArray();
+    }
+
+    /**
+     * Creates a Scanner that repeats {@code lines} (one command per line) indefinitely.
+     */
+    public static Scanner repeating(String... lines) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) sb.append(line).append('\n');
+        return new Scanner(new ScriptedInput(sb.toString()));
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            buffer[offset + i] = script[position];
+            position = (position + 1) % script.length;
+        }
+        return length;
+    }
+
+    @Override
+    public void close() { }
+}
@@ -0,0 +1,78 @@
+package bench.jmh;
+
+import bench.Benchmark;
+import bench.EngineBenchmarks;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH entry point for the engine benchmarks.
+ *
+ * <p>Runs the same operations as {@link bench.BenchmarkRunner}, one parameter value per
+ * benchmark in {@link EngineBenchmarks#all()}, so both harnesses report comparable numbers.
+ * Game output is discarded for the duration of each trial.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineJmh {
+
+    @Param({
+            "LegendsBoard.generate[8x8]",
+            "LegendsBoard.generate[20x20]",
+            "ValorBoard.printBoard",
+            "Inventory.categoryQueries",
+            "MarketController.generateStock",
+            "GameDataLoader.parseAll",
+            "Hero.gainExperience[5000xp]",
+            "BattleController.fullBattle",
+            "ValorGame.round"
+    })
+    public String benchmark;
+
+    private Benchmark target;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        for (Benchmark b : EngineBenchmarks.all()) {
+            if (b.getName().equals(benchmark)) target = b;
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("No engine benchmark named '" + benchmark + "'.");
+        }
+        console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override public void write(int b) { }
+            @Override public void write(byte[] b, int off, int len) { }
+        }));
+        target.setup();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @org.openjdk.jmh.annotations.Benchmark
+    public Object run() throws Exception {
+        return target.run();
+    }
+}
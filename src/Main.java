@@ -1,8 +1,32 @@
 import common.GameRunner;
+import common.ScriptRunner;
+import sim.ExplorationSim;
+import sim.ParameterSweep;
+import sim.Tournament;
 
 public class Main {
     public static void main(String[] args) {
+        // --tournament [options] plays every drafted party headlessly and prints the standings
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            Tournament.run(args);
+            return;
+        }
+        // --explore [options] walks many seeded Legends parties headlessly and prints progression curves
+        if (args.length > 0 && args[0].equals("--explore")) {
+            ExplorationSim.run(args);
+            return;
+        }
+        // --sweep --param key=low:high[:steps] ... races balance settings in headless games
+        if (args.length > 0 && args[0].equals("--sweep")) {
+            ParameterSweep.run(args);
+            return;
+        }
+        // With arguments (--script FILE [--seed N] [--turbo]) replay a recorded script headlessly
+        if (args.length > 0) {
+            ScriptRunner.run(args);
+            return;
+        }
         // Delegate execution to the GameRunner which handles the menu and errors
         GameRunner.run();
     }
-}
\ No newline at end of file
+}
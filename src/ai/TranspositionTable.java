@@ -0,0 +1,100 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size, lock-free transposition table for Valor positions.
+ *
+ * <p>Entries live in one {@code long[]}, two slots per entry: {@code key ^ data} and
+ * {@code data}. A reader accepts an entry only if the two slots XOR back to its key, so a
+ * torn write from another thread reads as a miss instead of corrupt data and no locking is
+ * needed. {@code data} packs the mean value (float bits, high 32) and the sample count (low
+ * 32). Collisions use a short linear probe; when every probed entry is taken, the one with
+ * the fewest samples is replaced.</p>
+ */
+public final class TranspositionTable {
+    private static final int PROBE = 4;
+
+    private final long[] table;
+    private final int mask;
+
+    /**
+     * @param entries Requested capacity, rounded up to a power of two.
+     */
+    public TranspositionTable(int entries) {
+        if (entries < 1 || entries > (1 << 28)) {
+            throw new IllegalArgumentException("Transposition table size must be between 1 and 2^28 entries.");
+        }
+        int size = Integer.highestOneBit(entries);
+        if (size < entries) size <<= 1;
+        this.table = new long[size * 2];
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return The packed entry for {@code key}, or 0 if absent. Unpack with {@link #mean} and {@link #count}.
+     */
+    public long probe(long key) {
+        int index = index(key);
+        for (int i = 0; i < PROBE; i++) {
+            int slot = ((index + i) & mask) << 1;
+            long data = table[slot + 1];
+            if (data != 0 && (table[slot] ^ data) == key) return data;
+        }
+        return 0L;
+    }
+
+    /**
+     * Folds {@code samples} new samples with mean {@code value} into the entry for {@code key}.
+     * Concurrent merges of the same key may lose one of the updates; both are valid estimates.
+     */
+    public void merge(long key, double value, int samples) {
+        long old = probe(key);
+        int count = count(old);
+        double mean = (count == 0) ? value : (mean(old) * count + value * samples) / (count + samples);
+        store(key, mean, (int) Math.min(Integer.MAX_VALUE, (long) count + samples));
+    }
+
+    /** Overwrites the entry for {@code key}. */
+    public void store(long key, double mean, int count) {
+        if (count <= 0) return;
+        long data = ((long) Float.floatToIntBits((float) mean) << 32) | (count & 0xFFFFFFFFL);
+        int index = index(key);
+        int victim = -1;
+        int victimCount = Integer.MAX_VALUE;
+        for (int i = 0; i < PROBE; i++) {
+            int slot = ((index + i) & mask) << 1;
+            long existing = table[slot + 1];
+            if (existing == 0 || (table[slot] ^ existing) == key) {
+                victim = slot;
+                break;
+            }
+            if (count(existing) < victimCount) {
+                victimCount = count(existing);
+                victim = slot;
+            }
+        }
+        table[victim] = key ^ data;
+        table[victim + 1] = data;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0L);
+    }
+
+    public static double mean(long data) {
+        return Float.intBitsToFloat((int) (data >>> 32));
+    }
+
+    public static int count(long data) {
+        return (int) data;
+    }
+
+    private int index(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
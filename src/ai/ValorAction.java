@@ -0,0 +1,53 @@
+package ai;
+
+/**
+ * Hero actions packed into a single {@code int} so search trees and move lists stay primitive.
+ * Layout: bits 0-3 type, bits 4-11 first argument, bits 12-19 second argument.
+ */
+public final class ValorAction {
+    public static final int MOVE = 0;      // a = direction (see DIR_*)
+    public static final int ATTACK = 1;    // a = monster index
+    public static final int CAST = 2;      // a = spell slot, b = monster index
+    public static final int TELEPORT = 3;  // a = destination hero index
+    public static final int RECALL = 4;
+    public static final int PASS = 5;
+
+    public static final int DIR_NORTH = 0;
+    public static final int DIR_SOUTH = 1;
+    public static final int DIR_WEST = 2;
+    public static final int DIR_EAST = 3;
+
+    static final int[] DIR_ROW = {-1, 1, 0, 0};
+    static final int[] DIR_COL = {0, 0, -1, 1};
+
+    private ValorAction() {}
+
+    public static int of(int type, int a, int b) {
+        return (type & 0xF) | ((a & 0xFF) << 4) | ((b & 0xFF) << 12);
+    }
+
+    public static int move(int direction) { return of(MOVE, direction, 0); }
+    public static int attack(int monster) { return of(ATTACK, monster, 0); }
+    public static int cast(int spell, int monster) { return of(CAST, spell, monster); }
+    public static int teleport(int hero) { return of(TELEPORT, hero, 0); }
+    public static int recall() { return of(RECALL, 0, 0); }
+    public static int pass() { return of(PASS, 0, 0); }
+
+    public static int type(int action) { return action & 0xF; }
+    public static int argA(int action) { return (action >>> 4) & 0xFF; }
+    public static int argB(int action) { return (action >>> 12) & 0xFF; }
+
+    public static int rowDelta(int direction) { return DIR_ROW[direction]; }
+    public static int colDelta(int direction) { return DIR_COL[direction]; }
+
+    public static String describe(int action) {
+        switch (type(action)) {
+            case MOVE: return "move " + new String[]{"north", "south", "west", "east"}[argA(action)];
+            case ATTACK: return "attack monster #" + argA(action);
+            case CAST: return "cast spell #" + argA(action) + " on monster #" + argB(action);
+            case TELEPORT: return "teleport to hero #" + argA(action);
+            case RECALL: return "recall";
+            default: return "pass";
+        }
+    }
+}
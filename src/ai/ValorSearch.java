@@ -0,0 +1,352 @@
+package ai;
+
+import game.CombatResolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo Tree Search for Valor heroes.
+ *
+ * <p>Root parallelism: every worker grows its own open-loop UCT tree from a private copy of
+ * the root state on a fork/join pool, and the root visit counts are summed at the end. The
+ * tree is keyed by action sequence only, so dice rolls and spawns are re-sampled on every
+ * iteration. Plies cycle through the heroes in party order; after the last hero acts the
+ * monster phase, regeneration and spawns run as part of the transition.</p>
+ *
+ * <p>All workers share one {@link TranspositionTable} keyed by the position's Zobrist hash
+ * and the hero to act. A newly expanded position that already has enough rollouts recorded
+ * reuses their mean instead of rolling out again, so transpositions (heroes stepping back and
+ * forth, recalls) are evaluated once.</p>
+ */
+public class ValorSearch {
+    private static final double EXPLORATION = 1.4;
+    private static final int TABLE_ENTRIES = 1 << 18;
+    /** Rollouts a position needs in the table before its mean replaces a fresh rollout. */
+    private static final int TABLE_TRUST = 8;
+
+    private final CombatResolver combat;
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final int rolloutRounds;
+    private final TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+
+    /**
+     * @param combat        Rules used for every simulated attack.
+     * @param pool          Pool that runs the workers.
+     * @param workers       Number of independent root-parallel trees.
+     * @param rolloutRounds Full rounds simulated after leaving the tree before evaluating.
+     */
+    public ValorSearch(CombatResolver combat, ForkJoinPool pool, int workers, int rolloutRounds) {
+        if (workers < 1 || rolloutRounds < 0) {
+            throw new IllegalArgumentException("Search needs at least one worker and a non-negative rollout depth.");
+        }
+        this.combat = combat;
+        this.pool = pool;
+        this.workers = workers;
+        this.rolloutRounds = rolloutRounds;
+    }
+
+    /** Search with one worker per core on the common pool. */
+    public ValorSearch(CombatResolver combat) {
+        this(combat, ForkJoinPool.commonPool(), Math.max(1, ForkJoinPool.getCommonPoolParallelism()), 8);
+    }
+
+    /**
+     * Picks an action for {@code hero} within the time budget.
+     */
+    public int chooseAction(ValorState root, int hero, long budgetMillis) {
+        return search(root, hero, budgetMillis, Long.MAX_VALUE, System.nanoTime()).getBestAction();
+    }
+
+    /**
+     * Runs the search until the time budget or the per-worker iteration cap is reached.
+     *
+     * @param budgetMillis  Wall-clock budget; {@code <= 0} means iterations only.
+     * @param maxIterations Iteration cap per worker (use a finite cap for reproducible runs).
+     * @param seed          Seed for the worker random streams.
+     */
+    public Result search(ValorState root, int hero, long budgetMillis, long maxIterations, long seed) {
+        return search(root, hero, budgetMillis, maxIterations, seed, false);
+    }
+
+    /**
+     * @param clearTable Forget positions cached by earlier searches (needed for reproducible runs).
+     */
+    public Result search(ValorState root, int hero, long budgetMillis, long maxIterations, long seed,
+                         boolean clearTable) {
+        if (budgetMillis <= 0 && maxIterations == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Search needs a time budget or an iteration cap.");
+        }
+        if (clearTable) table.clear();
+        long deadline = (budgetMillis > 0) ? System.nanoTime() + budgetMillis * 1_000_000L : Long.MAX_VALUE;
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<Node>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom rng = seeds.split();
+            tasks.add(() -> new Worker(root, hero, rng).run(deadline, maxIterations));
+        }
+
+        Node merged = new Node(-1);
+        try {
+            for (Future<Node> f : pool.invokeAll(tasks)) {
+                Node tree = f.get();
+                merged.visits += tree.visits;
+                merged.value += tree.value;
+                for (int i = 0; i < tree.size; i++) {
+                    Node child = tree.children[i];
+                    Node into = merged.child(child.action);
+                    if (into == null) into = merged.add(child.action);
+                    into.visits += child.visits;
+                    into.value += child.value;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+
+        Node best = null;
+        for (int i = 0; i < merged.size; i++) {
+            Node c = merged.children[i];
+            if (best == null || c.visits > best.visits
+                    || (c.visits == best.visits && c.mean() > best.mean())) {
+                best = c;
+            }
+        }
+        int action = (best != null) ? best.action : ValorAction.pass();
+        return new Result(action, merged.visits, best != null ? best.mean() : 0.5);
+    }
+
+    /** Outcome of one search. */
+    public static final class Result {
+        private final int bestAction;
+        private final long iterations;
+        private final double expectedValue;
+
+        Result(int bestAction, long iterations, double expectedValue) {
+            this.bestAction = bestAction;
+            this.iterations = iterations;
+            this.expectedValue = expectedValue;
+        }
+
+        public int getBestAction() { return bestAction; }
+        public long getIterations() { return iterations; }
+        /** Mean rollout value of the chosen action, 1 = certain hero win. */
+        public double getExpectedValue() { return expectedValue; }
+    }
+
+    /** One UCT tree owned by a single worker thread. */
+    private final class Worker {
+        private final ValorState root;
+        private final int rootHero;
+        private final SplittableRandom rng;
+        private final ValorState state;
+        private final int[] actions;
+        private final Node[] path = new Node[512];
+
+        Worker(ValorState root, int rootHero, SplittableRandom rng) {
+            this.root = root;
+            this.rootHero = rootHero;
+            this.rng = rng;
+            this.state = root.copy();
+            this.actions = new int[root.maxActions()];
+        }
+
+        Node run(long deadline, long maxIterations) {
+            Node tree = new Node(-1);
+            for (long i = 0; i < maxIterations; i++) {
+                if ((i & 15) == 0 && System.nanoTime() >= deadline) break;
+                iterate(tree);
+            }
+            return tree;
+        }
+
+        private void iterate(Node tree) {
+            state.copyFrom(root);
+            Node node = tree;
+            int actor = rootHero;
+            int depth = 0;
+            path[depth++] = node;
+            double value;
+
+            while (true) {
+                if (state.outcome() != ValorState.ONGOING) {
+                    value = evaluate(state);
+                    break;
+                }
+                int n = state.legalActions(actor, actions);
+
+                // Expand the first legal action without a child yet (random order)
+                int untried = -1;
+                int start = rng.nextInt(n);
+                for (int k = 0; k < n; k++) {
+                    int a = actions[(start + k) % n];
+                    if (node.child(a) == null) { untried = a; break; }
+                }
+                if (untried != -1) {
+                    node = node.add(untried);
+                    path[depth++] = node;
+                    state.apply(actor, untried, combat, rng);
+                    value = evaluateLeaf(advance(actor));
+                    break;
+                }
+                if (depth == path.length) {
+                    value = rollout(actor);
+                    break;
+                }
+
+                node = select(node, n);
+                path[depth++] = node;
+                state.apply(actor, node.action, combat, rng);
+                actor = advance(actor);
+            }
+
+            for (int i = 0; i < depth; i++) {
+                path[i].visits++;
+                path[i].value += value;
+            }
+        }
+
+        private Node select(Node node, int legalCount) {
+            double logN = Math.log(Math.max(1, node.visits));
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < legalCount; k++) {
+                Node c = node.child(actions[k]);
+                double score = c.mean() + EXPLORATION * Math.sqrt(logN / Math.max(1, c.visits));
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        /** Next hero to act; closing the round runs the monster phase. */
+        private int advance(int actor) {
+            int next = actor + 1;
+            if (next == state.getHeroCount()) {
+                state.endRound(combat);
+                next = 0;
+            }
+            return next;
+        }
+
+        /** Reuses the table's estimate for a well-sampled position, otherwise rolls out and records it. */
+        private double evaluateLeaf(int actor) {
+            if (state.outcome() != ValorState.ONGOING) return evaluate(state);
+            long key = state.getHash() ^ ZobristKeys.actor(actor);
+            long entry = table.probe(key);
+            if (TranspositionTable.count(entry) >= TABLE_TRUST) return TranspositionTable.mean(entry);
+            double value = rollout(actor);
+            table.merge(key, value, 1);
+            return value;
+        }
+
+        private double rollout(int actor) {
+            int endRound = state.getRound() + rolloutRounds;
+            while (state.outcome() == ValorState.ONGOING && state.getRound() < endRound) {
+                int n = state.legalActions(actor, actions);
+                state.apply(actor, pickRolloutAction(n), combat, rng);
+                actor = advance(actor);
+            }
+            return evaluate(state);
+        }
+
+        /** Biased random policy: fight when adjacent, otherwise usually push north. */
+        private int pickRolloutAction(int n) {
+            int attacks = 0;
+            int north = -1;
+            for (int k = 0; k < n; k++) {
+                int type = ValorAction.type(actions[k]);
+                if (type == ValorAction.ATTACK || type == ValorAction.CAST) {
+                    attacks++;
+                } else if (type == ValorAction.MOVE && ValorAction.argA(actions[k]) == ValorAction.DIR_NORTH) {
+                    north = actions[k];
+                }
+            }
+            if (attacks > 0 && rng.nextDouble() < 0.7) {
+                int pick = rng.nextInt(attacks);
+                for (int k = 0; k < n; k++) {
+                    int type = ValorAction.type(actions[k]);
+                    if ((type == ValorAction.ATTACK || type == ValorAction.CAST) && pick-- == 0) return actions[k];
+                }
+            }
+            if (north != -1 && rng.nextDouble() < 0.6) return north;
+            return actions[rng.nextInt(n)];
+        }
+    }
+
+    /**
+     * Heuristic value in [0, 1] from the heroes' point of view.
+     * Terminal states score 1 or 0; otherwise the lead of the most advanced hero over
+     * the most advanced monster, nudged by how much monster HP is left on the board.
+     */
+    static double evaluate(ValorState s) {
+        int outcome = s.outcome();
+        if (outcome == ValorState.HEROES_WIN) return 1.0;
+        if (outcome == ValorState.MONSTERS_WIN) return 0.0;
+
+        int last = ValorState.SIZE - 1;
+        double heroProgress = 0;
+        for (int h = 0; h < s.heroCount; h++) {
+            heroProgress = Math.max(heroProgress, (double) (last - s.heroRow[h]) / last);
+        }
+        double monsterProgress = 0;
+        double monsterHp = 0;
+        for (int m = 0; m < s.monsterCount; m++) {
+            if (!s.monsterAlive[m]) continue;
+            monsterProgress = Math.max(monsterProgress, (double) s.monsterRow[m] / last);
+            monsterHp += s.monsterHp[m];
+        }
+        double pressure = monsterHp / (monsterHp + 1000.0);
+        double v = 0.5 + 0.35 * (heroProgress - monsterProgress) - 0.1 * pressure;
+        return Math.max(0.01, Math.min(0.99, v));
+    }
+
+    /** Tree node: statistics for the action that leads into it. */
+    private static final class Node {
+        final int action;
+        int[] actions = new int[4];
+        Node[] children = new Node[4];
+        int size;
+        long visits;
+        double value;
+
+        Node(int action) {
+            this.action = action;
+        }
+
+        double mean() {
+            return visits == 0 ? 0.5 : value / visits;
+        }
+
+        Node child(int action) {
+            for (int i = 0; i < size; i++) {
+                if (actions[i] == action) return children[i];
+            }
+            return null;
+        }
+
+        Node add(int action) {
+            if (size == actions.length) {
+                actions = Arrays.copyOf(actions, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            Node n = new Node(action);
+            actions[size] = action;
+            children[size] = n;
+            size++;
+            return n;
+        }
+    }
+}
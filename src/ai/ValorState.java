@@ -0,0 +1,484 @@
+package ai;
+
+import board.CellType;
+import game.CombatResolver;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Compact, copyable snapshot of a Valor match for search.
+ * Everything lives in primitive arrays so {@link #copyFrom(ValorState)} is a handful of
+ * array copies and a search iteration allocates nothing. The rules mirror
+ * {@code game.ValorGame}: heroes move/attack/cast/teleport/recall, monsters step south,
+ * survivors regenerate, and reinforcements arrive every {@code valor_spawn_interval} rounds.
+ *
+ * <p>A Zobrist hash of the position ({@link ZobristKeys}) is kept up to date by every
+ * mutation, so {@link #getHash()} is free.</p>
+ */
+public final class ValorState {
+    public static final int SIZE = 8;
+    public static final int MAX_SPELLS = 8;
+    public static final int[] HERO_SPAWN_COLS = {0, 3, 6};
+    public static final int[] MONSTER_SPAWN_COLS = {1, 4, 7};
+
+    public static final int ONGOING = 0;
+    public static final int HEROES_WIN = 1;
+    public static final int MONSTERS_WIN = -1;
+
+    private static final byte OBSTACLE = (byte) CellType.OBSTACLE.ordinal();
+    private static final byte COMMON = (byte) CellType.COMMON.ordinal();
+    private static final byte INACCESSIBLE = (byte) CellType.INACCESSIBLE.ordinal();
+
+    // Terrain and occupancy (index = row * SIZE + col); occupancy stores index + 1, 0 = empty
+    final byte[] terrain = new byte[SIZE * SIZE];
+    final int[] cellHero = new int[SIZE * SIZE];
+    final int[] cellMonster = new int[SIZE * SIZE];
+
+    // Heroes
+    final int heroCount;
+    final int[] heroRow, heroCol, heroLane;
+    final double[] heroHp, heroMaxHp, heroMana, heroMaxMana, heroStrength, heroWeapon, heroDexterity;
+    final int[] spellCount;
+    final double[] spellDamage, spellCost;  // [hero * MAX_SPELLS + slot]
+    final byte[] spellType;                 // Spell.SpellType ordinal
+    final boolean[] spellUsed;
+
+    // Monsters (index stable within a state; dead monsters stay with alive = false)
+    int monsterCount;
+    int[] monsterRow, monsterCol, monsterLane;
+    double[] monsterHp, monsterMaxHp, monsterDefense, monsterDodge, monsterDamage;
+    boolean[] monsterAlive;
+
+    int round;
+    double spawnHp, spawnDefense, spawnDodge, spawnDamage;
+    long hash;
+
+    public ValorState(int heroCount, int monsterCapacity) {
+        if (heroCount > ZobristKeys.MAX_HEROES) {
+            throw new IllegalArgumentException("At most " + ZobristKeys.MAX_HEROES + " heroes are supported.");
+        }
+        this.heroCount = heroCount;
+        heroRow = new int[heroCount];
+        heroCol = new int[heroCount];
+        heroLane = new int[heroCount];
+        heroHp = new double[heroCount];
+        heroMaxHp = new double[heroCount];
+        heroMana = new double[heroCount];
+        heroMaxMana = new double[heroCount];
+        heroStrength = new double[heroCount];
+        heroWeapon = new double[heroCount];
+        heroDexterity = new double[heroCount];
+        spellCount = new int[heroCount];
+        spellDamage = new double[heroCount * MAX_SPELLS];
+        spellCost = new double[heroCount * MAX_SPELLS];
+        spellType = new byte[heroCount * MAX_SPELLS];
+        spellUsed = new boolean[heroCount * MAX_SPELLS];
+        allocateMonsters(Math.max(8, monsterCapacity));
+
+        // Empty board: every cell is COMMON (ordinal 0), round 0
+        for (int cell = 0; cell < terrain.length; cell++) hash ^= ZobristKeys.terrain(cell, COMMON);
+        hash ^= ZobristKeys.round(0);
+    }
+
+    /** Creates an independent copy of this state. */
+    public ValorState copy() {
+        ValorState s = new ValorState(heroCount, monsterRow.length);
+        s.copyFrom(this);
+        return s;
+    }
+
+    /**
+     * Overwrites this state with {@code other}; both must have the same hero count.
+     */
+    public void copyFrom(ValorState other) {
+        if (other.heroCount != heroCount) {
+            throw new IllegalArgumentException("Hero count mismatch: " + other.heroCount + " vs " + heroCount);
+        }
+        System.arraycopy(other.terrain, 0, terrain, 0, terrain.length);
+        System.arraycopy(other.cellHero, 0, cellHero, 0, cellHero.length);
+        System.arraycopy(other.cellMonster, 0, cellMonster, 0, cellMonster.length);
+
+        System.arraycopy(other.heroRow, 0, heroRow, 0, heroCount);
+        System.arraycopy(other.heroCol, 0, heroCol, 0, heroCount);
+        System.arraycopy(other.heroLane, 0, heroLane, 0, heroCount);
+        System.arraycopy(other.heroHp, 0, heroHp, 0, heroCount);
+        System.arraycopy(other.heroMaxHp, 0, heroMaxHp, 0, heroCount);
+        System.arraycopy(other.heroMana, 0, heroMana, 0, heroCount);
+        System.arraycopy(other.heroMaxMana, 0, heroMaxMana, 0, heroCount);
+        System.arraycopy(other.heroStrength, 0, heroStrength, 0, heroCount);
+        System.arraycopy(other.heroWeapon, 0, heroWeapon, 0, heroCount);
+        System.arraycopy(other.heroDexterity, 0, heroDexterity, 0, heroCount);
+        System.arraycopy(other.spellCount, 0, spellCount, 0, heroCount);
+        System.arraycopy(other.spellDamage, 0, spellDamage, 0, spellDamage.length);
+        System.arraycopy(other.spellCost, 0, spellCost, 0, spellCost.length);
+        System.arraycopy(other.spellType, 0, spellType, 0, spellType.length);
+        System.arraycopy(other.spellUsed, 0, spellUsed, 0, spellUsed.length);
+
+        if (monsterRow.length < other.monsterCount) allocateMonsters(other.monsterRow.length);
+        int n = other.monsterCount;
+        System.arraycopy(other.monsterRow, 0, monsterRow, 0, n);
+        System.arraycopy(other.monsterCol, 0, monsterCol, 0, n);
+        System.arraycopy(other.monsterLane, 0, monsterLane, 0, n);
+        System.arraycopy(other.monsterHp, 0, monsterHp, 0, n);
+        System.arraycopy(other.monsterMaxHp, 0, monsterMaxHp, 0, n);
+        System.arraycopy(other.monsterDefense, 0, monsterDefense, 0, n);
+        System.arraycopy(other.monsterDodge, 0, monsterDodge, 0, n);
+        System.arraycopy(other.monsterDamage, 0, monsterDamage, 0, n);
+        System.arraycopy(other.monsterAlive, 0, monsterAlive, 0, n);
+        monsterCount = n;
+
+        round = other.round;
+        spawnHp = other.spawnHp;
+        spawnDefense = other.spawnDefense;
+        spawnDodge = other.spawnDodge;
+        spawnDamage = other.spawnDamage;
+        hash = other.hash;
+    }
+
+    // --- Building a snapshot ---
+
+    public void setTerrain(int row, int col, CellType type) {
+        changeTerrain(row * SIZE + col, (byte) type.ordinal());
+    }
+
+    /**
+     * Places a hero; call once per hero while building the snapshot.
+     */
+    public void setHero(int index, int row, int col, int lane, double hp, double maxHp,
+                        double mana, double maxMana, double strength, double weaponDamage, double dexterity) {
+        heroRow[index] = row;
+        heroCol[index] = col;
+        heroLane[index] = lane;
+        heroHp[index] = hp;
+        heroMaxHp[index] = maxHp;
+        heroMana[index] = mana;
+        heroMaxMana[index] = maxMana;
+        heroStrength[index] = strength;
+        heroWeapon[index] = weaponDamage;
+        heroDexterity[index] = dexterity;
+        cellHero[row * SIZE + col] = index + 1;
+        hash ^= heroKey(index);
+    }
+
+    /**
+     * @return The spell slot, or -1 if the hero already has {@link #MAX_SPELLS} spells.
+     */
+    public int addSpell(int hero, double damage, double manaCost, int typeOrdinal) {
+        int slot = spellCount[hero];
+        if (slot == MAX_SPELLS) return -1;
+        int i = hero * MAX_SPELLS + slot;
+        spellDamage[i] = damage;
+        spellCost[i] = manaCost;
+        spellType[i] = (byte) typeOrdinal;
+        spellUsed[i] = false;
+        spellCount[hero] = slot + 1;
+        return slot;
+    }
+
+    public int addMonster(int row, int col, int lane, double hp, double maxHp,
+                          double defense, double dodgeChance, double damage) {
+        if (monsterCount == monsterRow.length) allocateMonsters(monsterRow.length * 2);
+        int m = monsterCount++;
+        monsterRow[m] = row;
+        monsterCol[m] = col;
+        monsterLane[m] = lane;
+        monsterHp[m] = hp;
+        monsterMaxHp[m] = maxHp;
+        monsterDefense[m] = defense;
+        monsterDodge[m] = dodgeChance;
+        monsterDamage[m] = damage;
+        monsterAlive[m] = true;
+        cellMonster[row * SIZE + col] = m + 1;
+        hash ^= monsterKey(m);
+        return m;
+    }
+
+    public void setRound(int round) {
+        hash ^= ZobristKeys.round(this.round) ^ ZobristKeys.round(round);
+        this.round = round;
+    }
+
+    /** Stats given to reinforcements spawned inside the simulation. */
+    public void setSpawnStats(double hp, double defense, double dodgeChance, double damage) {
+        this.spawnHp = hp;
+        this.spawnDefense = defense;
+        this.spawnDodge = dodgeChance;
+        this.spawnDamage = damage;
+    }
+
+    // --- Queries ---
+
+    public int getHeroCount() { return heroCount; }
+    public int getRound() { return round; }
+    public long getHash() { return hash; }
+    public int getHeroRow(int hero) { return heroRow[hero]; }
+    public int getHeroCol(int hero) { return heroCol[hero]; }
+    public int getMonsterCount() { return monsterCount; }
+    public boolean isMonsterAlive(int m) { return monsterAlive[m]; }
+    public int getMonsterRow(int m) { return monsterRow[m]; }
+    public double getMonsterHp(int m) { return monsterHp[m]; }
+
+    public boolean isHeroFainted(int hero) {
+        return heroHp[hero] <= 0;
+    }
+
+    /**
+     * Same checks as {@code ValorGame.isGameOver}: a hero on row 0 wins before a monster on row 7 loses.
+     */
+    public int outcome() {
+        for (int h = 0; h < heroCount; h++) {
+            if (heroRow[h] == 0) return HEROES_WIN;
+        }
+        for (int m = 0; m < monsterCount; m++) {
+            if (monsterAlive[m] && monsterRow[m] == SIZE - 1) return MONSTERS_WIN;
+        }
+        return ONGOING;
+    }
+
+    // --- Move generation ---
+
+    /**
+     * Writes every legal action for {@code hero} into {@code out}.
+     *
+     * @param out Buffer with room for at least {@link #maxActions()} entries.
+     * @return Number of actions written (always at least one: PASS when nothing else is legal).
+     */
+    public int legalActions(int hero, int[] out) {
+        int n = 0;
+        if (isHeroFainted(hero)) {
+            out[n++] = ValorAction.pass();
+            return n;
+        }
+        for (int d = 0; d < 4; d++) {
+            if (canMove(hero, d)) out[n++] = ValorAction.move(d);
+        }
+        int r = heroRow[hero], c = heroCol[hero];
+        int targetable = Math.min(monsterCount, 0x100); // Action arguments are 8 bits
+        for (int m = 0; m < targetable; m++) {
+            if (!monsterAlive[m] || Math.abs(monsterRow[m] - r) > 1 || Math.abs(monsterCol[m] - c) > 1) continue;
+            out[n++] = ValorAction.attack(m);
+            int base = hero * MAX_SPELLS;
+            for (int k = 0; k < spellCount[hero]; k++) {
+                if (!spellUsed[base + k] && heroMana[hero] >= spellCost[base + k]) {
+                    out[n++] = ValorAction.cast(k, m);
+                }
+            }
+        }
+        for (int other = 0; other < heroCount; other++) {
+            if (teleportSpot(hero, other) >= 0) out[n++] = ValorAction.teleport(other);
+        }
+        if (canRecall(hero)) out[n++] = ValorAction.recall();
+        if (n == 0) out[n++] = ValorAction.pass();
+        return n;
+    }
+
+    /** Upper bound on the number of actions {@link #legalActions} can return. */
+    public int maxActions() {
+        return 4 + 9 * (1 + MAX_SPELLS) + heroCount + 2;
+    }
+
+    private boolean canMove(int hero, int dir) {
+        int nr = heroRow[hero] + ValorAction.DIR_ROW[dir];
+        int nc = heroCol[hero] + ValorAction.DIR_COL[dir];
+        if (nr < 0 || nr >= SIZE || nc < 0 || nc >= SIZE) return false;
+
+        if (nr < heroRow[hero]) {
+            // No passing: a monster level with or ahead of the hero in its lane blocks moving behind it
+            for (int m = 0; m < monsterCount; m++) {
+                if (monsterAlive[m] && monsterLane[m] == heroLane[hero]
+                        && monsterRow[m] <= heroRow[hero] && nr < monsterRow[m]) {
+                    return false;
+                }
+            }
+        }
+        int cell = nr * SIZE + nc;
+        if (terrain[cell] == OBSTACLE) return true; // Moving into an obstacle destroys it
+        return terrain[cell] != INACCESSIBLE && cellHero[cell] == 0 && cellMonster[cell] == 0;
+    }
+
+    private int teleportSpot(int hero, int dest) {
+        if (dest == hero || isHeroFainted(dest) || heroLane[dest] == heroLane[hero]) return -1;
+        int r = heroRow[dest], c = heroCol[dest];
+        // Same order as ValorGame: left, right, behind
+        for (int i = 0; i < 3; i++) {
+            int sr = (i == 2) ? r + 1 : r;
+            int sc = (i == 0) ? c - 1 : (i == 1) ? c + 1 : c;
+            if (sr < 0 || sr >= SIZE || sc < 0 || sc >= SIZE) continue;
+            int cell = sr * SIZE + sc;
+            if (terrain[cell] != INACCESSIBLE && cellHero[cell] == 0 && cellMonster[cell] == 0) return cell;
+        }
+        return -1;
+    }
+
+    private boolean canRecall(int hero) {
+        int cell = (SIZE - 1) * SIZE + HERO_SPAWN_COLS[heroLane[hero]];
+        return cellHero[cell] == 0 || cellHero[cell] == hero + 1;
+    }
+
+    // --- Transitions ---
+
+    /**
+     * Applies one hero action. Rolls come from {@code rng}, combat math from {@code combat}.
+     *
+     * @return false if the action was not legal in this state (the state is unchanged).
+     */
+    public boolean apply(int hero, int action, CombatResolver combat, SplittableRandom rng) {
+        switch (ValorAction.type(action)) {
+            case ValorAction.MOVE: {
+                int dir = ValorAction.argA(action);
+                if (!canMove(hero, dir)) return false;
+                int nr = heroRow[hero] + ValorAction.DIR_ROW[dir];
+                int nc = heroCol[hero] + ValorAction.DIR_COL[dir];
+                int cell = nr * SIZE + nc;
+                if (terrain[cell] == OBSTACLE) {
+                    changeTerrain(cell, COMMON); // Turn used, hero stays put
+                } else {
+                    placeHero(hero, nr, nc);
+                }
+                return true;
+            }
+            case ValorAction.ATTACK: {
+                int m = ValorAction.argA(action);
+                if (!inRange(hero, m)) return false;
+                if (!CombatResolver.dodged(combat.monsterDodgeChance(monsterDodge[m]), rng.nextDouble())) {
+                    damageMonster(m, combat.heroAttackDamage(heroStrength[hero], heroWeapon[hero], monsterDefense[m]));
+                }
+                return true;
+            }
+            case ValorAction.CAST: {
+                int k = ValorAction.argA(action);
+                int m = ValorAction.argB(action);
+                int i = hero * MAX_SPELLS + k;
+                if (k >= spellCount[hero] || spellUsed[i] || heroMana[hero] < spellCost[i] || !inRange(hero, m)) return false;
+                heroMana[hero] -= spellCost[i];
+                spellUsed[i] = true;
+                if (combat.isSpellDodgeable()
+                        && CombatResolver.dodged(combat.monsterDodgeChance(monsterDodge[m]), rng.nextDouble())) {
+                    return true;
+                }
+                damageMonster(m, combat.spellDamage(spellDamage[i], heroDexterity[hero]));
+                if (monsterAlive[m]) applySpellEffect(m, spellType[i], combat);
+                return true;
+            }
+            case ValorAction.TELEPORT: {
+                int dest = ValorAction.argA(action);
+                int cell = teleportSpot(hero, dest);
+                if (cell < 0) return false;
+                placeHero(hero, cell / SIZE, cell % SIZE);
+                heroLane[hero] = heroLane[dest];
+                return true;
+            }
+            case ValorAction.RECALL: {
+                if (!canRecall(hero)) return false;
+                placeHero(hero, SIZE - 1, HERO_SPAWN_COLS[heroLane[hero]]);
+                return true;
+            }
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Monster movement, regeneration and the periodic spawn, then advances the round.
+     */
+    public void endRound(CombatResolver combat) {
+        // Monsters step south in list order
+        for (int m = 0; m < monsterCount; m++) {
+            if (!monsterAlive[m]) continue;
+            int nr = monsterRow[m] + 1;
+            if (nr >= SIZE) continue;
+            int cell = nr * SIZE + monsterCol[m];
+            if (cellMonster[cell] == 0 && cellHero[cell] == 0 && terrain[cell] != INACCESSIBLE) {
+                hash ^= monsterKey(m);
+                cellMonster[monsterRow[m] * SIZE + monsterCol[m]] = 0;
+                monsterRow[m] = nr;
+                cellMonster[cell] = m + 1;
+                hash ^= monsterKey(m);
+            }
+        }
+
+        // Regeneration (heroes only, as in ValorGame's non-horde mode)
+        for (int h = 0; h < heroCount; h++) {
+            hash ^= heroKey(h);
+            heroHp[h] = Math.min(heroMaxHp[h], combat.regenerate(heroHp[h]));
+            hash ^= heroKey(h);
+            heroMana[h] = Math.min(heroMaxMana[h], combat.regenerate(heroMana[h]));
+        }
+
+        if (combat.isSpawnRound(round)) {
+            for (int lane = 0; lane < 3; lane++) {
+                int col = MONSTER_SPAWN_COLS[lane];
+                if (cellMonster[col] == 0) {
+                    addMonster(0, col, lane, spawnHp, spawnHp, spawnDefense, spawnDodge, spawnDamage);
+                }
+            }
+        }
+        setRound(round + 1);
+    }
+
+    private boolean inRange(int hero, int m) {
+        return m < monsterCount && monsterAlive[m]
+                && Math.abs(monsterRow[m] - heroRow[hero]) <= 1
+                && Math.abs(monsterCol[m] - heroCol[hero]) <= 1;
+    }
+
+    private void placeHero(int hero, int row, int col) {
+        hash ^= heroKey(hero);
+        cellHero[heroRow[hero] * SIZE + heroCol[hero]] = 0;
+        heroRow[hero] = row;
+        heroCol[hero] = col;
+        cellHero[row * SIZE + col] = hero + 1;
+        hash ^= heroKey(hero);
+    }
+
+    private void damageMonster(int m, double amount) {
+        hash ^= monsterKey(m);
+        monsterHp[m] = Math.max(0, monsterHp[m] - amount);
+        if (monsterHp[m] <= 0) {
+            monsterAlive[m] = false;
+            cellMonster[monsterRow[m] * SIZE + monsterCol[m]] = 0;
+        } else {
+            hash ^= monsterKey(m);
+        }
+    }
+
+    private void changeTerrain(int cell, byte type) {
+        hash ^= ZobristKeys.terrain(cell, terrain[cell]) ^ ZobristKeys.terrain(cell, type);
+        terrain[cell] = type;
+    }
+
+    private long heroKey(int h) {
+        return ZobristKeys.hero(h, heroRow[h] * SIZE + heroCol[h], ZobristKeys.hpBucket(heroHp[h], heroMaxHp[h]));
+    }
+
+    private long monsterKey(int m) {
+        return ZobristKeys.monster(monsterRow[m] * SIZE + monsterCol[m], ZobristKeys.hpBucket(monsterHp[m], monsterMaxHp[m]));
+    }
+
+    private void applySpellEffect(int m, byte type, CombatResolver combat) {
+        switch (type) {
+            case 0: // ICE
+                monsterDamage[m] = Math.max(0, monsterDamage[m] - combat.spellDebuff(monsterDamage[m]));
+                break;
+            case 1: // FIRE
+                monsterDefense[m] = Math.max(0, monsterDefense[m] - combat.spellDebuff(monsterDefense[m]));
+                break;
+            default: // LIGHTNING: the live debuff is subtracted from the raw percentage
+                monsterDodge[m] = Math.max(0, monsterDodge[m] - combat.spellDebuff(monsterDodge[m]) * 0.01);
+                break;
+        }
+    }
+
+    private void allocateMonsters(int capacity) {
+        monsterRow = monsterRow == null ? new int[capacity] : Arrays.copyOf(monsterRow, capacity);
+        monsterCol = monsterCol == null ? new int[capacity] : Arrays.copyOf(monsterCol, capacity);
+        monsterLane = monsterLane == null ? new int[capacity] : Arrays.copyOf(monsterLane, capacity);
+        monsterHp = monsterHp == null ? new double[capacity] : Arrays.copyOf(monsterHp, capacity);
+        monsterMaxHp = monsterMaxHp == null ? new double[capacity] : Arrays.copyOf(monsterMaxHp, capacity);
+        monsterDefense = monsterDefense == null ? new double[capacity] : Arrays.copyOf(monsterDefense, capacity);
+        monsterDodge = monsterDodge == null ? new double[capacity] : Arrays.copyOf(monsterDodge, capacity);
+        monsterDamage = monsterDamage == null ? new double[capacity] : Arrays.copyOf(monsterDamage, capacity);
+        monsterAlive = monsterAlive == null ? new boolean[capacity] : Arrays.copyOf(monsterAlive, capacity);
+    }
+}
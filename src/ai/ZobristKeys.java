@@ -0,0 +1,72 @@
+package ai;
+
+import board.CellType;
+import board.LaneLayout;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fixed random keys for Zobrist hashing of Valor positions.
+ * A position hash is the XOR of one key per feature (terrain per cell, each hero's cell and
+ * HP bucket, each monster's cell and HP bucket, round mod 8), so moving a piece or changing
+ * a bucket updates the hash with two XORs. Keys come from a fixed seed, so hashes are stable
+ * across runs and the live game and {@link ValorState} agree on them.
+ */
+public final class ZobristKeys {
+    /** Keys cover the largest board any {@link LaneLayout} may describe. */
+    public static final int CELLS = LaneLayout.MAX_CELLS;
+    public static final int HP_BUCKETS = 4;
+    public static final int MAX_HEROES = 8;
+    public static final int SPAWN_PERIOD = 8;
+    private static final int TERRAIN_TYPES = CellType.values().length;
+
+    private static final long[] TERRAIN;
+    private static final long[] HERO;
+    private static final long[] MONSTER;
+    private static final long[] ROUND;
+    private static final long[] ACTOR;
+
+    static {
+        SplittableRandom rng = new SplittableRandom(0x56414C4F52L); // "VALOR"
+        TERRAIN = fill(rng, CELLS * TERRAIN_TYPES);
+        HERO = fill(rng, MAX_HEROES * CELLS * HP_BUCKETS);
+        MONSTER = fill(rng, CELLS * HP_BUCKETS);
+        ROUND = fill(rng, SPAWN_PERIOD);
+        ACTOR = fill(rng, MAX_HEROES);
+    }
+
+    private ZobristKeys() {}
+
+    private static long[] fill(SplittableRandom rng, int n) {
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) keys[i] = rng.nextLong();
+        return keys;
+    }
+
+    /** Coarse HP bucket: 0 for fainted/empty up to {@code HP_BUCKETS - 1} for (near) full health. */
+    public static int hpBucket(double hp, double maxHp) {
+        if (hp <= 0 || maxHp <= 0) return 0;
+        return Math.min(HP_BUCKETS - 1, (int) (hp / maxHp * HP_BUCKETS));
+    }
+
+    public static long terrain(int cell, int typeOrdinal) {
+        return TERRAIN[cell * TERRAIN_TYPES + typeOrdinal];
+    }
+
+    public static long hero(int hero, int cell, int bucket) {
+        return HERO[(hero * CELLS + cell) * HP_BUCKETS + bucket];
+    }
+
+    public static long monster(int cell, int bucket) {
+        return MONSTER[cell * HP_BUCKETS + bucket];
+    }
+
+    public static long round(int round) {
+        return ROUND[Math.floorMod(round, SPAWN_PERIOD)];
+    }
+
+    /** Side-to-move key used by the search so the same board with a different hero to act differs. */
+    public static long actor(int hero) {
+        return ACTOR[hero];
+    }
+}
@@ -28,6 +28,11 @@ public abstract class Board {
         return row >= 0 && row < height && col >= 0 && col < width;
     }
 
+    /**
+     * @return The cell at the coordinate; callers check {@link #isValidCoordinate} first.
+     */
+    public abstract Cell getCell(int row, int col);
+
     /**
      * Forces subclasses to define how the board is visualized.
      */
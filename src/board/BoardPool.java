@@ -0,0 +1,95 @@
+package board;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps vetted {@link LegendsBoard}s ready ahead of time so a session starts without paying
+ * for world generation.
+ *
+ * <p>Boards are generated by a {@link WorldGenerator} on one background daemon thread,
+ * {@code depth} per size. {@link #take} hands out the oldest board of that size, waiting only
+ * if it is still being generated, and queues a replacement. Every generation seed is drawn
+ * on the calling thread in request order, so a seeded pool hands out the same boards
+ * no matter how the background work is scheduled.</p>
+ *
+ * <p>Meant to be used from one thread (the game loop).</p>
+ */
+public class BoardPool {
+    private final WorldGenerator generator;
+    private final int depth;
+    private final SplittableRandom seeds;
+    private final ExecutorService worker;
+    private final Map<Integer, ArrayDeque<Future<LegendsBoard>>> ready = new HashMap<>();
+
+    /**
+     * @param depth Boards kept ready per size.
+     * @param seed  Seed all generation seeds are drawn from.
+     */
+    public BoardPool(WorldGenerator generator, int depth, long seed) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Board pool depth must be at least 1.");
+        }
+        this.generator = generator;
+        this.depth = depth;
+        this.seeds = new SplittableRandom(seed);
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "board-pool");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts generating boards of {@code size} in the background until {@code depth} are queued.
+     */
+    public void prefill(int size) {
+        ArrayDeque<Future<LegendsBoard>> queue = queueFor(size);
+        while (queue.size() < depth) {
+            long seed = seeds.nextLong();
+            queue.addLast(worker.submit(() -> generator.generate(size, seed)));
+        }
+    }
+
+    /**
+     * @return The next pooled board of {@code size}; the pool is topped up in the background.
+     */
+    public LegendsBoard take(int size) {
+        prefill(size);
+        Future<LegendsBoard> next = queueFor(size).pollFirst();
+        prefill(size);
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a board", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Board generation failed", e.getCause());
+        }
+    }
+
+    /** Boards of {@code size} queued or in progress. */
+    public int pending(int size) {
+        ArrayDeque<Future<LegendsBoard>> queue = ready.get(size);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /** Stops the background thread; queued boards are discarded. */
+    public void shutdown() {
+        worker.shutdownNow();
+        ready.clear();
+    }
+
+    private ArrayDeque<Future<LegendsBoard>> queueFor(int size) {
+        if (size < 4 || size > 20) {
+            throw new IllegalArgumentException("Board size must be between 4 and 20.");
+        }
+        return ready.computeIfAbsent(size, k -> new ArrayDeque<>());
+    }
+}
@@ -0,0 +1,116 @@
+package board;
+
+/**
+ * Immutable description of a Valor battlefield: how many lanes, how wide each lane is, how
+ * tall the board is, where the walls are and which rows hold the two Nexuses.
+ *
+ * <p>Lanes are laid out left to right with a one-column wall between neighbours. The Monster
+ * Nexus is row 0 and the Hero Nexus is the last row. Heroes spawn on the left column of their
+ * lane, monsters on the right one. All per-column lookups are precomputed arrays.</p>
+ */
+public final class LaneLayout {
+    /** Most lanes a layout may have (one hero per lane). */
+    public static final int MAX_LANES = 8;
+    /** Largest board, in cells, a layout may describe (sizes the position hash keys). */
+    public static final int MAX_CELLS = 2048;
+
+    /** The classic 8x8 board: three lanes two columns wide, walls at columns 2 and 5. */
+    public static final LaneLayout STANDARD = new LaneLayout(3, 2, 8);
+
+    private final int laneCount;
+    private final int laneWidth;
+    private final int width;
+    private final int height;
+    private final int[] laneOfColumn;   // -1 for wall columns
+    private final int[] laneStart;
+    private final int[] wallColumns;
+
+    /**
+     * @param laneCount Number of lanes (1 to {@link #MAX_LANES}).
+     * @param laneWidth Columns per lane (at least 1).
+     * @param height    Rows including both Nexus rows (at least 3).
+     */
+    public LaneLayout(int laneCount, int laneWidth, int height) {
+        if (laneCount < 1 || laneCount > MAX_LANES) {
+            throw new IllegalArgumentException("Lane count must be between 1 and " + MAX_LANES + ".");
+        }
+        if (laneWidth < 1 || height < 3) {
+            throw new IllegalArgumentException("Lanes need at least one column and the board at least three rows.");
+        }
+        int w = laneCount * laneWidth + (laneCount - 1);
+        if ((long) w * height > MAX_CELLS) {
+            throw new IllegalArgumentException("Board of " + w + "x" + height + " exceeds " + MAX_CELLS + " cells.");
+        }
+        this.laneCount = laneCount;
+        this.laneWidth = laneWidth;
+        this.width = w;
+        this.height = height;
+
+        this.laneOfColumn = new int[w];
+        this.laneStart = new int[laneCount];
+        this.wallColumns = new int[laneCount - 1];
+        for (int lane = 0; lane < laneCount; lane++) {
+            int start = lane * (laneWidth + 1);
+            laneStart[lane] = start;
+            for (int c = start; c < start + laneWidth; c++) laneOfColumn[c] = lane;
+            if (lane < laneCount - 1) {
+                wallColumns[lane] = start + laneWidth;
+                laneOfColumn[start + laneWidth] = -1;
+            }
+        }
+    }
+
+    /**
+     * Parses {@code LANESxWIDTHxHEIGHT}, e.g. {@code 5x2x32}.
+     */
+    public static LaneLayout parse(String spec) {
+        String[] parts = spec.trim().toLowerCase().split("x");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Layout must look like LANESxWIDTHxHEIGHT (e.g. 3x2x8): " + spec);
+        }
+        try {
+            return new LaneLayout(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Layout must look like LANESxWIDTHxHEIGHT (e.g. 3x2x8): " + spec);
+        }
+    }
+
+    public int getLaneCount() { return laneCount; }
+    public int getLaneWidth() { return laneWidth; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /** Row heroes start on and monsters must reach to win. */
+    public int getHeroNexusRow() { return height - 1; }
+
+    /** Row monsters spawn on and heroes must reach to win. */
+    public int getMonsterNexusRow() { return 0; }
+
+    /** @return The lane a column belongs to, or -1 for a wall. */
+    public int laneOf(int col) { return laneOfColumn[col]; }
+
+    public boolean isWall(int col) { return laneOfColumn[col] < 0; }
+
+    /** @return Copy of the wall column indices, left to right. */
+    public int[] getWallColumns() { return wallColumns.clone(); }
+
+    public int heroSpawnColumn(int lane) { return laneStart[lane]; }
+
+    public int monsterSpawnColumn(int lane) { return laneStart[lane] + laneWidth - 1; }
+
+    /** Header label for a column: {@code L-n} for lane n, {@code W-n} for the n-th wall (1-based). */
+    public String columnLabel(int col) {
+        int lane = laneOfColumn[col];
+        if (lane >= 0) return "L-" + lane;
+        return "W-" + (col / (laneWidth + 1) + 1);
+    }
+
+    public boolean isStandard() {
+        return laneCount == STANDARD.laneCount && laneWidth == STANDARD.laneWidth && height == STANDARD.height;
+    }
+
+    @Override
+    public String toString() {
+        return laneCount + "x" + laneWidth + "x" + height;
+    }
+}
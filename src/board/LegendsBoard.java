@@ -2,6 +2,7 @@ package board;
 
 import utils.ConsoleColors;
 import entities.Party;
+import common.RandomGenerator;
 import java.util.*;
 
 /**
@@ -17,12 +18,19 @@ public class LegendsBoard extends Board {
     private static final String HERO_SYMBOL = " P  "; // 4 chars to match Cell.toString()
 
     public LegendsBoard(int n) {
+        this(n, RandomGenerator.getInstance().getRandom());
+    }
+
+    /**
+     * @param random Source for terrain placement; a private one lets boards be generated concurrently.
+     */
+    public LegendsBoard(int n, Random random) {
         super(n, n);
         if (n < 4 || n > 20) {
             throw new IllegalArgumentException("Board size must be between 4 and 20.");
         }
         this.grid = new Cell[n][n];
-        this.random = new Random();
+        this.random = random;
         initializeBoard();
     }
 
@@ -175,6 +183,7 @@ public class LegendsBoard extends Board {
 
 
 
+    @Override
     public Cell getCell(int row, int col) {
         if (!isValidCoordinate(row, col)) {
             throw new IndexOutOfBoundsException("Invalid coordinate: " + row + "," + col);
@@ -0,0 +1,337 @@
+package board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distance queries over the terrain of a {@link Board}.
+ *
+ * <p>A cell is walkable when it is accessible and not an {@link CellType#OBSTACLE}; units
+ * standing on cells are ignored, so callers check occupancy on the step they take.
+ * Moves are 4-directional.</p>
+ *
+ * <p>{@link #fieldToRow}, {@link #fieldToType} and {@link #fieldToCell} return BFS distance
+ * fields from every cell to the nearest target, built on first use and cached. Terrain only
+ * ever opens up during play (obstacles are destroyed), so {@link #cellOpened} repairs cached
+ * fields by relaxing outward from the opened cell instead of rebuilding them. The cache is
+ * indexed by row, cell and type, so a lookup allocates nothing. {@link #findPath} answers single
+ * point-to-point queries with A*, reusing its heap and scratch arrays between calls.</p>
+ *
+ * <p>Not thread-safe; each game owns the pathfinder for its board.</p>
+ */
+public class Pathfinder {
+    /** Distance reported for cells that cannot reach the target. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int[] DR = {1, -1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final Board board;
+    private final int width;
+    private final int height;
+    // Cached fields by target; every one is also in fields, for repairs
+    private final DistanceField[] rowFields;
+    private final DistanceField[] cellFields;
+    private final Map<CellType, DistanceField> typeFields = new EnumMap<>(CellType.class);
+    private final List<DistanceField> fields = new ArrayList<>();
+
+    // BFS queue shared by field builds and repairs
+    private final int[] queue;
+
+    // A* scratch, stamped per search so nothing is cleared between queries
+    private final int[] gScore;
+    private final int[] parent;
+    private final int[] stamp;
+    private final boolean[] closed;
+    private final int[] heapCell;
+    private final int[] heapKey;
+    private int heapSize;
+    private int searchId;
+
+    public Pathfinder(Board board) {
+        this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        int cells = width * height;
+        this.rowFields = new DistanceField[height];
+        this.cellFields = new DistanceField[cells];
+        this.queue = new int[cells];
+        this.gScore = new int[cells];
+        this.parent = new int[cells];
+        this.stamp = new int[cells];
+        this.closed = new boolean[cells];
+        // A cell can be pushed once per improvement; 4 per cell bounds it for 4-neighbour grids
+        this.heapCell = new int[cells * 4];
+        this.heapKey = new int[cells * 4];
+    }
+
+    /**
+     * Terrain test used by every query.
+     */
+    public boolean isWalkable(int row, int col) {
+        if (!board.isValidCoordinate(row, col)) return false;
+        Cell cell = board.getCell(row, col);
+        return cell.isAccessible() && cell.getType() != CellType.OBSTACLE;
+    }
+
+    /**
+     * @return Cached distances to the nearest walkable cell of {@code row}.
+     */
+    public DistanceField fieldToRow(int row) {
+        if (row < 0 || row >= height) {
+            throw new IllegalArgumentException("Row " + row + " is off the board.");
+        }
+        DistanceField field = rowFields[row];
+        if (field == null) {
+            field = new DistanceField(row, -1, null);
+            rowFields[row] = field;
+            fields.add(field);
+        }
+        return field;
+    }
+
+    /**
+     * @return Cached distances to the nearest walkable cell of the given terrain type.
+     */
+    public DistanceField fieldToType(CellType type) {
+        DistanceField field = typeFields.get(type);
+        if (field == null) {
+            field = new DistanceField(-1, -1, type);
+            typeFields.put(type, field);
+            fields.add(field);
+        }
+        return field;
+    }
+
+    /**
+     * @return Cached distances to one cell (equivalently, from it: moves are symmetric).
+     */
+    public DistanceField fieldToCell(int row, int col) {
+        if (!board.isValidCoordinate(row, col)) {
+            throw new IllegalArgumentException("Cell (" + row + ", " + col + ") is off the board.");
+        }
+        DistanceField field = cellFields[row * width + col];
+        if (field == null) {
+            field = new DistanceField(row, col, null);
+            cellFields[row * width + col] = field;
+            fields.add(field);
+        }
+        return field;
+    }
+
+    /**
+     * Call after a cell becomes walkable (e.g. an obstacle turned {@link CellType#COMMON}).
+     * Distances can only shrink, so each cached field is relaxed outward from the cell.
+     */
+    public void cellOpened(int row, int col) {
+        if (!isWalkable(row, col)) return;
+        for (int i = 0; i < fields.size(); i++) {
+            fields.get(i).open(row, col);
+        }
+    }
+
+    /**
+     * Drops every cached field; use after terrain changes other than {@link #cellOpened}.
+     */
+    public void invalidate() {
+        Arrays.fill(rowFields, null);
+        Arrays.fill(cellFields, null);
+        typeFields.clear();
+        fields.clear();
+    }
+
+    /**
+     * A* search between two cells.
+     *
+     * @param out If non-null, receives the cell indices ({@code row * width + col}) of the path,
+     *            first step first and ending on the target. Must hold at least the returned length.
+     * @return Number of steps, 0 when start equals target, or -1 if the target is unreachable.
+     */
+    public int findPath(int startRow, int startCol, int targetRow, int targetCol, int[] out) {
+        if (!isWalkable(targetRow, targetCol) || !board.isValidCoordinate(startRow, startCol)) return -1;
+        int start = startRow * width + startCol;
+        int target = targetRow * width + targetCol;
+        if (start == target) return 0;
+
+        if (++searchId == 0) {
+            Arrays.fill(stamp, 0);
+            searchId = 1;
+        }
+        heapSize = 0;
+        touch(start);
+        gScore[start] = 0;
+        parent[start] = -1;
+        push(start, heuristic(start, target));
+
+        while (heapSize > 0) {
+            int current = pop();
+            if (closed[current]) continue;
+            if (current == target) break;
+            closed[current] = true;
+
+            int r = current / width;
+            int c = current % width;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d];
+                int nc = c + DC[d];
+                if (!isWalkable(nr, nc)) continue;
+                int next = nr * width + nc;
+                int g = gScore[current] + 1;
+                if (stamp[next] == searchId && (closed[next] || gScore[next] <= g)) continue;
+                touch(next);
+                gScore[next] = g;
+                parent[next] = current;
+                push(next, g + heuristic(next, target));
+            }
+        }
+
+        if (stamp[target] != searchId) return -1;
+        int length = gScore[target];
+        if (out != null) {
+            int i = length - 1;
+            for (int cell = target; cell != start; cell = parent[cell]) {
+                out[i--] = cell;
+            }
+        }
+        return length;
+    }
+
+    private void touch(int cell) {
+        if (stamp[cell] != searchId) {
+            stamp[cell] = searchId;
+            closed[cell] = false;
+        }
+    }
+
+    private int heuristic(int from, int to) {
+        return Math.abs(from / width - to / width) + Math.abs(from % width - to % width);
+    }
+
+    private void push(int cell, int key) {
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heapKey[p] <= key) break;
+            heapCell[i] = heapCell[p];
+            heapKey[i] = heapKey[p];
+            i = p;
+        }
+        heapCell[i] = cell;
+        heapKey[i] = key;
+    }
+
+    private int pop() {
+        int top = heapCell[0];
+        int lastCell = heapCell[--heapSize];
+        int lastKey = heapKey[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) child++;
+            if (heapKey[child] >= lastKey) break;
+            heapCell[i] = heapCell[child];
+            heapKey[i] = heapKey[child];
+            i = child;
+        }
+        heapCell[i] = lastCell;
+        heapKey[i] = lastKey;
+        return top;
+    }
+
+    /**
+     * Multi-source BFS distances from every cell to a target set.
+     */
+    public final class DistanceField {
+        private final int targetRow;
+        private final int targetCol;
+        private final CellType targetType;
+        private final int[] dist;
+
+        private DistanceField(int targetRow, int targetCol, CellType targetType) {
+            this.targetRow = targetRow;
+            this.targetCol = targetCol;
+            this.targetType = targetType;
+            this.dist = new int[width * height];
+            build();
+        }
+
+        /**
+         * @return Steps from the cell to the nearest target, or {@link #UNREACHABLE}.
+         */
+        public int distance(int row, int col) {
+            if (!board.isValidCoordinate(row, col)) return UNREACHABLE;
+            return dist[row * width + col];
+        }
+
+        /**
+         * @return Cell index of the neighbour one step closer to a target, or -1 if the cell
+         *         is a target, unreachable, or not walkable.
+         */
+        public int nextStep(int row, int col) {
+            int here = distance(row, col);
+            if (here == 0 || here == UNREACHABLE) return -1;
+            for (int d = 0; d < 4; d++) {
+                int nr = row + DR[d];
+                int nc = col + DC[d];
+                if (distance(nr, nc) == here - 1) return nr * width + nc;
+            }
+            return -1;
+        }
+
+        private boolean isTarget(int row, int col) {
+            if (targetType != null) return board.getCell(row, col).getType() == targetType;
+            return row == targetRow && (targetCol < 0 || col == targetCol);
+        }
+
+        private void build() {
+            Arrays.fill(dist, UNREACHABLE);
+            int tail = 0;
+            for (int r = 0; r < height; r++) {
+                for (int c = 0; c < width; c++) {
+                    if (isWalkable(r, c) && isTarget(r, c)) {
+                        dist[r * width + c] = 0;
+                        queue[tail++] = r * width + c;
+                    }
+                }
+            }
+            relax(0, tail);
+        }
+
+        private void open(int row, int col) {
+            int cell = row * width + col;
+            int best = isTarget(row, col) ? 0 : UNREACHABLE;
+            for (int d = 0; d < 4 && best != 0; d++) {
+                int n = distance(row + DR[d], col + DC[d]);
+                if (n != UNREACHABLE && n + 1 < best) best = n + 1;
+            }
+            if (best >= dist[cell]) return;
+            dist[cell] = best;
+            queue[0] = cell;
+            relax(0, 1);
+        }
+
+        /** BFS from the queued cells, lowering neighbour distances until nothing improves. */
+        private void relax(int head, int tail) {
+            while (head < tail) {
+                int cell = queue[head++];
+                int r = cell / width;
+                int c = cell % width;
+                int next = dist[cell] + 1;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + DR[d];
+                    int nc = c + DC[d];
+                    if (!isWalkable(nr, nc)) continue;
+                    int n = nr * width + nc;
+                    if (dist[n] > next) {
+                        dist[n] = next;
+                        queue[tail++] = n;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,26 +1,38 @@
 package board;
 
+import common.RandomGenerator;
+
 import java.util.Random;
 
 public class ValorBoard extends Board {
     private final Cell[][] grid;
     private final Random random;
+    private final LaneLayout layout;
 
     public ValorBoard() {
-        super(8, 8);
-        this.grid = new Cell[8][8];
-        this.random = new Random();
+        this(LaneLayout.STANDARD);
+    }
+
+    public ValorBoard(LaneLayout layout) {
+        super(layout.getWidth(), layout.getHeight());
+        this.layout = layout;
+        this.grid = new Cell[height][width];
+        this.random = RandomGenerator.getInstance().getRandom();
         initializeBoard();
     }
 
+    public LaneLayout getLayout() {
+        return layout;
+    }
+
     private void initializeBoard() {
         for (int r = 0; r < height; r++) {
             for (int c = 0; c < width; c++) {
-                if (c == 2 || c == 5) {
+                if (layout.isWall(c)) {
                     grid[r][c] = new Cell(CellType.INACCESSIBLE);
                     continue;
                 }
-                if (r == 0 || r == 7) {
+                if (r == layout.getMonsterNexusRow() || r == layout.getHeroNexusRow()) {
                     grid[r][c] = new Cell(CellType.NEXUS);
                     continue;
                 }
@@ -36,6 +48,7 @@ public class ValorBoard extends Board {
         }
     }
 
+    @Override
     public Cell getCell(int row, int col) {
         if (!isValidCoordinate(row, col)) return null;
         return grid[row][col];
@@ -44,7 +57,11 @@ public class ValorBoard extends Board {
     @Override
     public void printBoard() {
         // Each column is 7 chars wide (6 content + 1 border): center 3-char labels
-        System.out.println("\n  L-0    L-0    W-1    L-1    L-1    W-2    L-2    L-2  ");
+        StringBuilder header = new StringBuilder("\n");
+        for (int c = 0; c < width; c++) {
+            header.append("  ").append(layout.columnLabel(c)).append("  ");
+        }
+        System.out.println(header);
         printHorizontalDivider();
 
         for (int r = 0; r < height; r++) {
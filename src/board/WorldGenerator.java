@@ -0,0 +1,150 @@
+package board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates several candidate {@link LegendsBoard}s in parallel and keeps the best one.
+ *
+ * <p>Each candidate gets its own {@link Random} seeded from a split of the caller's seed, so
+ * the chosen board depends only on the seed, not on thread timing. Candidates are scored by
+ * {@link #score}: how much of the map is reachable from the start, how close the average
+ * reachable cell is to a market, and how open the area around the start is. Ties go to the
+ * earliest candidate.</p>
+ */
+public class WorldGenerator {
+    /** Candidates per board unless told otherwise. */
+    public static final int DEFAULT_CANDIDATES = 4;
+
+    private static final double CONNECTIVITY_WEIGHT = 0.5;
+    private static final double MARKET_WEIGHT = 0.3;
+    private static final double OPENNESS_WEIGHT = 0.2;
+    private static final int START_RADIUS = 2;
+
+    private final ForkJoinPool pool;
+    private final int candidates;
+
+    /**
+     * @param pool       Pool that generates the candidates.
+     * @param candidates Boards generated per request.
+     */
+    public WorldGenerator(ForkJoinPool pool, int candidates) {
+        if (candidates < 1) {
+            throw new IllegalArgumentException("World generation needs at least one candidate.");
+        }
+        this.pool = pool;
+        this.candidates = candidates;
+    }
+
+    /** {@link #DEFAULT_CANDIDATES} candidates on the common pool. */
+    public WorldGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CANDIDATES);
+    }
+
+    public int getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Generates the candidates for one board and returns the highest-scoring one.
+     *
+     * @param size Board side length (4-20).
+     * @param seed Seed the candidate seeds are split from.
+     */
+    public LegendsBoard generate(int size, long seed) {
+        return generateScored(size, seed).getBoard();
+    }
+
+    /**
+     * As {@link #generate}, also returning the winning score.
+     */
+    public Result generateScored(int size, long seed) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<Result>> tasks = new ArrayList<>();
+        for (int i = 0; i < candidates; i++) {
+            long candidateSeed = seeds.split().nextLong();
+            tasks.add(() -> {
+                LegendsBoard board = new LegendsBoard(size, new Random(candidateSeed));
+                return new Result(board, score(board));
+            });
+        }
+
+        Result best = null;
+        try {
+            for (Future<Result> f : pool.invokeAll(tasks)) {
+                Result r = f.get();
+                if (best == null || r.getScore() > best.getScore()) best = r;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("World generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("World generation failed", e.getCause());
+        }
+        return best;
+    }
+
+    /**
+     * Quality of a board in [0, 1]: a weighted sum of
+     * <ul>
+     *   <li>connectivity: share of accessible cells reachable from the start,</li>
+     *   <li>market spacing: {@code 1 / (1 + mean steps to the nearest market)} over reachable cells,</li>
+     *   <li>openness: share of cells within two steps of the start that are reachable.</li>
+     * </ul>
+     */
+    public static double score(LegendsBoard board) {
+        Pathfinder paths = new Pathfinder(board);
+        Pathfinder.DistanceField fromStart = paths.fieldToCell(0, 0);
+        Pathfinder.DistanceField toMarket = paths.fieldToType(CellType.MARKET);
+
+        int accessible = 0;
+        int reachable = 0;
+        long marketSteps = 0;
+        int servedCells = 0;
+        int nearStart = 0;
+        int openNearStart = 0;
+        for (int r = 0; r < board.getHeight(); r++) {
+            for (int c = 0; c < board.getWidth(); c++) {
+                int fromStartSteps = fromStart.distance(r, c);
+                if (r + c <= START_RADIUS) {
+                    nearStart++;
+                    if (fromStartSteps <= START_RADIUS) openNearStart++;
+                }
+                if (!board.getCell(r, c).isAccessible()) continue;
+                accessible++;
+                if (fromStartSteps == Pathfinder.UNREACHABLE) continue;
+                reachable++;
+                int m = toMarket.distance(r, c);
+                if (m != Pathfinder.UNREACHABLE) {
+                    marketSteps += m;
+                    servedCells++;
+                }
+            }
+        }
+
+        double connectivity = (accessible == 0) ? 0 : (double) reachable / accessible;
+        double market = (servedCells == 0) ? 0 : 1.0 / (1.0 + (double) marketSteps / servedCells);
+        double openness = (nearStart == 0) ? 0 : (double) openNearStart / nearStart;
+        return CONNECTIVITY_WEIGHT * connectivity + MARKET_WEIGHT * market + OPENNESS_WEIGHT * openness;
+    }
+
+    /** A generated board and its {@link #score}. */
+    public static final class Result {
+        private final LegendsBoard board;
+        private final double score;
+
+        Result(LegendsBoard board, double score) {
+            this.board = board;
+            this.score = score;
+        }
+
+        public LegendsBoard getBoard() { return board; }
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,215 @@
+package common;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import utils.ConsoleColors;
+
+/**
+ * Singleton instrumentation surface for the game loop.
+ * Records per-phase latency histograms and per-turn allocation so slow phases can be found
+ * under load. Disabled unless the JVM is started with {@code -Dvalor.metrics=true}; when
+ * disabled every hook returns immediately.
+ *
+ * <p>Phases nest: {@link #begin(GamePhase)} / {@link #end()} keep a small stack and each
+ * phase records its <em>self</em> time, so input wait inside a hero action is counted under
+ * {@link GamePhase#INPUT_WAIT} and not under {@link GamePhase#HERO_RULES}.
+ * {@link GamePhase#TURN} is recorded separately and is inclusive of everything.</p>
+ *
+ * <p>Not thread-safe: all hooks are expected to run on the game loop thread.</p>
+ */
+public class GameMetrics {
+    private static final int MAX_DEPTH = 32;
+
+    private static GameMetrics instance;
+
+    private final boolean enabled;
+    private final String outputDir;
+    private final Map<GamePhase, LatencyHistogram> phaseNanos = new EnumMap<>(GamePhase.class);
+    private final LatencyHistogram turnAllocatedBytes = new LatencyHistogram();
+    private final ThreadMXBean threadBean;
+    private final boolean allocationSupported;
+
+    // Phase stack (parallel arrays to avoid allocating per call)
+    private final GamePhase[] stackPhase = new GamePhase[MAX_DEPTH];
+    private final long[] stackStart = new long[MAX_DEPTH];
+    private final long[] stackChildNanos = new long[MAX_DEPTH];
+    private int depth;
+
+    private long turnStart;
+    private long turnsPlayed; // Counted even when disabled and across sessions; used for turns/second
+    private long turnAllocStart;
+
+    private GameMetrics() {
+        this.enabled = Boolean.getBoolean("valor.metrics");
+        this.outputDir = System.getProperty("valor.metrics.dir", ".");
+        for (GamePhase phase : GamePhase.values()) {
+            phaseNanos.put(phase, new LatencyHistogram());
+        }
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        boolean supported = false;
+        if (enabled && bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                supported = sunBean.isThreadAllocatedMemoryEnabled();
+            }
+        }
+        this.threadBean = bean;
+        this.allocationSupported = supported;
+    }
+
+    public static GameMetrics getInstance() {
+        if (instance == null) {
+            instance = new GameMetrics();
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens a timed phase. Every call must be matched by {@link #end()}, normally in a finally block.
+     */
+    public void begin(GamePhase phase) {
+        if (!enabled) return;
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("Metrics phase stack overflow at " + phase);
+        }
+        stackPhase[depth] = phase;
+        stackStart[depth] = System.nanoTime();
+        stackChildNanos[depth] = 0;
+        depth++;
+    }
+
+    /**
+     * Closes the innermost phase and records its self time.
+     */
+    public void end() {
+        if (!enabled || depth == 0) return;
+        depth--;
+        long elapsed = System.nanoTime() - stackStart[depth];
+        phaseNanos.get(stackPhase[depth]).record(elapsed - stackChildNanos[depth]);
+        stackPhase[depth] = null;
+        if (depth > 0) {
+            stackChildNanos[depth - 1] += elapsed;
+        }
+    }
+
+    /**
+     * Marks the start of a full turn for the inclusive TURN timer and the allocation counter.
+     */
+    public void beginTurn() {
+        turnsPlayed++;
+        if (!enabled) return;
+        turnAllocStart = currentThreadAllocatedBytes();
+        turnStart = System.nanoTime();
+    }
+
+    public void endTurn() {
+        if (!enabled) return;
+        phaseNanos.get(GamePhase.TURN).record(System.nanoTime() - turnStart);
+        if (allocationSupported) {
+            turnAllocatedBytes.record(currentThreadAllocatedBytes() - turnAllocStart);
+        }
+    }
+
+    public long getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    public LatencyHistogram getHistogram(GamePhase phase) {
+        return phaseNanos.get(phase);
+    }
+
+    public LatencyHistogram getTurnAllocationHistogram() {
+        return turnAllocatedBytes;
+    }
+
+    /**
+     * Clears all recorded data (e.g. when a new game starts from the menu).
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : phaseNanos.values()) {
+            histogram.reset();
+        }
+        turnAllocatedBytes.reset();
+        depth = 0;
+    }
+
+    /**
+     * Writes the recorded data as {@code metrics-<game>.json} and {@code metrics-<game>.csv}
+     * into the directory given by {@code -Dvalor.metrics.dir} (default: working directory).
+     *
+     * @param gameName Label used in the file names and the report.
+     */
+    public void writeReport(String gameName) {
+        if (!enabled) return;
+        String base = outputDir + java.io.File.separator + "metrics-" + gameName;
+        try {
+            writeJson(base + ".json", gameName);
+            writeCsv(base + ".csv");
+            System.out.println(ConsoleColors.CYAN + "Metrics written to " + base + ".json/.csv" + ConsoleColors.RESET);
+        } catch (IOException e) {
+            System.out.println(ConsoleColors.RED + "Could not write metrics: " + e.getMessage() + ConsoleColors.RESET);
+        }
+    }
+
+    private long currentThreadAllocatedBytes() {
+        if (!allocationSupported) return 0;
+        return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void writeJson(String path, String gameName) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            out.println("{");
+            out.println("  \"game\": \"" + gameName + "\",");
+            out.println("  \"unit\": \"ns\",");
+            out.println("  \"phases\": {");
+            GamePhase[] phases = GamePhase.values();
+            for (int i = 0; i < phases.length; i++) {
+                out.print("    \"" + phases[i].name() + "\": " + toJson(phaseNanos.get(phases[i])));
+                out.println(i < phases.length - 1 ? "," : "");
+            }
+            out.println("  },");
+            out.println("  \"allocationSupported\": " + allocationSupported + ",");
+            out.println("  \"turnAllocatedBytes\": " + toJson(turnAllocatedBytes));
+            out.println("}");
+        }
+    }
+
+    private void writeCsv(String path) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            out.println("metric,count,total,mean,p50,p90,p99,p999,min,max");
+            for (GamePhase phase : GamePhase.values()) {
+                out.println(toCsv(phase.name() + "_ns", phaseNanos.get(phase)));
+            }
+            if (allocationSupported) {
+                out.println(toCsv("TURN_ALLOCATED_BYTES", turnAllocatedBytes));
+            }
+        }
+    }
+
+    private static String toJson(LatencyHistogram h) {
+        return String.format(Locale.ROOT,
+                "{\"count\": %d, \"total\": %d, \"mean\": %.1f, \"p50\": %d, \"p90\": %d, \"p99\": %d, \"p999\": %d, \"min\": %d, \"max\": %d}",
+                h.getCount(), h.getSum(), h.getMean(),
+                h.getValueAtPercentile(50), h.getValueAtPercentile(90), h.getValueAtPercentile(99),
+                h.getValueAtPercentile(99.9), h.getMin(), h.getMax());
+    }
+
+    private static String toCsv(String label, LatencyHistogram h) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%d,%d,%d,%d,%d,%d",
+                label, h.getCount(), h.getSum(), h.getMean(),
+                h.getValueAtPercentile(50), h.getValueAtPercentile(90), h.getValueAtPercentile(99),
+                h.getValueAtPercentile(99.9), h.getMin(), h.getMax());
+    }
+}
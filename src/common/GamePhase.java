@@ -0,0 +1,16 @@
+package common;
+
+/**
+ * The parts of a game turn that {@link GameMetrics} times separately.
+ */
+public enum GamePhase {
+    TURN,           // A whole processTurn call (inclusive)
+    INPUT_WAIT,     // Blocked on the player typing a line
+    HERO_RULES,     // Resolving a hero's chosen action, excluding input wait
+    MONSTER_TURN,
+    REGENERATION,
+    SPAWN,
+    RENDER,
+    MARKET,
+    AUTO_BATTLE     // A fast-forwarded Legends encounter, cache lookup or simulation included
+}
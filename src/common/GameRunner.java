@@ -1,5 +1,6 @@
 package common;
 
+import board.LaneLayout;
 import utils.ConsoleColors;
 import game.LegendsGame;
 import game.ValorGame;
@@ -8,53 +9,113 @@ import java.util.Scanner;
 /**
  * Specialized class responsible for bootstrapping the game application.
  * Encapsulates the execution logic and global error handling strategies.
+ *
+ * <p>The application is a session state machine (Menu -> Game -> Results -> Menu) driven by a
+ * single loop and one {@link Scanner}. Returning to the menu never nests a new call stack;
+ * each game instance is kept so its loaded catalogs are reused, while its per-session state
+ * is released when a game ends.</p>
  */
 public class GameRunner {
 
-
+    private enum SessionState { MENU, INFO, LEGENDS, VALOR, RESULTS, EXIT }
 
     /**
-     * Safely starts the game loop.
+     * Safely runs the session loop until the player exits.
      * Any unhandled exceptions during the game's lifecycle will be caught here.
      */
     public static void run() {
+        LegendsGame legends = null;
         try (Scanner scanner = new Scanner(System.in)) {
             printWelcomeBanner();
 
-            System.out.println(ConsoleColors.CYAN + "      Select Your Destiny:" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ╔════════════════════════════════════════════╗" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "1." + ConsoleColors.WHITE_BOLD + " Legends: Monsters and Heroes (RPG)      " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "2." + ConsoleColors.WHITE_BOLD + " Legends of Valor (MOBA Strategy)        " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.PURPLE + "  ╚════════════════════════════════════════════╝" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.WHITE_BOLD + "    3. Game Information & Instructions" + ConsoleColors.RESET);
-            System.out.println(ConsoleColors.WHITE_BOLD + "    4. Exit Game" + ConsoleColors.RESET);
-            System.out.println();
-
-            int choice = InputValidator.getValidInt(scanner, ConsoleColors.YELLOW + "Choose Option: " + ConsoleColors.RESET, 1, 4);
-
-            switch (choice) {
-                case 1:
-                    printLegendsRules();
-                    new LegendsGame().play(scanner);
-                    break;
-                case 2:
-                    printValorRules();
-                    new ValorGame().play(scanner);
-                    break;
-                case 3:
-                    showGameInfo(scanner);
-                    break;
-                case 4:
-                    System.out.println(ConsoleColors.CYAN + "Thank you for playing! Goodbye!" + ConsoleColors.RESET);
-                    System.exit(0);
-                    break;
+            ValorGame valor = null;
+            SessionState state = SessionState.MENU;
+
+            while (state != SessionState.EXIT) {
+                switch (state) {
+                    case MENU:
+                        state = showMainMenu(scanner);
+                        break;
+                    case INFO:
+                        showGameInfo(scanner);
+                        state = SessionState.MENU;
+                        break;
+                    case LEGENDS:
+                        printLegendsRules();
+                        // -Dlegends.profiles=DIR saves the party under a profile name and offers it back next time
+                        // -Dlegends.autobattle=true fast-forwards encounters from the cached outcome distributions
+                        if (legends == null) {
+                            legends = new LegendsGame(System.getProperty("legends.profiles"), Boolean.getBoolean("legends.autobattle"));
+                        }
+                        legends.play(scanner);
+                        state = SessionState.RESULTS;
+                        break;
+                    case VALOR:
+                        printValorRules();
+                        // -Dvalor.horde=true switches Valor to horde mode (large monster waves)
+                        // -Dvalor.ai=N hands the last N hero slots to the search AI (-Dvalor.ai.ms per move)
+                        // -Dvalor.realtime=HZ plays in real time; -Dvalor.realtime.round=TICKS sets the monster pace
+                        // -Dvalor.layout=LANESxWIDTHxHEIGHT picks the board geometry (default 3x2x8)
+                        // -Dvalor.waves=FILE spawns monsters from a wave script in data/ instead of the fixed interval
+                        if (valor == null) {
+                            int tickRate = Integer.getInteger("valor.realtime", 0);
+                            valor = new ValorGame(LaneLayout.parse(System.getProperty("valor.layout", LaneLayout.STANDARD.toString())),
+                                    Boolean.getBoolean("valor.horde"),
+                                    Integer.getInteger("valor.ai", 0),
+                                    Long.getLong("valor.ai.ms", 500),
+                                    tickRate,
+                                    Integer.getInteger("valor.realtime.round", tickRate * 2),
+                                    System.getProperty("valor.waves"));
+                        }
+                        valor.play(scanner);
+                        state = SessionState.RESULTS;
+                        break;
+                    case RESULTS:
+                        state = promptPlayAgain(scanner) ? SessionState.MENU : SessionState.EXIT;
+                        break;
+                    default:
+                        state = SessionState.EXIT;
+                }
             }
 
+            if (legends != null) legends.close();
+            System.out.println(ConsoleColors.CYAN + "Thank you for playing! Goodbye!" + ConsoleColors.RESET);
         } catch (Exception e) {
+            // The fatal handler exits, so close the saved parties first
+            if (legends != null) legends.close();
             ErrorHandler.handleFatalError(e);
         }
     }
 
+    private static SessionState showMainMenu(Scanner scanner) {
+        System.out.println(ConsoleColors.CYAN + "      Select Your Destiny:" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ╔════════════════════════════════════════════╗" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "1." + ConsoleColors.WHITE_BOLD + " Legends: Monsters and Heroes (RPG)      " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ║ " + ConsoleColors.BLUE + "2." + ConsoleColors.WHITE_BOLD + " Legends of Valor (MOBA Strategy)        " + ConsoleColors.PURPLE + "║" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.PURPLE + "  ╚════════════════════════════════════════════╝" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.WHITE_BOLD + "    3. Game Information & Instructions" + ConsoleColors.RESET);
+        System.out.println(ConsoleColors.WHITE_BOLD + "    4. Exit Game" + ConsoleColors.RESET);
+        System.out.println();
+
+        int choice = InputValidator.getValidInt(scanner, ConsoleColors.YELLOW + "Choose Option: " + ConsoleColors.RESET, 1, 4);
+
+        switch (choice) {
+            case 1: return SessionState.LEGENDS;
+            case 2: return SessionState.VALOR;
+            case 3: return SessionState.INFO;
+            default: return SessionState.EXIT;
+        }
+    }
+
+    private static boolean promptPlayAgain(Scanner scanner) {
+        String input = InputValidator.getValidOption(scanner, "\n" + ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + ConsoleColors.RESET, "y", "yes", "n", "no");
+        if (input.equals("y") || input.equals("yes")) {
+            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Shows detailed game information using the Strategy pattern.
      * Allows users to learn about either game mode before playing.
@@ -72,15 +133,12 @@ public class GameRunner {
 
         switch (infoChoice) {
             case 1:
-                new LegendsGameInfo().displayInfo();
-                run(); // Return to main menu
+                new LegendsGameInfo().displayInfo(scanner);
                 break;
             case 2:
-                new ValorGameInfo().displayInfo();
-                run(); // Return to main menu
+                new ValorGameInfo().displayInfo(scanner);
                 break;
             case 3:
-                run(); // Return to main menu
                 break;
         }
     }
@@ -0,0 +1,16 @@
+package common;
+
+/**
+ * Where console commands come from.
+ * The default is the player's keyboard (the {@link java.util.Scanner} handed down from
+ * {@link GameRunner}); installing a source with {@link InputValidator#setSource(InputSource)}
+ * replaces it for every prompt, e.g. with a recorded {@link ScriptInput}.
+ */
+public interface InputSource {
+
+    /**
+     * @return The next raw command line (not trimmed).
+     * @throws java.util.NoSuchElementException if the source is exhausted.
+     */
+    String nextLine();
+}
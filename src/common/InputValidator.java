@@ -9,6 +9,14 @@ import java.util.function.Predicate;
  * Ensures the application never crashes due to InputMismatchExceptions.
  */
 public class InputValidator {
+    private static InputSource source;
+
+    /**
+     * Replaces keyboard input with {@code source} for every prompt; {@code null} restores the keyboard.
+     */
+    public static void setSource(InputSource source) {
+        InputValidator.source = source;
+    }
 
     /**
      * Prompts the user for an integer within a specific range [min, max].
@@ -23,7 +31,7 @@ public class InputValidator {
     public static int getValidInt(Scanner scanner, String prompt, int min, int max) {
         while (true) {
             System.out.print(prompt);
-            String input = scanner.nextLine().trim();
+            String input = readLine(scanner).trim();
 
             try {
                 int value = Integer.parseInt(input);
@@ -48,7 +56,7 @@ public class InputValidator {
     public static String getValidString(Scanner scanner, String prompt) {
         while (true) {
             System.out.print(prompt);
-            String input = scanner.nextLine().trim();
+            String input = readLine(scanner).trim();
 
             if (!input.isEmpty()) {
                 return input;
@@ -69,7 +77,7 @@ public class InputValidator {
     public static String getValidOption(Scanner scanner, String prompt, String... validOptions) {
         while (true) {
             System.out.print(prompt);
-            String input = scanner.nextLine().trim().toLowerCase();
+            String input = readLine(scanner).trim().toLowerCase();
 
             for (String option : validOptions) {
                 if (input.equals(option.toLowerCase())) {
@@ -79,4 +87,31 @@ public class InputValidator {
             System.out.println("Invalid command. Accepted options: " + String.join(", ", validOptions));
         }
     }
+
+    /**
+     * Reads one raw line, timing the wait under {@link GamePhase#INPUT_WAIT}.
+     * All console reads should go through here so input wait is never billed to game rules.
+     *
+     * @param scanner The input scanner.
+     * @return The line as typed (not trimmed).
+     */
+    public static String readLine(Scanner scanner) {
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.INPUT_WAIT);
+        try {
+            return readRawLine(scanner);
+        } finally {
+            metrics.end();
+        }
+    }
+
+    /**
+     * Reads one raw line without touching {@link GameMetrics}, for input threads other than the game loop.
+     *
+     * @param scanner The input scanner.
+     * @return The line as typed (not trimmed).
+     */
+    public static String readRawLine(Scanner scanner) {
+        return (source != null) ? source.nextLine() : scanner.nextLine();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package common;
+
+/**
+ * Fixed-size log-linear histogram in the style of HdrHistogram.
+ * Values below 32 are counted exactly; above that every power of two is split into
+ * 16 sub-buckets, giving a worst-case relative error of about 6% across the whole
+ * {@code long} range with no allocation after construction.
+ *
+ * <p>Not thread-safe: each histogram is written from the game loop thread.</p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;     // 32 exact buckets
+    private static final int HALF = SUB_COUNT / 2;           // sub-buckets per power of two
+    private static final int BUCKETS = SUB_COUNT + (64 - SUB_BITS) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public long getCount() { return totalCount; }
+    public long getSum() { return sum; }
+    public long getMin() { return totalCount == 0 ? 0 : min; }
+    public long getMax() { return max; }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given percentile.
+     *
+     * @param percentile A value in [0, 100].
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long rank = (long) Math.ceil(percentile / 100.0 * totalCount);
+        rank = Math.max(1, Math.min(rank, totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BITS + 1;
+        int top = (int) (value >>> shift); // In [HALF, SUB_COUNT)
+        return SUB_COUNT + (shift - 1) * HALF + (top - HALF);
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_COUNT) return index;
+        int k = index - SUB_COUNT;
+        int shift = k / HALF + 1;
+        long top = k % HALF + HALF;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,441 @@
+package common;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Singleton record of finished sessions from both games, ranked per {@link Category}.
+ *
+ * <p>Each category keeps its entries in a {@link ConcurrentSkipListMap} ordered best first,
+ * so recording and top-K are O(log n) (plus K) under concurrent writers. A rank needs a
+ * count of better scores, which a skip list can only get by walking; each category
+ * therefore also keeps a Fenwick tree of score counts over {@code 0..cap-1} (larger scores
+ * share the last bucket), answering "how many are better" in O(log cap). Ranks are
+ * competition style: equal scores share a rank. Both structures are updated without
+ * locks, so a rank read during a concurrent write may briefly not count that write.</p>
+ *
+ * <p>With {@code -Dleaderboard.file=PATH} the board is loaded from that file on first use
+ * and written back every {@code -Dleaderboard.snapshot.seconds} (default 30) when it has
+ * changed, and once more at exit. Snapshots share one player-name table and use variable
+ * length integers, and are written to a temporary file and moved into place, so a crash
+ * mid-snapshot leaves the previous one intact. Loading inserts every entry into each
+ * category's skip list, O(n log n).</p>
+ */
+public class Leaderboard {
+    private static final int SNAPSHOT_MAGIC = 0x4C424431; // "LBD1"
+
+    private static Leaderboard instance;
+
+    /** Which game a result came from. */
+    public enum GameKind {
+        LEGENDS, VALOR
+    }
+
+    /** A ranking. Entries a category does not apply to (e.g. Valor defeats) are left out of it. */
+    public enum Category {
+        VALOR_ROUNDS("Fastest Valor victory", false, 1 << 14),
+        LEGENDS_LEVEL("Highest Legends level", true, 1 << 10),
+        GOLD_EARNED("Most gold earned", true, 1 << 20),
+        MONSTERS_DEFEATED("Most monsters defeated", true, 1 << 14);
+
+        private final String title;
+        private final boolean higherIsBetter;
+        private final int cap;
+
+        Category(String title, boolean higherIsBetter, int cap) {
+            this.title = title;
+            this.higherIsBetter = higherIsBetter;
+            this.cap = cap;
+        }
+
+        public String getTitle() { return title; }
+
+        /**
+         * @return The entry's score in this category, or -1 if it is not ranked here.
+         */
+        public long score(Entry e) {
+            switch (this) {
+                case VALOR_ROUNDS: return (e.game == GameKind.VALOR && e.victoryRounds > 0) ? e.victoryRounds : -1;
+                case LEGENDS_LEVEL: return (e.game == GameKind.LEGENDS) ? e.maxLevel : -1;
+                case GOLD_EARNED: return e.goldEarned;
+                case MONSTERS_DEFEATED: return e.monstersDefeated;
+                default: return -1;
+            }
+        }
+    }
+
+    private final Map<Category, RankIndex> indexes = new EnumMap<>(Category.class);
+    private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong changes = new AtomicLong();
+    private final Path snapshotFile;
+    private long snapshotChanges;
+
+    private Leaderboard() {
+        this(System.getProperty("leaderboard.file"), Long.getLong("leaderboard.snapshot.seconds", 30));
+    }
+
+    /**
+     * @param snapshotFile    Snapshot to load and keep up to date, or null for an in-memory board.
+     * @param snapshotSeconds Interval between snapshots (0 = only at exit).
+     */
+    Leaderboard(String snapshotFile, long snapshotSeconds) {
+        for (Category c : Category.values()) {
+            indexes.put(c, new RankIndex(c));
+        }
+        this.snapshotFile = (snapshotFile == null) ? null : Paths.get(snapshotFile);
+        if (this.snapshotFile == null) return;
+
+        try {
+            if (Files.exists(this.snapshotFile)) load(this.snapshotFile);
+        } catch (IOException e) {
+            System.err.println("Leaderboard snapshot unreadable, starting empty: " + e.getMessage());
+        }
+        snapshotChanges = changes.get();
+        if (snapshotSeconds > 0) {
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "leaderboard-snapshot");
+                t.setDaemon(true);
+                return t;
+            });
+            timer.scheduleWithFixedDelay(this::snapshotQuietly, snapshotSeconds, snapshotSeconds, TimeUnit.SECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::snapshotQuietly));
+    }
+
+    public static synchronized Leaderboard getInstance() {
+        if (instance == null) {
+            instance = new Leaderboard();
+        }
+        return instance;
+    }
+
+    /**
+     * Records one finished session. Safe to call from any thread.
+     *
+     * @param victoryRounds Rounds a Valor victory took, or 0 for no victory.
+     * @return The stored entry, for rank queries.
+     */
+    public Entry record(String player, GameKind game, int victoryRounds, int maxLevel, long goldEarned, int monstersDefeated) {
+        Entry e = new Entry(nextId.getAndIncrement(), player, game, Math.max(0, victoryRounds), Math.max(0, maxLevel),
+                Math.max(0, goldEarned), Math.max(0, monstersDefeated), System.currentTimeMillis() / 1000);
+        add(e);
+        changes.incrementAndGet();
+        return e;
+    }
+
+    /**
+     * @return 1-based rank of the entry in {@code category}, or -1 if the category does not apply to it.
+     */
+    public long rank(Category category, Entry e) {
+        long score = category.score(e);
+        return (score < 0) ? -1 : indexes.get(category).countBetter(score, e) + 1;
+    }
+
+    /**
+     * @return Up to {@code k} best entries of {@code category}, best first.
+     */
+    public List<Entry> top(Category category, int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, 64));
+        Iterator<Entry> it = indexes.get(category).ordered.keySet().iterator();
+        while (result.size() < k && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /** Entries ranked in {@code category}. */
+    public long size(Category category) {
+        return indexes.get(category).size();
+    }
+
+    /**
+     * One-line summary of where {@code e} placed, e.g. for the end-of-game screen.
+     */
+    public String describe(Entry e) {
+        StringBuilder sb = new StringBuilder();
+        for (Category c : Category.values()) {
+            long rank = rank(c, e);
+            if (rank < 0) continue;
+            if (sb.length() > 0) sb.append(" | ");
+            sb.append(c.getTitle()).append(": #").append(rank).append(" of ").append(size(c));
+        }
+        return sb.toString();
+    }
+
+    private void add(Entry e) {
+        entries.add(e);
+        for (RankIndex index : indexes.values()) {
+            index.add(e);
+        }
+    }
+
+    // --- Snapshots ---
+
+    /**
+     * Writes the board to the snapshot file now (no-op without {@code -Dleaderboard.file}).
+     */
+    public synchronized void snapshot() throws IOException {
+        if (snapshotFile == null) return;
+        long version = changes.get();
+        if (version == snapshotChanges && Files.exists(snapshotFile)) return;
+
+        // Weakly consistent copy: entries recorded during the write make the next snapshot
+        List<Entry> copy = new ArrayList<>(entries);
+        Map<String, Integer> names = new HashMap<>();
+        List<String> nameTable = new ArrayList<>();
+        for (Entry e : copy) {
+            if (names.putIfAbsent(e.player, nameTable.size()) == null) nameTable.add(e.player);
+        }
+
+        Path dir = snapshotFile.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            writeVarLong(out, nameTable.size());
+            for (String name : nameTable) {
+                byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(out, utf8.length);
+                out.write(utf8);
+            }
+            writeVarLong(out, copy.size());
+            for (Entry e : copy) {
+                writeVarLong(out, e.id);
+                writeVarLong(out, names.get(e.player));
+                out.writeByte(e.game.ordinal());
+                writeVarLong(out, e.victoryRounds);
+                writeVarLong(out, e.maxLevel);
+                writeVarLong(out, e.goldEarned);
+                writeVarLong(out, e.monstersDefeated);
+                writeVarLong(out, e.recordedAt);
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The rename only survives a crash once the directory itself is on disk
+        if (dir != null && !System.getProperty("os.name", "").startsWith("Windows")) {
+            try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+                channel.force(true);
+            }
+        }
+        snapshotChanges = version;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            System.err.println("Leaderboard snapshot failed: " + e.getMessage());
+        }
+    }
+
+    private void load(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            if (in.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a leaderboard snapshot: " + file);
+            }
+            String[] names = new String[(int) readVarLong(in)];
+            for (int i = 0; i < names.length; i++) {
+                int length = (int) readVarLong(in);
+                names[i] = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            }
+            GameKind[] kinds = GameKind.values();
+            Entry[] loaded = new Entry[(int) readVarLong(in)];
+            long maxId = 0;
+            for (int i = 0; i < loaded.length; i++) {
+                long id = readVarLong(in);
+                loaded[i] = new Entry(id, names[(int) readVarLong(in)], kinds[in.get()],
+                        (int) readVarLong(in), (int) readVarLong(in), readVarLong(in), (int) readVarLong(in), readVarLong(in));
+                maxId = Math.max(maxId, id);
+            }
+            for (RankIndex index : indexes.values()) {
+                index.load(loaded);
+            }
+            entries.addAll(Arrays.asList(loaded));
+            nextId.set(maxId + 1);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated leaderboard snapshot: " + file, e);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(ByteBuffer in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.get() & 0xFF;
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("Malformed varint in leaderboard snapshot");
+    }
+
+    // --- Internals ---
+
+    /** Ordering and rank counts for one category. */
+    private static final class RankIndex {
+        final Category category;
+        final AtomicIntegerArray fenwick; // 1-based counts per score bucket
+        final AtomicLong count = new AtomicLong();
+        final ConcurrentSkipListMap<Entry, Boolean> ordered;
+
+        RankIndex(Category category) {
+            this.category = category;
+            Comparator<Entry> byScore = Comparator.comparingLong(category::score);
+            if (category.higherIsBetter) byScore = byScore.reversed();
+            this.ordered = new ConcurrentSkipListMap<>(byScore.thenComparingLong(e -> e.id));
+            this.fenwick = new AtomicIntegerArray(category.cap + 1);
+        }
+
+        void add(Entry e) {
+            long score = category.score(e);
+            if (score < 0) return;
+            for (int i = bucket(score) + 1; i <= category.cap; i += i & -i) {
+                fenwick.incrementAndGet(i);
+            }
+            ordered.put(e, Boolean.TRUE);
+            count.incrementAndGet();
+        }
+
+        /**
+         * Bulk load into an empty index, before the board is published. Entries go into the
+         * skip list one by one; the Fenwick tree is built from the bucket counts in O(cap)
+         * rather than with one O(log cap) update per entry.
+         */
+        void load(Entry[] loaded) {
+            int cap = category.cap;
+            int[] counts = new int[cap];
+            int n = 0;
+            for (Entry e : loaded) {
+                long score = category.score(e);
+                if (score < 0) continue;
+                counts[bucket(score)]++;
+                ordered.put(e, Boolean.TRUE);
+                n++;
+            }
+
+            // Fenwick tree from the bucket counts in O(cap)
+            int[] tree = new int[cap + 1];
+            for (int b = 0; b < cap; b++) {
+                tree[b + 1] += counts[b];
+                int parent = (b + 1) + ((b + 1) & -(b + 1));
+                if (parent <= cap) tree[parent] += tree[b + 1];
+            }
+            for (int i = 1; i <= cap; i++) {
+                if (tree[i] != 0) fenwick.set(i, tree[i]);
+            }
+            count.set(n);
+        }
+
+        long size() {
+            return count.get();
+        }
+
+        /** Entries with a strictly better score than {@code e}'s {@code score}. */
+        long countBetter(long score, Entry e) {
+            if (score < category.cap - 1) {
+                return category.higherIsBetter ? count.get() - prefix((int) score) : prefix((int) score - 1);
+            }
+            // The last bucket holds every score from cap-1 up, so the tree cannot order them;
+            // walk the (short) run of entries on the overflow side of the skip list instead
+            if (category.higherIsBetter) {
+                long better = 0;
+                for (Entry other : ordered.headMap(e).keySet()) {
+                    if (category.score(other) != score) better++;
+                }
+                return better;
+            }
+            long notBetter = 0;
+            for (Entry other : ordered.tailMap(e).keySet()) {
+                notBetter++;
+            }
+            for (Iterator<Entry> it = ordered.headMap(e).descendingKeySet().iterator(); it.hasNext() && category.score(it.next()) == score; ) {
+                notBetter++;
+            }
+            return count.get() - notBetter;
+        }
+
+        private int bucket(long score) {
+            return (int) Math.min(score, category.cap - 1);
+        }
+
+        /** Entries in buckets {@code 0..bucket}. */
+        private long prefix(int bucket) {
+            long sum = 0;
+            for (int i = bucket + 1; i > 0; i -= i & -i) {
+                sum += fenwick.get(i);
+            }
+            return sum;
+        }
+    }
+
+    /** One recorded session. Immutable. */
+    public static final class Entry {
+        private final long id;
+        private final String player;
+        private final GameKind game;
+        private final int victoryRounds;
+        private final int maxLevel;
+        private final long goldEarned;
+        private final int monstersDefeated;
+        private final long recordedAt;
+
+        Entry(long id, String player, GameKind game, int victoryRounds, int maxLevel, long goldEarned, int monstersDefeated, long recordedAt) {
+            this.id = id;
+            this.player = player;
+            this.game = game;
+            this.victoryRounds = victoryRounds;
+            this.maxLevel = maxLevel;
+            this.goldEarned = goldEarned;
+            this.monstersDefeated = monstersDefeated;
+            this.recordedAt = recordedAt;
+        }
+
+        public long getId() { return id; }
+        public String getPlayer() { return player; }
+        public GameKind getGame() { return game; }
+        public int getVictoryRounds() { return victoryRounds; }
+        public int getMaxLevel() { return maxLevel; }
+        public long getGoldEarned() { return goldEarned; }
+        public int getMonstersDefeated() { return monstersDefeated; }
+        /** Epoch seconds. */
+        public long getRecordedAt() { return recordedAt; }
+    }
+}
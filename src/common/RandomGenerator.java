@@ -29,6 +29,18 @@ public class RandomGenerator {
         this.random.setSeed(seed);
     }
 
+    /**
+     * The shared source itself, for APIs that take a {@link Random} (shuffles, boards).
+     * Every random draw in the game must come from here so a seeded run is reproducible.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    public long nextLong() {
+        return random.nextLong();
+    }
+
     public int nextInt(int bound) {
         return random.nextInt(bound);
     }
@@ -0,0 +1,124 @@
+package common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * Input source that replays a recorded command script.
+ *
+ * <p>One command per line, exactly as a player would type it (blank lines are commands
+ * too). Lines starting with {@code #} are comments. Lines of the form
+ * {@code @assert <probe> <op> <value>} check game state before the next command is
+ * consumed; {@code op} is one of {@code == != < <= > >=}. Probes are named values
+ * published by the running game through {@link #registerProbe(String, Supplier)}.
+ * A failed assertion or a script that runs out before the game ends throws, so a
+ * broken script fails the run.</p>
+ */
+public class ScriptInput implements InputSource {
+    private static final Map<String, Supplier<?>> PROBES = new HashMap<>();
+
+    private final String name;
+    private final List<String> lines;
+    private final boolean echo;
+    private int cursor;
+    private long commands;
+    private long assertions;
+
+    /**
+     * @param name  Script name used in error messages.
+     * @param lines Script contents.
+     * @param echo  Print each command after its prompt, as if typed.
+     */
+    public ScriptInput(String name, List<String> lines, boolean echo) {
+        this.name = name;
+        this.lines = lines;
+        this.echo = echo;
+    }
+
+    public static ScriptInput fromFile(String path, boolean echo) throws IOException {
+        return new ScriptInput(path, Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8), echo);
+    }
+
+    /**
+     * Publishes a value that scripts can check with {@code @assert}. Registering an existing name replaces it.
+     */
+    public static void registerProbe(String probe, Supplier<?> value) {
+        PROBES.put(probe.toLowerCase(), value);
+    }
+
+    @Override
+    public String nextLine() {
+        while (cursor < lines.size()) {
+            String line = lines.get(cursor++);
+            String trimmed = line.trim();
+            if (trimmed.startsWith("#")) continue;
+            if (trimmed.startsWith("@assert")) {
+                check(trimmed.substring("@assert".length()).trim());
+                continue;
+            }
+            commands++;
+            if (echo) System.out.println(line);
+            return line;
+        }
+        throw new NoSuchElementException("Script " + name + " ended before the game did (" + commands + " commands).");
+    }
+
+    public long getCommandCount() {
+        return commands;
+    }
+
+    public long getAssertionCount() {
+        return assertions;
+    }
+
+    /** True once every line has been consumed. */
+    public boolean isFinished() {
+        return cursor >= lines.size();
+    }
+
+    private void check(String expression) {
+        String[] parts = expression.split("\\s+", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException(where() + "Malformed assertion '" + expression + "'. Expected: @assert <probe> <op> <value>");
+        }
+        Supplier<?> probe = PROBES.get(parts[0].toLowerCase());
+        if (probe == null) {
+            throw new IllegalArgumentException(where() + "Unknown probe '" + parts[0] + "'. Known: " + PROBES.keySet());
+        }
+        String actual = String.valueOf(probe.get());
+        if (!compare(actual, parts[1], parts[2])) {
+            throw new IllegalStateException(where() + "Assertion failed: " + expression + " (actual " + actual + ")");
+        }
+        assertions++;
+    }
+
+    private boolean compare(String actual, String op, String expected) {
+        int cmp;
+        try {
+            cmp = Double.compare(Double.parseDouble(actual), Double.parseDouble(expected));
+        } catch (NumberFormatException e) {
+            cmp = actual.compareToIgnoreCase(expected);
+        }
+        switch (op) {
+            case "==": return cmp == 0;
+            case "!=": return cmp != 0;
+            case "<": return cmp < 0;
+            case "<=": return cmp <= 0;
+            case ">": return cmp > 0;
+            case ">=": return cmp >= 0;
+            default:
+                throw new IllegalArgumentException(where() + "Unknown operator '" + op + "'.");
+        }
+    }
+
+    private String where() {
+        return name + ":" + cursor + ": ";
+    }
+}
@@ -0,0 +1,132 @@
+package common;
+
+import utils.ConsoleColors;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Headless driver for recorded command scripts (regression runs and throughput measurement).
+ *
+ * <p>Options: {@code --script FILE} replays FILE through {@link ScriptInput} instead of the
+ * keyboard, {@code --seed N} seeds {@link RandomGenerator} so the run is reproducible, and
+ * {@code --turbo} skips board rendering and discards console output. The run ends with a
+ * turns/second report on the real console.</p>
+ *
+ * <p>AI-controlled Valor heroes search against a wall-clock budget, so only scripts without
+ * AI heroes are deterministic.</p>
+ */
+public class ScriptRunner {
+    private static boolean turbo;
+
+    /**
+     * True while a turbo run is in progress; games skip rendering when set.
+     */
+    public static boolean isTurbo() {
+        return turbo;
+    }
+
+    /**
+     * Parses the command line and runs the menu from the script.
+     *
+     * @param args Command line arguments passed to {@code Main}.
+     */
+    public static void run(String[] args) {
+        String script = null;
+        Long seed = null;
+        boolean fast = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--script":
+                        script = requireValue(args, ++i, "--script");
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(requireValue(args, ++i, "--seed"));
+                        break;
+                    case "--turbo":
+                        fast = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (script == null) {
+                throw new IllegalArgumentException("--script FILE is required.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java Main --script FILE [--seed N] [--turbo]");
+            System.exit(2);
+            return;
+        }
+
+        ScriptInput input;
+        try {
+            input = ScriptInput.fromFile(script, !fast);
+        } catch (IOException e) {
+            ErrorHandler.handleFatalError(e);
+            return;
+        }
+        if (seed != null) {
+            RandomGenerator.getInstance().setSeed(seed);
+        }
+
+        PrintStream console = System.out;
+        turbo = fast;
+        if (fast) {
+            System.setOut(new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) {}
+
+                @Override
+                public void write(byte[] b, int off, int len) {}
+            }));
+        }
+        InputValidator.setSource(input);
+
+        // Fatal errors end the JVM with System.exit, so the report also runs from a shutdown hook
+        long start = System.nanoTime();
+        String scriptName = script;
+        Runnable report = new Runnable() {
+            private boolean printed;
+
+            @Override
+            public synchronized void run() {
+                if (printed) return;
+                printed = true;
+                long elapsed = System.nanoTime() - start;
+                InputValidator.setSource(null);
+                System.setOut(console);
+                turbo = false;
+                printReport(scriptName, input, elapsed);
+            }
+        };
+        Runtime.getRuntime().addShutdownHook(new Thread(report));
+        try {
+            GameRunner.run();
+        } finally {
+            report.run();
+        }
+    }
+
+    private static String requireValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value.");
+        }
+        return args[index];
+    }
+
+    private static void printReport(String script, ScriptInput input, long elapsedNanos) {
+        long turns = GameMetrics.getInstance().getTurnsPlayed();
+        double seconds = elapsedNanos / 1e9;
+        System.out.println(ConsoleColors.CYAN + "\n=== Script Report: " + script + " ===" + ConsoleColors.RESET);
+        System.out.println("Commands:   " + input.getCommandCount());
+        System.out.println("Assertions: " + input.getAssertionCount() + " passed");
+        System.out.println("Turns:      " + turns);
+        System.out.printf("Elapsed:    %.3f s%n", seconds);
+        System.out.printf(ConsoleColors.GREEN + "Throughput: %.1f turns/s" + ConsoleColors.RESET + "%n",
+                seconds > 0 ? turns / seconds : 0.0);
+    }
+}
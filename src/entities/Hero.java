@@ -37,6 +37,9 @@ public class Hero extends RPGCharacter {
     
     // Battle state tracking
     private boolean wasFaintedInBattle;
+
+    // Headless simulations turn the level-up printout off
+    private boolean announceLevelUps = true;
     
     // Temporary battle boosts (reset after each battle)
     private double strengthBoost = 0;
@@ -93,8 +96,8 @@ public class Hero extends RPGCharacter {
     @Override
     public double attack(RPGCharacter target) {
         double weaponDmg = (equippedWeapon != null) ? equippedWeapon.getDamage() : 0;
-        // Logic: (Strength + Weapon Damage) * 0.05
-        return (this.strength + weaponDmg) * 0.05;
+        // Unscaled attack power, like Monster.attack; CombatResolver applies the scale and defense
+        return this.strength + weaponDmg;
     }
 
     // Positioning Logic for Valor
@@ -120,6 +123,11 @@ public class Hero extends RPGCharacter {
         }
     }
 
+    /**
+     * Applies every level the current experience pays for in a single step.
+     * The thresholds form an arithmetic series (10L, 10(L+1), ...), so the number of
+     * levels gained is solved directly instead of recursing once per level.
+     */
     private void levelUp() {
         int oldLevel = this.level;
         double oldStrength = this.strength;
@@ -127,29 +135,25 @@ public class Hero extends RPGCharacter {
         double oldDexterity = this.dexterity;
         double oldHp = this.hp;
         double oldMana = this.mana;
-        
-        this.level++;
-        
-        // Subtract the XP threshold from current XP (allow overflow for next level)
-        int xpUsed = oldLevel * 10;
-        this.experience -= xpUsed;
+
+        int levelsGained = levelsAffordable(oldLevel, this.experience);
+        if (levelsGained <= 0) return;
+
+        this.level += levelsGained;
+
+        // Subtract the XP thresholds of every level passed (allow overflow for next level)
+        this.experience -= (int) xpCost(oldLevel, levelsGained);
 
         // HP based on class type when leveling up (base + level*increment for gradual growth)
-        if (type == HeroType.WARRIOR) {
-            this.hp = 100 + (this.level * 50);  // 150, 200, 250, 300... (gradual increase)
-        } else if (type == HeroType.PALADIN) {
-            this.hp = 80 + (this.level * 40);   // 120, 160, 200, 240... (defensive hybrids)  
-        } else if (type == HeroType.SORCERER) {
-            this.hp = 60 + (this.level * 30);   // 90, 120, 150, 180... (glass cannon mages)
-        }
+        this.hp = getMaxHp();
 
-        // Spec Rule: MP of the heroes when they level up = current_mana * 1.1
-        this.mana = this.mana * 1.1;
+        // Spec Rule: MP of the heroes when they level up = current_mana * 1.1 (per level gained)
+        this.mana = this.mana * Math.pow(1.1, levelsGained);
 
         // Spec Rule: When a hero levels up all of their skills increase by 5%
         // and their favored skills increase by an extra 5% (Total 10%).
-        double standardFactor = 1.05;
-        double favoredFactor = 1.10;
+        double standardFactor = Math.pow(1.05, levelsGained);
+        double favoredFactor = Math.pow(1.10, levelsGained);
 
         // Apply increases based on Type
         if (type == HeroType.WARRIOR) {
@@ -166,13 +170,28 @@ public class Hero extends RPGCharacter {
             dexterity *= favoredFactor;
         }
 
-        // Display simple level up notification
-        displayLevelUpStats(oldLevel, oldStrength, oldAgility, oldDexterity, oldHp, oldMana);
-        
-        // Check for consecutive level ups
-        if (this.experience >= this.level * 10) {
-            levelUp();
-        }
+        // Display one summary for the whole jump (e.g. Level 3 -> 7)
+        if (announceLevelUps) displayLevelUpStats(oldLevel, oldStrength, oldAgility, oldDexterity, oldHp, oldMana);
+    }
+
+    /**
+     * Total XP needed to climb {@code levels} levels starting at {@code fromLevel}.
+     */
+    private static long xpCost(int fromLevel, long levels) {
+        return 10L * (levels * fromLevel + levels * (levels - 1) / 2);
+    }
+
+    /**
+     * Solves 10 * (n*L + n(n-1)/2) <= xp for the largest n.
+     * The quadratic estimate is nudged by at most a step to absorb floating point error.
+     */
+    private static int levelsAffordable(int fromLevel, int xp) {
+        if (xp < fromLevel * 10) return 0;
+        double b = 2.0 * fromLevel - 1;
+        long n = (long) ((-b + Math.sqrt(b * b + 4.0 * xp / 5.0)) / 2.0);
+        while (xpCost(fromLevel, n + 1) <= xp) n++;
+        while (n > 0 && xpCost(fromLevel, n) > xp) n--;
+        return (int) n;
     }
     
     private void displayLevelUpStats(int oldLevel, double oldStrength, double oldAgility, double oldDexterity, double oldHp, double oldMana) {
@@ -209,17 +228,47 @@ public class Hero extends RPGCharacter {
     }
 
     public double getMaxHp() {
+        if (level < LEVEL_TABLE_SIZE) {
+            return MAX_HP_TABLE[type.ordinal()][level];
+        }
+        return computeMaxHp(type, level);
+    }
+    
+    public double getMaxMana() {
+        if (level < LEVEL_TABLE_SIZE) {
+            return MAX_MANA_TABLE[type.ordinal()][level];
+        }
+        return computeMaxMana(type, level);
+    }
+
+    // --- Per-class level table ---
+    // getMaxHp/getMaxMana are called on every setHp/setMana, so the common levels are precomputed.
+
+    private static final int LEVEL_TABLE_SIZE = 128;
+    private static final double[][] MAX_HP_TABLE = new double[HeroType.values().length][LEVEL_TABLE_SIZE];
+    private static final double[][] MAX_MANA_TABLE = new double[HeroType.values().length][LEVEL_TABLE_SIZE];
+
+    static {
+        for (HeroType t : HeroType.values()) {
+            for (int lvl = 1; lvl < LEVEL_TABLE_SIZE; lvl++) {
+                MAX_HP_TABLE[t.ordinal()][lvl] = computeMaxHp(t, lvl);
+                MAX_MANA_TABLE[t.ordinal()][lvl] = computeMaxMana(t, lvl);
+            }
+        }
+    }
+
+    private static double computeMaxHp(HeroType type, int level) {
         if (type == HeroType.WARRIOR) {
-            return 100 + (this.level * 50);  // Matches level-up calculation
+            return 100 + (level * 50);  // Matches level-up calculation
         } else if (type == HeroType.PALADIN) {
-            return 80 + (this.level * 40);   // Matches level-up calculation
+            return 80 + (level * 40);   // Matches level-up calculation
         } else if (type == HeroType.SORCERER) {
-            return 60 + (this.level * 30);   // Matches level-up calculation
+            return 60 + (level * 30);   // Matches level-up calculation
         }
-        return 100 + (this.level * 30); // Default fallback
+        return 100 + (level * 30); // Default fallback
     }
-    
-    public double getMaxMana() {
+
+    private static double computeMaxMana(HeroType type, int level) {
         // Base mana from constructor * level up multiplier (1.1^(level-1))
         double baseMana;
         switch (type) {
@@ -276,19 +325,19 @@ public class Hero extends RPGCharacter {
     public double getStrength() { return strength + strengthBoost; }
     public void setStrength(double strength) { this.strength = strength; }
     public double getBaseStrength() { return strength; }
-    public void addStrengthBoost(double boost) { this.strengthBoost += boost; }
+    public void setStrengthBoost(double boost) { this.strengthBoost = boost; }
     public boolean hasStrengthBoost() { return strengthBoost > 0; }
 
     public double getAgility() { return agility + agilityBoost; }
     public void setAgility(double agility) { this.agility = agility; }
     public double getBaseAgility() { return agility; }
-    public void addAgilityBoost(double boost) { this.agilityBoost += boost; }
+    public void setAgilityBoost(double boost) { this.agilityBoost = boost; }
     public boolean hasAgilityBoost() { return agilityBoost > 0; }
 
     public double getDexterity() { return dexterity + dexterityBoost; }
     public void setDexterity(double dexterity) { this.dexterity = dexterity; }
     public double getBaseDexterity() { return dexterity; }
-    public void addDexterityBoost(double boost) { this.dexterityBoost += boost; }
+    public void setDexterityBoost(double boost) { this.dexterityBoost = boost; }
     public boolean hasDexterityBoost() { return dexterityBoost > 0; }
 
     public double getMoney() { return money; }
@@ -306,7 +355,21 @@ public class Hero extends RPGCharacter {
 
     public int getExperience() { return experience; }
 
+    /**
+     * Puts back a saved level and experience without replaying the level-up rules;
+     * stats are restored separately through their setters.
+     */
+    public void restoreProgress(int level, int experience) {
+        if (level < 1) {
+            throw new IllegalArgumentException("Level must be at least 1.");
+        }
+        this.level = level;
+        this.experience = experience;
+    }
+
     // Battle state management
+    public void setAnnounceLevelUps(boolean announce) { this.announceLevelUps = announce; }
+
     public boolean wasFaintedInBattle() { return wasFaintedInBattle; }
     public void markFaintedInBattle() { this.wasFaintedInBattle = true; }
     public void resetBattleState() { 
@@ -15,11 +15,24 @@ public class Monster extends RPGCharacter {
     private double defense;
     private double dodgeChance;
 
+    // Live spell debuffs (see game.StatusEffects); the stats above stay at their base values
+    private double damageDebuff;
+    private double defenseDebuff;
+    private double dodgeDebuff;
+
     // Position Tracking for Valor
     private int row;
     private int col;
     private int lane;
 
+    // Shared species data (Flyweight); null for hand-built monsters
+    private MonsterTemplate template;
+    private boolean pooled;
+
+    // Optional backing slot in a MonsterStore (horde mode); -1 when the fields above are authoritative
+    private MonsterStore store;
+    private int slot = -1;
+
     // Constructor matches file: Name/level/damage/defense/dodge chance
     public Monster(String name, MonsterType type, int level, double baseDamage, double defense, double dodgeChance) {
         super(name, level);
@@ -46,9 +59,26 @@ public class Monster extends RPGCharacter {
     @Override
     public double attack(RPGCharacter target) {
         // Monster damage is primarily their base damage attribute
-        return this.baseDamage;
+        return getBaseDamage();
     }
     
+    @Override
+    public double getHp() {
+        return (store != null) ? store.getHp(slot) : hp;
+    }
+
+    @Override
+    public void setHp(double hp) {
+        double capped = Math.max(0, Math.min(hp, getMaxHp()));
+        if (store != null) store.setHp(slot, capped);
+        else this.hp = capped;
+    }
+
+    @Override
+    public boolean isFainted() {
+        return getHp() <= 0;
+    }
+
     @Override
     public double getMaxHp() {
         // Monsters' max HP is their starting HP (level * 100)
@@ -60,45 +90,98 @@ public class Monster extends RPGCharacter {
     }
 
     public double getBaseDamage() {
-        return baseDamage;
+        double base = (store != null) ? store.getDamage(slot) : baseDamage;
+        return Math.max(0, base - damageDebuff);
     }
 
     public double getDefense() {
-        return defense;
+        return Math.max(0, defense - defenseDebuff);
     }
 
     public double getDodgeChance() {
         // Spec: Monster's dodge chance = dodge_chance * 0.01 (loaded value is likely 0-100)
-        return dodgeChance * 0.01;
+        return Math.max(0, dodgeChance - dodgeDebuff) * 0.01;
     }
 
-    public void reduceDefense(double amount) {
-        this.defense = Math.max(0, this.defense - amount);
+    // Debuff totals are set by the effect engine; dodge is in raw percentage points
+    public void setDamageDebuff(double amount) { this.damageDebuff = amount; }
+    public void setDefenseDebuff(double amount) { this.defenseDebuff = amount; }
+    public void setDodgeDebuff(double amount) { this.dodgeDebuff = amount; }
+
+    // Position Getters/Setters
+    public void setPosition(int row, int col) {
+        this.row = row;
+        this.col = col;
+        if (store != null) store.setPosition(slot, row, col);
     }
 
-    public void reduceDamage(double amount) {
-        this.baseDamage = Math.max(0, this.baseDamage - amount);
+    public int getRow() { return (store != null) ? store.getRow(slot) : row; }
+    public int getCol() { return (store != null) ? store.getCol(slot) : col; }
+
+    public int getLane() { return (store != null) ? store.getLane(slot) : lane; }
+    public void setLane(int lane) {
+        this.lane = lane;
+        if (store != null) store.setLane(slot, lane);
     }
 
-    public void reduceDodgeChance(double amount) {
-        this.dodgeChance = Math.max(0, this.dodgeChance - amount);
+    public MonsterTemplate getTemplate() { return template; }
+    public void setTemplate(MonsterTemplate template) { this.template = template; }
+
+    // --- MonsterPool support ---
+
+    /**
+     * Re-initialises a pooled monster as a fresh spawn of {@code template} at {@code level}.
+     */
+    void reset(MonsterTemplate template, int level) {
+        if (template.getType() != type) {
+            throw new IllegalArgumentException("Cannot reuse a " + type + " as a " + template.getType());
+        }
+        unbind();
+        this.template = template;
+        this.name = template.getName();
+        this.level = level;
+        this.hp = template.hpAt(level);
+        this.baseDamage = template.damageAt(level);
+        this.defense = template.defenseAt(level);
+        this.dodgeChance = template.dodgeAt(level);
+        this.damageDebuff = 0;
+        this.defenseDebuff = 0;
+        this.dodgeDebuff = 0;
+        this.row = 0;
+        this.col = 0;
+        this.lane = 0;
+        this.pooled = false;
     }
 
-    // Position Getters/Setters
-    public void setPosition(int row, int col) {
-        this.row = row;
-        this.col = col;
+    boolean isPooled() { return pooled; }
+    void markPooled() { this.pooled = true; }
+
+    // --- MonsterStore binding (view mode) ---
+
+    /** Called by MonsterStore when this monster's state moves into its arrays. */
+    void bind(MonsterStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
     }
 
-    public int getRow() { return row; }
-    public int getCol() { return col; }
+    /** Called by MonsterStore on release; the last array state is copied back into the fields. */
+    void unbind() {
+        if (store == null) return;
+        this.hp = store.getHp(slot);
+        this.baseDamage = store.getDamage(slot);
+        this.row = store.getRow(slot);
+        this.col = store.getCol(slot);
+        this.lane = store.getLane(slot);
+        this.store = null;
+        this.slot = -1;
+    }
 
-    public int getLane() { return lane; }
-    public void setLane(int lane) { this.lane = lane; }
+    public boolean isStoreBacked() { return store != null; }
+    public int getSlot() { return slot; }
 
     @Override
     public String toString() {
         return String.format("[%s] %s (Lvl %d) | HP: %.0f | Dmg: %.0f",
-                type, name, level, hp, baseDamage);
+                type, name, level, getHp(), getBaseDamage());
     }
 }
\ No newline at end of file
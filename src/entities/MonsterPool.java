@@ -0,0 +1,77 @@
+package entities;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Object pool for spawned monsters.
+ * Defeated monsters are released back to the pool and re-initialised from a
+ * {@link MonsterTemplate} on the next spawn, so long sessions and simulations
+ * stop allocating a new Dragon/Exoskeleton/Spirit per encounter.
+ *
+ * <p>Pools are per thread, so parallel simulations never contend on them.</p>
+ */
+public class MonsterPool {
+
+    private static final ThreadLocal<MonsterPool> CURRENT = ThreadLocal.withInitial(MonsterPool::new);
+
+    // Keeps idle monsters bounded if a caller releases far more than it re-acquires
+    private static final int MAX_IDLE_PER_TYPE = 1024;
+
+    private final Map<Monster.MonsterType, ArrayDeque<Monster>> idle = new EnumMap<>(Monster.MonsterType.class);
+    private long created;
+    private long reused;
+
+    private MonsterPool() {
+        for (Monster.MonsterType type : Monster.MonsterType.values()) {
+            idle.put(type, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Returns the pool owned by the calling thread.
+     */
+    public static MonsterPool current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns a monster of the template's species scaled to {@code level}.
+     */
+    public Monster acquire(MonsterTemplate template, int level) {
+        Monster monster = idle.get(template.getType()).pollFirst();
+        if (monster == null) {
+            created++;
+            monster = newMonster(template.getType());
+        } else {
+            reused++;
+        }
+        monster.reset(template, level);
+        return monster;
+    }
+
+    /**
+     * Returns a monster to the pool. The caller must drop every reference to it
+     * (board cells, monster lists) before releasing.
+     */
+    public void release(Monster monster) {
+        if (monster == null || monster.isPooled()) return;
+        ArrayDeque<Monster> free = idle.get(monster.getType());
+        if (free.size() >= MAX_IDLE_PER_TYPE) return;
+        monster.markPooled();
+        free.addFirst(monster);
+    }
+
+    public long getCreatedCount() { return created; }
+    public long getReusedCount() { return reused; }
+
+    private static Monster newMonster(Monster.MonsterType type) {
+        // Placeholder stats; reset() overwrites everything from the template
+        switch (type) {
+            case DRAGON: return new Dragon("Dragon", 1, 100, 0, 0, 0);
+            case EXOSKELETON: return new Exoskeleton("Exoskeleton", 1, 100, 0, 0, 0);
+            default: return new Spirit("Spirit", 1, 100, 0, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package entities;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for large monster populations ("horde mode").
+ * Hot per-round state (HP, position, lane, damage) lives in parallel primitive arrays
+ * indexed by slot, so movement and regeneration passes are plain loops over arrays.
+ * Each stored monster keeps a {@link Monster} view whose getters read from its slot,
+ * which lets the existing board rendering and combat code keep working unchanged.
+ *
+ * <p>Slots of released monsters go onto a free list and are reused by later spawns.</p>
+ */
+public class MonsterStore {
+
+    private double[] hp;
+    private double[] maxHp;
+    private double[] damage;
+    private int[] row;
+    private int[] col;
+    private int[] lane;
+    private Monster[] views;
+
+    // Free-list of released slots (stack) and the first never-used slot
+    private int[] freeSlots;
+    private int freeTop;
+    private int highWater;
+
+    // Dense list of live slots so passes never visit empty slots
+    private int[] liveSlots;
+    private int[] livePosition; // slot -> index in liveSlots, -1 if free
+    private int liveCount;
+
+    public MonsterStore(int initialCapacity) {
+        int capacity = Math.max(8, initialCapacity);
+        this.hp = new double[capacity];
+        this.maxHp = new double[capacity];
+        this.damage = new double[capacity];
+        this.row = new int[capacity];
+        this.col = new int[capacity];
+        this.lane = new int[capacity];
+        this.views = new Monster[capacity];
+        this.freeSlots = new int[capacity];
+        this.liveSlots = new int[capacity];
+        this.livePosition = new int[capacity];
+        Arrays.fill(livePosition, -1);
+    }
+
+    /**
+     * Moves a monster's state into the store and turns the monster into a view on it.
+     *
+     * @return The slot assigned to the monster.
+     */
+    public int add(Monster monster) {
+        if (monster.isStoreBacked()) {
+            throw new IllegalArgumentException(monster.getName() + " is already stored.");
+        }
+        int slot = (freeTop > 0) ? freeSlots[--freeTop] : nextFreshSlot();
+
+        hp[slot] = monster.getHp();
+        maxHp[slot] = monster.getMaxHp();
+        damage[slot] = monster.getBaseDamage();
+        row[slot] = monster.getRow();
+        col[slot] = monster.getCol();
+        lane[slot] = monster.getLane();
+        views[slot] = monster;
+
+        livePosition[slot] = liveCount;
+        liveSlots[liveCount++] = slot;
+
+        monster.bind(this, slot);
+        return slot;
+    }
+
+    /**
+     * Detaches a monster from the store and returns its slot to the free list.
+     * The monster keeps its last state as a regular object.
+     */
+    public void remove(Monster monster) {
+        int slot = monster.getSlot();
+        if (slot < 0 || views[slot] != monster) return;
+
+        monster.unbind();
+        views[slot] = null;
+
+        // Swap-remove from the dense live list
+        int pos = livePosition[slot];
+        int lastSlot = liveSlots[--liveCount];
+        liveSlots[pos] = lastSlot;
+        livePosition[lastSlot] = pos;
+        livePosition[slot] = -1;
+
+        freeSlots[freeTop++] = slot;
+    }
+
+    private int nextFreshSlot() {
+        if (highWater == hp.length) grow();
+        return highWater++;
+    }
+
+    private void grow() {
+        int capacity = hp.length * 2;
+        hp = Arrays.copyOf(hp, capacity);
+        maxHp = Arrays.copyOf(maxHp, capacity);
+        damage = Arrays.copyOf(damage, capacity);
+        row = Arrays.copyOf(row, capacity);
+        col = Arrays.copyOf(col, capacity);
+        lane = Arrays.copyOf(lane, capacity);
+        views = Arrays.copyOf(views, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        liveSlots = Arrays.copyOf(liveSlots, capacity);
+        int oldLength = livePosition.length;
+        livePosition = Arrays.copyOf(livePosition, capacity);
+        Arrays.fill(livePosition, oldLength, capacity, -1);
+    }
+
+    // --- Bulk passes ---
+
+    /**
+     * Advances every live monster one row south if the destination is free.
+     * The caller supplies a row-major occupancy grid (terrain, heroes and monsters all
+     * count as blocked); it is updated in place as monsters move.
+     *
+     * @param blocked  Row-major grid of blocked cells, {@code width * height} long.
+     * @param width    Board width.
+     * @param height   Board height.
+     * @param movedOut Receives the slots that moved; must hold {@link #size()} entries.
+     * @return The number of slots written to {@code movedOut}.
+     */
+    public int advanceSouth(boolean[] blocked, int width, int height, int[] movedOut) {
+        int moved = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int s = liveSlots[i];
+            if (hp[s] <= 0) continue;
+
+            int newRow = row[s] + 1;
+            if (newRow >= height) continue;
+
+            int from = row[s] * width + col[s];
+            int to = from + width;
+            if (blocked[to]) continue;
+
+            blocked[from] = false;
+            blocked[to] = true;
+            row[s] = newRow;
+            movedOut[moved++] = s;
+        }
+        return moved;
+    }
+
+    /**
+     * Multiplies the HP of every live monster by {@code factor}, capped at its max HP.
+     */
+    public void regenerate(double factor) {
+        for (int i = 0; i < liveCount; i++) {
+            int s = liveSlots[i];
+            if (hp[s] <= 0) continue;
+            hp[s] = Math.min(maxHp[s], hp[s] * factor);
+        }
+    }
+
+    /**
+     * Returns the highest row occupied by a live monster, or -1 when empty.
+     */
+    public int maxRow() {
+        int max = -1;
+        for (int i = 0; i < liveCount; i++) {
+            int s = liveSlots[i];
+            if (hp[s] > 0 && row[s] > max) max = row[s];
+        }
+        return max;
+    }
+
+    // --- Slot accessors (used by Monster views) ---
+
+    public int size() { return liveCount; }
+    public Monster getView(int slot) { return views[slot]; }
+
+    double getHp(int slot) { return hp[slot]; }
+    void setHp(int slot, double value) { hp[slot] = value; }
+    double getDamage(int slot) { return damage[slot]; }
+    void setDamage(int slot, double value) { damage[slot] = value; }
+    int getRow(int slot) { return row[slot]; }
+    int getCol(int slot) { return col[slot]; }
+    int getLane(int slot) { return lane[slot]; }
+    void setLane(int slot, int value) { lane[slot] = value; }
+
+    void setPosition(int slot, int r, int c) {
+        row[slot] = r;
+        col[slot] = c;
+    }
+}
@@ -0,0 +1,55 @@
+package entities;
+
+import entities.Monster.MonsterType;
+
+/**
+ * Immutable, shared description of a monster species as loaded from the data files.
+ * Spawned monsters reference their template instead of copying its data (Flyweight),
+ * and the template owns the level scaling curves used when a monster is spawned.
+ */
+public final class MonsterTemplate {
+    private final String name;
+    private final MonsterType type;
+    private final int baseLevel;
+    private final double baseDamage;
+    private final double baseDefense;
+    private final double dodgeChance; // Raw value from file (0-100)
+
+    public MonsterTemplate(String name, MonsterType type, int baseLevel,
+                           double baseDamage, double baseDefense, double dodgeChance) {
+        this.name = name;
+        this.type = type;
+        this.baseLevel = baseLevel;
+        this.baseDamage = baseDamage;
+        this.baseDefense = baseDefense;
+        this.dodgeChance = dodgeChance;
+    }
+
+    public String getName() { return name; }
+    public MonsterType getType() { return type; }
+    public int getBaseLevel() { return baseLevel; }
+    public double getBaseDamage() { return baseDamage; }
+    public double getBaseDefense() { return baseDefense; }
+    public double getDodgeChance() { return dodgeChance; }
+
+    // --- Scaling curves for spawned monsters ---
+    // Base damage is way too high in data files, so spawns scale with level instead
+    // to stay appropriate for hero HP levels (heroes have ~150-300 HP).
+
+    public double hpAt(int level) {
+        return level * 100.0; // HP = level * 100
+    }
+
+    public double damageAt(int level) {
+        return Math.max(10, level * 15 + (level * 5)); // Level 1: ~20, Level 2: ~40, Level 5: ~100
+    }
+
+    public double defenseAt(int level) {
+        return Math.max(5, level * 8 + (level * 2)); // Level 1: ~10, Level 2: ~20, Level 5: ~50
+    }
+
+    public double dodgeAt(int level) {
+        // Same value spawns have always used: the catalog monster's scaled chance, capped at 50
+        return Math.min(50, dodgeChance * 0.01);
+    }
+}
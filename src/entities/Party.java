@@ -8,21 +8,32 @@ import java.util.List;
  * Tracks the party's location on the grid and their collective state.
  */
 public class Party {
+    public static final int DEFAULT_CAPACITY = 3;
+
     private final List<Hero> heroes;
+    private final int capacity;
     private int row; // Current Board Row
     private int col; // Current Board Column
 
     public Party() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Maximum number of heroes (Valor uses one per lane).
+     */
+    public Party(int capacity) {
         this.heroes = new ArrayList<>();
+        this.capacity = capacity;
         this.row = 0;
         this.col = 0;
     }
 
     public void addHero(Hero hero) {
-        if (heroes.size() < 3) {
+        if (heroes.size() < capacity) {
             heroes.add(hero);
         } else {
-            System.out.println("Party is full! (Max 3 heroes)");
+            System.out.println("Party is full! (Max " + capacity + " heroes)");
         }
     }
 
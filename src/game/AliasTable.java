@@ -0,0 +1,78 @@
+package game;
+
+/**
+ * Walker alias table: draws an index with probability proportional to its weight in O(1).
+ *
+ * <p>Built once in O(n) with Vose's method. Every column holds its own index with probability
+ * {@code prob[i]} and hands the rest to {@code alias[i]}, so a draw is one multiply and one
+ * comparison. A single roll picks both the column (integer part) and the coin (fraction).</p>
+ *
+ * <p>Immutable and thread-safe.</p>
+ */
+public final class AliasTable {
+    private final double[] prob;
+    private final int[] alias;
+
+    /**
+     * @param weights Non-negative weights with a positive sum; zero-weight indices are never drawn.
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double w : weights) {
+            if (w < 0 || Double.isNaN(w) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Alias table weights must be finite and non-negative.");
+            }
+            total += w;
+        }
+        if (n == 0 || total <= 0) {
+            throw new IllegalArgumentException("Alias table needs at least one positive weight.");
+        }
+
+        prob = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            prob[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1;
+            if (scaled[l] < 1) small[smallCount++] = l;
+            else large[largeCount++] = l;
+        }
+        // Leftovers are 1 up to rounding error
+        while (largeCount > 0) {
+            int l = large[--largeCount];
+            prob[l] = 1;
+            alias[l] = l;
+        }
+        while (smallCount > 0) {
+            int s = small[--smallCount];
+            prob[s] = 1;
+            alias[s] = s;
+        }
+    }
+
+    public int size() {
+        return prob.length;
+    }
+
+    /**
+     * @param roll Uniform roll in [0, 1).
+     * @return An index drawn with probability proportional to its weight.
+     */
+    public int sample(double roll) {
+        double x = roll * prob.length;
+        int column = Math.min((int) x, prob.length - 1);
+        return (x - column < prob[column]) ? column : alias[column];
+    }
+}
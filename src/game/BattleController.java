@@ -2,6 +2,8 @@ package game;
 
 import utils.ConsoleColors;
 import utils.GameDataLoader;
+import common.GameMetrics;
+import common.GamePhase;
 import common.InputValidator;
 import common.RandomGenerator;
 import entities.Hero;
@@ -21,31 +23,103 @@ import java.util.stream.Collectors;
  */
 public class BattleController {
 
-    private final List<Monster> monsterCatalog;
     private final RandomGenerator rng;
+    private final CombatResolver combat;
+    private final SpawnTable.Sampler spawns;
+    private final MonsterRound monsterRound = new MonsterRound();
+    // Potion boosts and spell debuffs for the current encounter, timed in battle rounds
+    private final StatusEffects effects = new StatusEffects();
+    // Session tally for the leaderboard, reset by the owning game
+    private int monstersDefeated;
+    private long goldAwarded;
+    // Outcome distributions for auto-battles; null while battles are fought by hand
+    private EncounterCache encounterCache;
 
     public BattleController(List<Monster> monsterCatalog) {
-        this.monsterCatalog = monsterCatalog;
+        this(monsterCatalog, CombatResolver.getInstance());
+    }
+
+    public BattleController(List<Monster> monsterCatalog, CombatResolver combat) {
+        this(monsterCatalog, combat, SpawnTable.getInstance());
+    }
+
+    public BattleController(List<Monster> monsterCatalog, CombatResolver combat, SpawnTable spawnTable) {
         this.rng = RandomGenerator.getInstance();
+        this.combat = combat;
+        this.spawns = spawnTable.sampler(monsterCatalog);
     }
 
-    public void startBattle(Scanner scanner, Party party) {
+    /** Monsters defeated since the last {@link #resetTally()}. */
+    public int getMonstersDefeated() { return monstersDefeated; }
+
+    /** Gold handed out since the last {@link #resetTally()}, summed over heroes. */
+    public long getGoldAwarded() { return goldAwarded; }
+
+    public void resetTally() {
+        monstersDefeated = 0;
+        goldAwarded = 0;
+    }
+
+    /**
+     * Fast-forwards every encounter: the result is drawn from {@link EncounterCache} instead of
+     * being fought round by round. Heroes only use their weapons, so spells and potions are kept.
+     */
+    public void setAutoBattle(boolean autoBattle) {
+        if (!autoBattle) {
+            encounterCache = null;
+        } else if (encounterCache == null) {
+            encounterCache = new EncounterCache(combat);
+        }
+    }
+
+    public boolean isAutoBattle() { return encounterCache != null; }
+
+    /** The auto-battle cache, or null when auto-battle is off. */
+    public EncounterCache getEncounterCache() { return encounterCache; }
+
+    /**
+     * Runs one encounter to its end.
+     *
+     * @param scanner Player input; not read when auto-battle is on.
+     * @return false if the player chose to quit the game during the battle.
+     */
+    public boolean startBattle(Scanner scanner, Party party) {
         // Reset battle state for all heroes at the start of each battle
         for (Hero hero : party.getHeroes()) {
             hero.resetBattleState();
         }
         
-        List<Monster> enemies = spawnMonsters(party);
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.SPAWN);
+        List<Monster> enemies;
+        try {
+            enemies = spawnMonsters(party);
+        } finally {
+            metrics.end();
+        }
         System.out.println(ConsoleColors.RED + "\n*** Battle Started! Enemies approaching: ***" + ConsoleColors.RESET);
         for (Monster m : enemies) System.out.println("- " + m);
 
+        if (encounterCache != null) {
+            metrics.begin(GamePhase.AUTO_BATTLE);
+            try {
+                fastForward(party, enemies);
+            } finally {
+                metrics.end();
+            }
+            for (Monster m : enemies) GameDataLoader.recycleMonster(m);
+            return true;
+        }
+
         int round = 1;
         boolean battleActive = true;
+        boolean quit = false;
 
         while (battleActive) {
             System.out.println("\n" + ConsoleColors.YELLOW + "=== Round " + round + " ===" + ConsoleColors.RESET);
 
             if (!processHeroesTurn(scanner, party, enemies)) {
+                quit = true;
                 battleActive = false;
                 break;
             }
@@ -56,7 +130,12 @@ public class BattleController {
                 break;
             }
 
-            processMonstersTurn(party, enemies);
+            metrics.begin(GamePhase.MONSTER_TURN);
+            try {
+                processMonstersTurn(party, enemies);
+            } finally {
+                metrics.end();
+            }
 
             if (party.isPartyWipedOut()) {
                 System.out.println(ConsoleColors.RED + "The party has been defeated!" + ConsoleColors.RESET);
@@ -64,9 +143,63 @@ public class BattleController {
                 break;
             }
 
-            performRegeneration(party);
+            metrics.begin(GamePhase.REGENERATION);
+            try {
+                performRegeneration(party);
+                effects.advanceTo(round);
+            } finally {
+                metrics.end();
+            }
             round++;
         }
+
+        // Boosts end with the encounter; debuffs must be gone before the monsters are reused
+        effects.clearAll();
+        // The encounter is over and nothing else holds these monsters; return them to the pool
+        for (Monster m : enemies) GameDataLoader.recycleMonster(m);
+        return !quit;
+    }
+
+    /**
+     * Applies one sampled outcome to the party: end HP, fainting, mana regeneration and gear
+     * wear for the rounds played, then the usual victory rewards.
+     */
+    private void fastForward(Party party, List<Monster> enemies) {
+        List<Hero> heroes = party.getHeroes();
+        EncounterCache.Sample sample = encounterCache.resolve(heroes, enemies, rng.nextDouble(), rng.nextLong());
+        System.out.println(ConsoleColors.CYAN + "Auto-battle: " + (sample.isWon() ? "victory" : "defeat") + " after "
+                + sample.getRounds() + (sample.getRounds() == 1 ? " round." : " rounds.") + ConsoleColors.RESET);
+
+        for (int h = 0; h < heroes.size(); h++) {
+            Hero hero = heroes.get(h);
+            hero.setHp(sample.getHp(h, hero.getHp()));
+            if (hero.isFainted()) {
+                hero.markFaintedInBattle();
+                System.out.println(ConsoleColors.RED + hero.getName() + " has fainted!" + ConsoleColors.RESET);
+            }
+            for (int r = 0; r < sample.getRegenRounds(h); r++) {
+                hero.setMana(combat.regenerate(hero.getMana()));
+                if (hero.getEquippedWeapon() != null) hero.getEquippedWeapon().degrade();
+            }
+            if (hero.getEquippedWeapon() != null && hero.getEquippedWeapon().isBroken()) {
+                System.out.println(ConsoleColors.RED + hero.getName() + "'s " + hero.getEquippedWeapon().getName() + " has broken!" + ConsoleColors.RESET);
+                hero.unequipWeapon();
+            }
+            if (hero.getEquippedArmor() != null) {
+                for (int k = 0; k < sample.getArmorHits(h); k++) hero.getEquippedArmor().degrade();
+                if (hero.getEquippedArmor().isBroken()) {
+                    System.out.println(ConsoleColors.RED + hero.getName() + "'s " + hero.getEquippedArmor().getName() + " has broken!" + ConsoleColors.RESET);
+                    hero.unequipArmor();
+                }
+            }
+        }
+
+        if (sample.isWon()) {
+            for (Monster m : enemies) m.setHp(0);
+            processVictory(party, enemies);
+        } else {
+            System.out.println(ConsoleColors.RED + "The party has been defeated!" + ConsoleColors.RESET);
+        }
     }
 
     private List<Monster> spawnMonsters(Party party) {
@@ -78,10 +211,7 @@ public class BattleController {
                 .max().orElse(1);
 
         for (int i = 0; i < partySize; i++) {
-            Monster template = monsterCatalog.get(rng.nextInt(monsterCatalog.size()));
-
-            Monster monster = GameDataLoader.createMonsterFromTemplate(template, targetLevel);
-            enemies.add(monster);
+            enemies.add(spawns.spawn(SpawnTable.Mode.LEGENDS, -1, targetLevel, rng.nextDouble()));
         }
         return enemies;
     }
@@ -118,13 +248,8 @@ public class BattleController {
                         break;
                     case 5: showBattleInfo(party, enemies, hero); break;
                     case 6:
-                        if (promptRestart(scanner)) {
-                            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
-                            common.GameRunner.run();
-                        } else {
-                            System.out.println(ConsoleColors.CYAN + "Goodbye!" + ConsoleColors.RESET);
-                            System.exit(0);
-                        }
+                        // Unwinds the battle; the game ends and the session moves on to the results screen
+                        System.out.println(ConsoleColors.YELLOW + "Leaving the battle..." + ConsoleColors.RESET);
                         return false;
                 }
             }
@@ -136,17 +261,13 @@ public class BattleController {
         Monster target = selectMonster(scanner, enemies);
         if (target == null) return false;
 
-        double monsterDodge = Math.min(0.20, target.getDodgeChance());
-
-        if (rng.nextDouble() < monsterDodge) {
+        if (CombatResolver.dodged(combat.monsterDodgeChance(target.getDodgeChance()), rng.nextDouble())) {
             System.out.println(target.getName() + " dodged the attack!");
             return true;
         }
 
         double weaponDmg = (hero.getEquippedWeapon() != null) ? hero.getEquippedWeapon().getDamage() : 0;
-        double rawDamage = (hero.getStrength() + weaponDmg) * 0.05;
-
-        double actualDamage = Math.max(0, rawDamage - (target.getDefense() * 0.05));
+        double actualDamage = combat.heroAttackDamage(hero.getStrength(), weaponDmg, target.getDefense());
 
         target.setHp(target.getHp() - actualDamage);
         System.out.printf("%s attacks %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", hero.getName(), target.getName(), actualDamage);
@@ -185,19 +306,28 @@ public class BattleController {
 
         hero.setMana(hero.getMana() - spell.getManaCost());
 
-        double damage = spell.getDamage() + ((hero.getDexterity() / 10000.0) * spell.getDamage());
+        if (combat.isSpellDodgeable()
+                && CombatResolver.dodged(combat.monsterDodgeChance(target.getDodgeChance()), rng.nextDouble())) {
+            System.out.println(target.getName() + " dodged the spell!");
+            hero.getInventory().removeItem(spell);
+            return true;
+        }
+
+        double damage = combat.spellDamage(spell.getDamage(), hero.getDexterity());
         target.setHp(target.getHp() - damage);
 
         if (!target.isFainted()) {
+            int rounds = combat.spellDebuffRounds();
             if (spell.getType() == SpellType.ICE) {
-                target.reduceDamage(target.getBaseDamage() * 0.1);
-                System.out.println(target.getName() + "'s damage reduced by Ice!");
+                effects.apply(target, StatusEffects.Kind.DAMAGE, combat.spellDebuff(target.getBaseDamage()), rounds);
+                System.out.println(target.getName() + "'s damage reduced by Ice for " + rounds + " rounds!");
             } else if (spell.getType() == SpellType.FIRE) {
-                target.reduceDefense(target.getDefense() * 0.1);
-                System.out.println(target.getName() + "'s defense melted by Fire!");
+                effects.apply(target, StatusEffects.Kind.DEFENSE, combat.spellDebuff(target.getDefense()), rounds);
+                System.out.println(target.getName() + "'s defense melted by Fire for " + rounds + " rounds!");
             } else if (spell.getType() == SpellType.LIGHTNING) {
-                target.reduceDodgeChance(target.getDodgeChance() * 0.1);
-                System.out.println(target.getName() + "'s dodge reduced by Lightning!");
+                // Dodge debuffs are in raw percentage points, as stored on the monster
+                effects.apply(target, StatusEffects.Kind.DODGE, combat.spellDebuff(target.getDodgeChance()), rounds);
+                System.out.println(target.getName() + "'s dodge reduced by Lightning for " + rounds + " rounds!");
             }
         }
 
@@ -228,25 +358,31 @@ public class BattleController {
         double val = potion.getAttributeIncrease();
         StringBuilder boostMessage = new StringBuilder();
         
-        if (potion.affects("Health")) {
-            hero.setHp(hero.getHp() + val); // setHp automatically caps at max
-        }
-        if (potion.affects("Mana")) {
-            hero.setMana(hero.getMana() + val); // setMana automatically caps at max
-        }
-        if (potion.affects("Strength")) {
-            hero.addStrengthBoost(val);
-            boostMessage.append(" ").append(ConsoleColors.RED).append("Strength Boost!!").append(ConsoleColors.RESET);
-        }
-        if (potion.affects("Dexterity")) {
-            hero.addDexterityBoost(val);
-            boostMessage.append(" ").append(ConsoleColors.PURPLE).append("Dexterity Boost!!").append(ConsoleColors.RESET);
-        }
-        if (potion.affects("Agility")) {
-            hero.addAgilityBoost(val);
-            boostMessage.append(" ").append(ConsoleColors.CYAN).append("Agility Boost!!").append(ConsoleColors.RESET);
+        int rounds = combat.potionBoostRounds();
+        for (int bits = potion.getStatMask(); bits != 0; bits &= bits - 1) {
+            switch (Potion.Stat.fromIndex(Integer.numberOfTrailingZeros(bits))) {
+                case HEALTH:
+                    hero.setHp(hero.getHp() + val); // setHp automatically caps at max
+                    break;
+                case MANA:
+                    hero.setMana(hero.getMana() + val); // setMana automatically caps at max
+                    break;
+                case STRENGTH:
+                    effects.apply(hero, StatusEffects.Kind.STRENGTH, val, rounds);
+                    boostMessage.append(" ").append(ConsoleColors.RED).append("Strength Boost!!").append(ConsoleColors.RESET);
+                    break;
+                case DEXTERITY:
+                    effects.apply(hero, StatusEffects.Kind.DEXTERITY, val, rounds);
+                    boostMessage.append(" ").append(ConsoleColors.PURPLE).append("Dexterity Boost!!").append(ConsoleColors.RESET);
+                    break;
+                case AGILITY:
+                    effects.apply(hero, StatusEffects.Kind.AGILITY, val, rounds);
+                    boostMessage.append(" ").append(ConsoleColors.CYAN).append("Agility Boost!!").append(ConsoleColors.RESET);
+                    break;
+            }
         }
 
+        if (boostMessage.length() > 0) boostMessage.append(" (").append(rounds).append(" rounds)");
         System.out.println(ConsoleColors.GREEN + hero.getName() + " used " + potion.getName() + "!" + ConsoleColors.RESET + boostMessage.toString());
         hero.getInventory().removeItem(potion);
         
@@ -362,44 +498,66 @@ public class BattleController {
         return equipmentChanged;
     }
 
+    /**
+     * Resolves the monster phase as one batch: snapshot hero stats once, draw every roll
+     * for the round up front, simulate all attacks on primitives, then apply the results
+     * to the heroes and print the round's events in a single write.
+     */
     private void processMonstersTurn(Party party, List<Monster> enemies) {
-        for (Monster monster : enemies) {
-            if (monster.isFainted()) continue;
-
-            List<Hero> aliveHeroes = party.getHeroes().stream()
-                    .filter(h -> !h.isFainted())
-                    .collect(Collectors.toList());
+        List<Hero> heroes = party.getHeroes();
+        MonsterRound round = monsterRound;
+
+        round.beginHeroes(heroes.size());
+        for (int h = 0; h < heroes.size(); h++) {
+            Hero hero = heroes.get(h);
+            Armor armor = hero.getEquippedArmor();
+            round.heroHp[h] = hero.getHp();
+            round.heroAgility[h] = hero.getAgility();
+            round.hasArmor[h] = armor != null;
+            if (armor != null) {
+                round.armorBase[h] = armor.getBaseDamageReduction();
+                round.armorDurability[h] = armor.getDurability();
+                round.armorMaxDurability[h] = armor.getMaxDurability();
+            }
+        }
 
-            if (aliveHeroes.isEmpty()) break;
+        round.beginMonsters(enemies.size());
+        for (int i = 0; i < enemies.size(); i++) {
+            Monster monster = enemies.get(i);
+            if (!monster.isFainted()) round.addMonster(i, monster.getBaseDamage());
+        }
+        for (int r = 0; r < round.monsterCount * 2; r++) {
+            round.rolls[r] = rng.nextDouble();
+        }
 
-            Hero target = aliveHeroes.get(rng.nextInt(aliveHeroes.size()));
+        round.resolve(combat);
 
-            //  Hero Dodge Cap increased to 70% 
-            double heroDodgeChance = target.getAgility() / (target.getAgility() + 1000.0);
-            heroDodgeChance = Math.min(0.70, heroDodgeChance);
+        // Apply: final HP and one degrade per armor hit
+        for (int h = 0; h < heroes.size(); h++) {
+            Hero hero = heroes.get(h);
+            if (round.heroHp[h] != hero.getHp()) hero.setHp(round.heroHp[h]);
+            for (int k = 0; k < round.armorHits[h]; k++) hero.getEquippedArmor().degrade();
+        }
 
-            if (rng.nextDouble() < heroDodgeChance) {
-                System.out.println(target.getName() + " dodged " + monster.getName() + "'s attack!");
+        // Emit events in attack order
+        StringBuilder events = new StringBuilder();
+        for (int a = 0; a < round.attackCount; a++) {
+            Monster monster = enemies.get(round.monsterIndex[round.attacker[a]]);
+            Hero target = heroes.get(round.target[a]);
+            if (round.dodged[a]) {
+                events.append(target.getName()).append(" dodged ").append(monster.getName()).append("'s attack!\n");
                 continue;
             }
-
-            double rawDmg = monster.getBaseDamage();
-            double mitigation = (target.getEquippedArmor() != null) ? target.getEquippedArmor().getDamageReduction() : 0;
-            double finalDmg = Math.max(0, rawDmg - (mitigation * 0.2));
-
-            // Silently degrade equipped armor when attacked (even if damage is 0)
-            if (target.getEquippedArmor() != null) {
-                target.getEquippedArmor().degrade();
-            }
-
-            target.setHp(target.getHp() - finalDmg);
-            System.out.printf("%s attacks %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", monster.getName(), target.getName(), finalDmg);
-
-            if (target.isFainted()) {
-                System.out.println(ConsoleColors.RED + target.getName() + " has fainted!" + ConsoleColors.RESET);
+            events.append(monster.getName()).append(" attacks ").append(target.getName()).append(" for ")
+                    .append(ConsoleColors.RED).append(Math.round(round.damage[a])).append(" damage!")
+                    .append(ConsoleColors.RESET).append('\n');
+            if (round.fainted[a]) {
+                events.append(ConsoleColors.RED).append(target.getName()).append(" has fainted!")
+                        .append(ConsoleColors.RESET).append('\n');
                 target.markFaintedInBattle();
             }
         }
+        System.out.print(events);
     }
 
     private void performRegeneration(Party party) {
@@ -411,8 +569,8 @@ public class BattleController {
                 double oldHp = h.getHp();
                 double oldMana = h.getMana();
                 
-                h.setHp(h.getHp() * 1.1);
-                h.setMana(h.getMana() * 1.1);
+                h.setHp(combat.regenerate(h.getHp()));
+                h.setMana(combat.regenerate(h.getMana()));
                 
                 double hpGain = h.getHp() - oldHp;
                 double manaGain = h.getMana() - oldMana;
@@ -451,9 +609,10 @@ public class BattleController {
         
         // Calculate per-hero rewards based on total enemy levels
         double totalLevels = enemies.stream().mapToDouble(Monster::getLevel).sum();
-        double goldPerHero = totalLevels * 100;
-        // More generous XP: 2 XP per enemy level (so level 1 monster = 2 XP, level 2 = 4 XP, etc.)
-        int xpPerHero = (int)(totalLevels * 2);
+        double goldPerHero = combat.battleGold(totalLevels);
+        // XP per enemy level (by default 2, so level 1 monster = 2 XP, level 2 = 4 XP, etc.)
+        int xpPerHero = combat.battleExperience(totalLevels);
+        monstersDefeated += enemies.size();
 
         // First, revive all fainted heroes
         for (Hero h : party.getHeroes()) {
@@ -468,6 +627,7 @@ public class BattleController {
         for (Hero h : party.getHeroes()) {
             if (!h.wasFaintedInBattle()) {
                 h.addMoney(goldPerHero);
+                goldAwarded += (long) goldPerHero;
                 h.gainExperience(xpPerHero);
                 System.out.printf("%s gains " + ConsoleColors.YELLOW + "%.0f gold" + ConsoleColors.RESET + " and " + ConsoleColors.CYAN + "%d XP" + ConsoleColors.RESET + "\n", 
                     h.getName(), goldPerHero, xpPerHero);
@@ -510,13 +670,6 @@ public class BattleController {
         displayHeroInfo(currentHero);
     }
     
-    private boolean promptRestart(Scanner scanner) {
-        String input = common.InputValidator.getValidOption(scanner, 
-            "\n" + utils.ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + utils.ConsoleColors.RESET, 
-            "y", "yes", "n", "no");
-        return input.equals("y") || input.equals("yes");
-    }
-    
     /**
      * Helper method to display hero information with HP, MP, and equipped items.
      * Shows boosted stats with highlighting when active.
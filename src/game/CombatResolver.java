@@ -0,0 +1,133 @@
+package game;
+
+/**
+ * Single source of truth for combat math, shared by the Legends battle screen, Valor and
+ * the simulators. All functions are pure and work on primitive stats, so the same code path
+ * runs for live play and for bulk simulation.
+ *
+ * <p>Randomness is supplied by the caller as pre-drawn rolls in [0, 1); the resolver never
+ * touches an RNG, which keeps it thread-safe and deterministic.</p>
+ */
+public class CombatResolver {
+    private static CombatResolver instance;
+
+    private final CombatRules rules;
+
+    public CombatResolver(CombatRules rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Combat rules cannot be null.");
+        }
+        this.rules = rules;
+    }
+
+    /**
+     * Returns the resolver for live play, loading {@code data/CombatRules.txt} on first use.
+     */
+    public static CombatResolver getInstance() {
+        if (instance == null) {
+            instance = new CombatResolver(CombatRules.load(CombatRules.FILE_NAME));
+        }
+        return instance;
+    }
+
+    public CombatRules getRules() {
+        return rules;
+    }
+
+    // --- Hero -> Monster ---
+
+    /** Damage before the target's defense: (strength + weapon) * scale. */
+    public double heroAttackRaw(double strength, double weaponDamage) {
+        return (strength + weaponDamage) * rules.attackScale;
+    }
+
+    public double heroAttackDamage(double strength, double weaponDamage, double targetDefense) {
+        return Math.max(0, heroAttackRaw(strength, weaponDamage) - targetDefense * rules.defenseMitigation);
+    }
+
+    public double monsterDodgeChance(double dodgeChance) {
+        return Math.min(rules.monsterDodgeCap, dodgeChance);
+    }
+
+    public double spellDamage(double baseDamage, double dexterity) {
+        return baseDamage + (dexterity / rules.spellDexterityDivisor) * baseDamage;
+    }
+
+    public boolean isSpellDodgeable() {
+        return rules.spellDodge;
+    }
+
+    /** Amount a surviving target's stat is reduced by a spell's side effect. */
+    public double spellDebuff(double currentValue) {
+        return currentValue * rules.spellDebuffFraction;
+    }
+
+    /** Rounds a spell's side effect lasts. */
+    public int spellDebuffRounds() {
+        return rules.spellDebuffRounds;
+    }
+
+    /** Rounds a potion's stat boost lasts in battle. */
+    public int potionBoostRounds() {
+        return rules.potionBoostRounds;
+    }
+
+    // --- Monster -> Hero ---
+
+    public double heroDodgeChance(double agility) {
+        return Math.min(rules.heroDodgeCap, agility / (agility + rules.heroDodgePivot));
+    }
+
+    public double monsterAttackDamage(double rawDamage, double armorReduction) {
+        return Math.max(0, rawDamage - armorReduction * rules.armorMitigation);
+    }
+
+    // --- Rewards and pacing ---
+
+    /** Valor gold for killing a monster of {@code level}. */
+    public double killGold(int level) {
+        return rules.killGoldPerLevel * level;
+    }
+
+    /** Valor XP for killing a monster of {@code level}. */
+    public int killExperience(int level) {
+        return (int) (rules.killXpPerLevel * level);
+    }
+
+    /** Legends gold per surviving hero after a battle against {@code totalLevels} of monsters. */
+    public double battleGold(double totalLevels) {
+        return rules.battleGoldPerLevel * totalLevels;
+    }
+
+    /** Legends XP per surviving hero after a battle against {@code totalLevels} of monsters. */
+    public int battleExperience(double totalLevels) {
+        return (int) (rules.battleXpPerLevel * totalLevels);
+    }
+
+    /** True if Valor reinforcements arrive at the end of {@code round}. */
+    public boolean isSpawnRound(int round) {
+        return round % rules.valorSpawnInterval == 0;
+    }
+
+    public int getSpawnInterval() {
+        return rules.valorSpawnInterval;
+    }
+
+    public double getAmbushChance() {
+        return rules.ambushChance;
+    }
+
+    // --- Misc ---
+
+    public double regenerate(double value) {
+        return value * rules.regenFactor;
+    }
+
+    public double getRegenFactor() {
+        return rules.regenFactor;
+    }
+
+    public static boolean dodged(double chance, double roll) {
+        return roll < chance;
+    }
+}
@@ -0,0 +1,159 @@
+package game;
+
+import utils.GameDataLoader;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of combat and pacing tuning parameters.
+ * Values come from {@code data/CombatRules.txt}; any key missing from the file keeps the
+ * default listed in {@link #DEFAULTS}, which reproduces the classic battle formulas.
+ */
+public final class CombatRules {
+
+    public static final String FILE_NAME = "CombatRules.txt";
+
+    private static final Map<String, Double> DEFAULTS;
+    static {
+        Map<String, Double> d = new LinkedHashMap<>();
+        d.put("attack_scale", 0.05);            // (strength + weapon) multiplier
+        d.put("defense_mitigation", 0.05);      // Monster defense subtracted per point
+        d.put("monster_dodge_cap", 0.20);
+        d.put("spell_dexterity_divisor", 10000.0);
+        d.put("spell_dodge", 0.0);              // 1 = spells can be dodged like attacks
+        d.put("spell_debuff_fraction", 0.1);    // Ice/Fire/Lightning side effect strength
+        d.put("spell_debuff_rounds", 3.0);      // Rounds a spell side effect lasts
+        d.put("potion_boost_rounds", 3.0);      // Rounds a battle potion's stat boost lasts
+        d.put("hero_dodge_pivot", 1000.0);      // agility / (agility + pivot)
+        d.put("hero_dodge_cap", 0.70);
+        d.put("armor_mitigation", 0.2);         // Armor reduction subtracted per point
+        d.put("regen_factor", 1.1);
+        d.put("kill_gold_per_level", 500.0);    // Valor: gold for the final blow, per monster level
+        d.put("kill_xp_per_level", 2.0);
+        d.put("battle_gold_per_level", 100.0);  // Legends: gold per hero, per total enemy level
+        d.put("battle_xp_per_level", 2.0);
+        d.put("valor_spawn_interval", 8.0);     // Rounds between Valor reinforcement waves
+        d.put("ambush_chance", 0.50);           // Legends: chance of a battle per step on common ground
+        DEFAULTS = Collections.unmodifiableMap(d);
+    }
+
+    private final Map<String, Double> values;
+
+    final double attackScale;
+    final double defenseMitigation;
+    final double monsterDodgeCap;
+    final double spellDexterityDivisor;
+    final boolean spellDodge;
+    final double spellDebuffFraction;
+    final int spellDebuffRounds;
+    final int potionBoostRounds;
+    final double heroDodgePivot;
+    final double heroDodgeCap;
+    final double armorMitigation;
+    final double regenFactor;
+    final double killGoldPerLevel;
+    final double killXpPerLevel;
+    final double battleGoldPerLevel;
+    final double battleXpPerLevel;
+    final int valorSpawnInterval;
+    final double ambushChance;
+
+    /**
+     * @param overrides Entries replacing the defaults. Unknown keys are rejected.
+     */
+    public CombatRules(Map<String, Double> overrides) {
+        Map<String, Double> merged = new LinkedHashMap<>(DEFAULTS);
+        for (Map.Entry<String, Double> e : overrides.entrySet()) {
+            if (!DEFAULTS.containsKey(e.getKey())) {
+                throw new IllegalArgumentException("Unknown combat rule: " + e.getKey());
+            }
+            merged.put(e.getKey(), e.getValue());
+        }
+        this.values = Collections.unmodifiableMap(merged);
+
+        this.attackScale = merged.get("attack_scale");
+        this.defenseMitigation = merged.get("defense_mitigation");
+        this.monsterDodgeCap = merged.get("monster_dodge_cap");
+        this.spellDexterityDivisor = merged.get("spell_dexterity_divisor");
+        this.spellDodge = merged.get("spell_dodge") != 0;
+        this.spellDebuffFraction = merged.get("spell_debuff_fraction");
+        this.spellDebuffRounds = (int) Math.round(merged.get("spell_debuff_rounds"));
+        this.potionBoostRounds = (int) Math.round(merged.get("potion_boost_rounds"));
+        this.heroDodgePivot = merged.get("hero_dodge_pivot");
+        this.heroDodgeCap = merged.get("hero_dodge_cap");
+        this.armorMitigation = merged.get("armor_mitigation");
+        this.regenFactor = merged.get("regen_factor");
+        this.killGoldPerLevel = merged.get("kill_gold_per_level");
+        this.killXpPerLevel = merged.get("kill_xp_per_level");
+        this.battleGoldPerLevel = merged.get("battle_gold_per_level");
+        this.battleXpPerLevel = merged.get("battle_xp_per_level");
+        this.valorSpawnInterval = (int) Math.round(merged.get("valor_spawn_interval"));
+        this.ambushChance = merged.get("ambush_chance");
+
+        if (spellDexterityDivisor <= 0 || heroDodgePivot <= 0) {
+            throw new IllegalArgumentException("Divisors in combat rules must be positive.");
+        }
+        if (spellDebuffRounds < 1 || potionBoostRounds < 1) {
+            throw new IllegalArgumentException("Effect durations in combat rules must be at least one round.");
+        }
+        if (valorSpawnInterval < 1) {
+            throw new IllegalArgumentException("The Valor spawn interval must be at least one round.");
+        }
+        if (ambushChance < 0 || ambushChance > 1) {
+            throw new IllegalArgumentException("The ambush chance must be between 0 and 1.");
+        }
+    }
+
+    public static CombatRules defaults() {
+        return new CombatRules(Collections.<String, Double>emptyMap());
+    }
+
+    /**
+     * Loads the rule table from the data directory, falling back to defaults for missing keys.
+     * Unknown keys are reported and ignored so a stale file never stops the game.
+     */
+    public static CombatRules load(String fileName) {
+        Map<String, Double> table = GameDataLoader.loadNumberTable(fileName);
+        Map<String, Double> known = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> e : table.entrySet()) {
+            if (DEFAULTS.containsKey(e.getKey())) {
+                known.put(e.getKey(), e.getValue());
+            } else {
+                System.err.println("Ignoring unknown combat rule in " + fileName + ": " + e.getKey());
+            }
+        }
+        return new CombatRules(known);
+    }
+
+    /**
+     * Returns a copy with one parameter changed.
+     */
+    public CombatRules with(String key, double value) {
+        Map<String, Double> copy = new LinkedHashMap<>(values);
+        copy.put(key, value);
+        return new CombatRules(copy);
+    }
+
+    /** Every tunable key, in file order. */
+    public static Set<String> keys() {
+        return DEFAULTS.keySet();
+    }
+
+    public double get(String key) {
+        Double v = values.get(key);
+        if (v == null) throw new IllegalArgumentException("Unknown combat rule: " + key);
+        return v;
+    }
+
+    public Map<String, Double> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "CombatRules" + values;
+    }
+}
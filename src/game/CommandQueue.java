@@ -0,0 +1,49 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer / single-consumer queue of encoded commands.
+ * The input thread offers, the game loop polls; neither side locks or allocates.
+ */
+final class CommandQueue {
+    static final int EMPTY = -1;
+
+    private final int[] buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Next slot to read (consumer)
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write (producer)
+
+    /**
+     * @param capacity Rounded up to a power of two.
+     */
+    CommandQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity));
+        if (size < capacity) size <<= 1;
+        this.buffer = new int[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param command A non-negative encoded command.
+     * @return false if the queue is full.
+     */
+    boolean offer(int command) {
+        long t = tail.get();
+        if (t - head.get() == buffer.length) return false;
+        buffer[(int) t & mask] = command;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * @return The oldest command, or {@link #EMPTY}.
+     */
+    int poll() {
+        long h = head.get();
+        if (h == tail.get()) return EMPTY;
+        int command = buffer[(int) h & mask];
+        head.lazySet(h + 1);
+        return command;
+    }
+}
@@ -0,0 +1,303 @@
+package game;
+
+import entities.Hero;
+import entities.Monster;
+import items.Armor;
+import items.Weapon;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Memoized outcome distributions for fast-forwarded Legends encounters.
+ *
+ * <p>An encounter is described by a quantized signature of the party (per hero: class, level,
+ * HP, strength, agility, weapon and armor with their durability) and of the enemies (sorted
+ * HP, damage, defense and dodge). Battles with the same signature are, for auto-battle
+ * purposes, the same battle. The first time a signature is seen, {@link #SAMPLES} battles are
+ * simulated from the signature's representative values and stored. Every later encounter draws
+ * one of those samples with the caller's RNG, so lookups cost a map probe and
+ * the outcome still varies from fight to fight.</p>
+ *
+ * <p>The simulation follows {@link BattleController}: heroes hit the weakest monster with their
+ * weapon, the monster phase is resolved by {@link MonsterRound}, then regeneration and weapon
+ * wear happen. Spells and potions are never used. Spells are consumed on use in this game,
+ * and an auto-battle should not spend the inventory. A battle still running after
+ * {@link #MAX_ROUNDS} rounds counts as a defeat.</p>
+ *
+ * <p>Least recently used signatures are evicted past the capacity. Not thread-safe; each
+ * controller owns its cache.</p>
+ */
+public final class EncounterCache {
+    public static final int SAMPLES = 32;
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int MAX_ROUNDS = 200;
+
+    // Quantization steps; anything within one step shares an entry
+    private static final double HP_STEP = 10;
+    private static final double STAT_STEP = 10;
+    private static final double GEAR_STEP = 5;
+    private static final double DURABILITY_STEP = 10;
+    private static final double DODGE_STEP = 0.01;
+
+    /**
+     * Sampled results for one signature, hero-major within each sample.
+     */
+    public static final class Outcomes {
+        private final int heroes;
+        private final boolean[] won = new boolean[SAMPLES];
+        private final int[] rounds = new int[SAMPLES];
+        private final double[] hp;          // Hero HP at the end; 0 means fainted during the battle
+        private final int[] regenRounds;    // Regeneration phases the hero took part in (weapon wear, mana)
+        private final int[] armorHits;
+        // HP the simulated heroes started with, to scale the sampled HP onto the real ones
+        private final double[] startHp;
+
+        Outcomes(int heroes) {
+            this.heroes = heroes;
+            this.hp = new double[SAMPLES * heroes];
+            this.regenRounds = new int[SAMPLES * heroes];
+            this.armorHits = new int[SAMPLES * heroes];
+            this.startHp = new double[heroes];
+        }
+
+        public double winRate() {
+            int wins = 0;
+            for (boolean w : won) {
+                if (w) wins++;
+            }
+            return (double) wins / SAMPLES;
+        }
+    }
+
+    /** One drawn sample, applied to the real party by the controller. */
+    public static final class Sample {
+        private final Outcomes outcomes;
+        private final int index;
+
+        Sample(Outcomes outcomes, int index) {
+            this.outcomes = outcomes;
+            this.index = index;
+        }
+
+        public boolean isWon() { return outcomes.won[index]; }
+        public int getRounds() { return outcomes.rounds[index]; }
+
+        /** End HP for hero {@code h}, scaled from the simulated start HP onto {@code startHp}. */
+        public double getHp(int h, double startHp) {
+            double simulated = outcomes.hp[index * outcomes.heroes + h];
+            double from = outcomes.startHp[h];
+            return (simulated <= 0 || from <= 0) ? 0 : simulated * startHp / from;
+        }
+
+        public int getRegenRounds(int h) { return outcomes.regenRounds[index * outcomes.heroes + h]; }
+        public int getArmorHits(int h) { return outcomes.armorHits[index * outcomes.heroes + h]; }
+    }
+
+    private final CombatResolver combat;
+    private final Map<String, Outcomes> entries;
+    private final MonsterRound monsterRound = new MonsterRound();
+    private long hits, misses;
+
+    public EncounterCache(CombatResolver combat) {
+        this(combat, DEFAULT_CAPACITY);
+    }
+
+    public EncounterCache(CombatResolver combat, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Encounter cache capacity must be at least 1.");
+        }
+        this.combat = combat;
+        this.entries = new LinkedHashMap<String, Outcomes>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Outcomes> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public int size() { return entries.size(); }
+
+    /**
+     * Draws the result of {@code heroes} fighting {@code enemies} from the current state.
+     * A miss simulates the signature first, seeded from {@code seed} so seeded sessions replay.
+     *
+     * @param roll Uniform roll in [0, 1) that picks the sample.
+     * @param seed Seed for the simulation on a miss; ignored on a hit.
+     */
+    public Sample resolve(List<Hero> heroes, List<Monster> enemies, double roll, long seed) {
+        String key = signature(heroes, enemies);
+        Outcomes outcomes = entries.get(key);
+        if (outcomes == null) {
+            misses++;
+            outcomes = simulate(heroes, enemies, new SplittableRandom(seed));
+            entries.put(key, outcomes);
+        } else {
+            hits++;
+        }
+        return new Sample(outcomes, Math.min((int) (roll * SAMPLES), SAMPLES - 1));
+    }
+
+    static String signature(List<Hero> heroes, List<Monster> enemies) {
+        StringBuilder key = new StringBuilder(32 * (heroes.size() + enemies.size()));
+        for (Hero h : heroes) {
+            Weapon w = h.getEquippedWeapon();
+            Armor a = h.getEquippedArmor();
+            key.append(h.getType().ordinal()).append(',').append(h.getLevel())
+                    .append(',').append(bucket(h.getHp(), HP_STEP))
+                    .append(',').append(bucket(h.getStrength(), STAT_STEP))
+                    .append(',').append(bucket(h.getAgility(), STAT_STEP))
+                    .append(',').append(w == null ? -1 : bucket(w.getBaseDamage(), GEAR_STEP))
+                    .append(',').append(w == null ? -1 : bucket(w.getDurability(), DURABILITY_STEP))
+                    .append(',').append(a == null ? -1 : bucket(a.getBaseDamageReduction(), GEAR_STEP))
+                    .append(',').append(a == null ? -1 : bucket(a.getDurability(), DURABILITY_STEP))
+                    .append(';');
+        }
+        key.append('|');
+        // Monsters are interchangeable up to their stats, so their order does not matter
+        long[][] monsters = new long[enemies.size()][];
+        for (int i = 0; i < monsters.length; i++) {
+            Monster m = enemies.get(i);
+            monsters[i] = new long[]{bucket(m.getHp(), HP_STEP), bucket(m.getBaseDamage(), STAT_STEP),
+                    bucket(m.getDefense(), STAT_STEP), bucket(m.getDodgeChance(), DODGE_STEP)};
+        }
+        Arrays.sort(monsters, (x, y) -> {
+            for (int k = 0; k < x.length; k++) {
+                int c = Long.compare(x[k], y[k]);
+                if (c != 0) return c;
+            }
+            return 0;
+        });
+        for (long[] m : monsters) {
+            key.append(m[0]).append(',').append(m[1]).append(',').append(m[2]).append(',').append(m[3]).append(';');
+        }
+        return key.toString();
+    }
+
+    private static long bucket(double value, double step) {
+        return Math.round(value / step);
+    }
+
+    /** Plays {@link #SAMPLES} battles from the signature's representative values. */
+    private Outcomes simulate(List<Hero> party, List<Monster> enemies, SplittableRandom rng) {
+        int n = party.size();
+        Outcomes out = new Outcomes(n);
+        double[] maxHp = new double[n], hp0 = new double[n], strength = new double[n], agility = new double[n];
+        double[] weaponBase = new double[n], weaponDurability0 = new double[n];
+        double[] armorBase = new double[n], armorDurability0 = new double[n];
+        for (int h = 0; h < n; h++) {
+            Hero hero = party.get(h);
+            Weapon w = hero.getEquippedWeapon();
+            Armor a = hero.getEquippedArmor();
+            maxHp[h] = hero.getMaxHp();
+            hp0[h] = Math.min(maxHp[h], bucket(hero.getHp(), HP_STEP) * HP_STEP);
+            strength[h] = bucket(hero.getStrength(), STAT_STEP) * STAT_STEP;
+            agility[h] = bucket(hero.getAgility(), STAT_STEP) * STAT_STEP;
+            weaponBase[h] = (w == null) ? 0 : bucket(w.getBaseDamage(), GEAR_STEP) * GEAR_STEP;
+            weaponDurability0[h] = (w == null) ? 0 : bucket(w.getDurability(), DURABILITY_STEP) * DURABILITY_STEP;
+            armorBase[h] = (a == null) ? 0 : bucket(a.getBaseDamageReduction(), GEAR_STEP) * GEAR_STEP;
+            armorDurability0[h] = (a == null) ? 0 : bucket(a.getDurability(), DURABILITY_STEP) * DURABILITY_STEP;
+            out.startHp[h] = hp0[h];
+        }
+        int m = enemies.size();
+        double[] monsterHp0 = new double[m], damage = new double[m], defense = new double[m], dodge = new double[m];
+        for (int i = 0; i < m; i++) {
+            Monster monster = enemies.get(i);
+            monsterHp0[i] = bucket(monster.getHp(), HP_STEP) * HP_STEP;
+            damage[i] = bucket(monster.getBaseDamage(), STAT_STEP) * STAT_STEP;
+            defense[i] = bucket(monster.getDefense(), STAT_STEP) * STAT_STEP;
+            dodge[i] = combat.monsterDodgeChance(bucket(monster.getDodgeChance(), DODGE_STEP) * DODGE_STEP);
+        }
+
+        double[] hp = new double[n], weaponDurability = new double[n], armorDurability = new double[n];
+        boolean[] hasWeapon = new boolean[n], hasArmor = new boolean[n];
+        double[] monsterHp = new double[m];
+        MonsterRound round = monsterRound;
+        for (int s = 0; s < SAMPLES; s++) {
+            int base = s * n;
+            for (int h = 0; h < n; h++) {
+                hp[h] = hp0[h];
+                weaponDurability[h] = weaponDurability0[h];
+                armorDurability[h] = armorDurability0[h];
+                hasWeapon[h] = party.get(h).getEquippedWeapon() != null;
+                hasArmor[h] = party.get(h).getEquippedArmor() != null;
+            }
+            System.arraycopy(monsterHp0, 0, monsterHp, 0, m);
+
+            boolean won = false;
+            int r = 1;
+            for (; r <= MAX_ROUNDS; r++) {
+                for (int h = 0; h < n; h++) {
+                    if (hp[h] <= 0) continue;
+                    int target = weakest(monsterHp);
+                    if (target < 0) break;
+                    if (CombatResolver.dodged(dodge[target], rng.nextDouble())) continue;
+                    double weapon = hasWeapon[h] ? Weapon.damageAt(weaponBase[h], weaponDurability[h], 100) : 0;
+                    monsterHp[target] = Math.max(0, monsterHp[target] - combat.heroAttackDamage(strength[h], weapon, defense[target]));
+                }
+                if (weakest(monsterHp) < 0) {
+                    won = true;
+                    break;
+                }
+
+                round.beginHeroes(n);
+                for (int h = 0; h < n; h++) {
+                    round.heroHp[h] = hp[h];
+                    round.heroAgility[h] = agility[h];
+                    round.hasArmor[h] = hasArmor[h];
+                    round.armorBase[h] = armorBase[h];
+                    round.armorDurability[h] = armorDurability[h];
+                    round.armorMaxDurability[h] = 100;
+                }
+                round.beginMonsters(m);
+                for (int i = 0; i < m; i++) {
+                    if (monsterHp[i] > 0) round.addMonster(i, damage[i]);
+                }
+                for (int k = 0; k < round.monsterCount * 2; k++) {
+                    round.rolls[k] = rng.nextDouble();
+                }
+                round.resolve(combat);
+                boolean anyAlive = false;
+                for (int h = 0; h < n; h++) {
+                    hp[h] = round.heroHp[h];
+                    armorDurability[h] = round.armorDurability[h];
+                    out.armorHits[base + h] += round.armorHits[h];
+                    if (hp[h] > 0) anyAlive = true;
+                }
+                if (!anyAlive) break;
+
+                // Regeneration, weapon wear and broken gear, as in performRegeneration
+                for (int h = 0; h < n; h++) {
+                    if (hp[h] <= 0) continue;
+                    hp[h] = Math.min(maxHp[h], combat.regenerate(hp[h]));
+                    out.regenRounds[base + h]++;
+                    if (hasWeapon[h]) {
+                        weaponDurability[h] = Weapon.degradedDurability(weaponDurability[h]);
+                        if (weaponDurability[h] <= 0) hasWeapon[h] = false;
+                    }
+                    if (hasArmor[h] && armorDurability[h] <= 0) hasArmor[h] = false;
+                }
+            }
+
+            out.won[s] = won;
+            out.rounds[s] = Math.min(r, MAX_ROUNDS);
+            for (int h = 0; h < n; h++) {
+                out.hp[base + h] = won ? hp[h] : 0;
+            }
+        }
+        return out;
+    }
+
+    private static int weakest(double[] monsterHp) {
+        int pick = -1;
+        for (int i = 0; i < monsterHp.length; i++) {
+            if (monsterHp[i] > 0 && (pick < 0 || monsterHp[i] < monsterHp[pick])) pick = i;
+        }
+        return pick;
+    }
+}
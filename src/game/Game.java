@@ -1,5 +1,7 @@
 package game;
 
+import common.GameMetrics;
+
 import java.util.Scanner;
 
 /**
@@ -7,6 +9,9 @@ import java.util.Scanner;
  * Uses the Template Method Design Pattern to define the immutable structure of a game cycle.
  *
  * <p>Responsibility: Orchestrate the high-level game flow (Setup -> Loop -> Teardown).</p>
+ *
+ * <p>An instance can be played any number of times: static data (catalogs) loaded by the
+ * first session is kept, and per-session state is dropped in {@link #releaseSession()}.</p>
  */
 public abstract class Game {
 
@@ -18,6 +23,8 @@ public abstract class Game {
      */
     public final void play(Scanner scanner) {
         System.out.println("Initializing Game Engine...");
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.reset();
 
         // Configuration & Setup
         initializeGame(scanner);
@@ -31,7 +38,9 @@ public abstract class Game {
             }
 
             // Execute a single turn
+            metrics.beginTurn();
             processTurn(scanner);
+            metrics.endTurn();
 
             // Check if user quit or game ended during the turn
             if (shouldQuit()) {
@@ -40,7 +49,9 @@ public abstract class Game {
         }
 
         // Cleanup & Final Stats
+        metrics.writeReport(getClass().getSimpleName());
         endGame();
+        releaseSession();
     }
 
     // --- Abstract Hooks (To be implemented by LegendsGame) ---
@@ -71,4 +82,11 @@ public abstract class Game {
      * Displays final score, goodbye messages, or cleanup logic.
      */
     protected abstract void endGame();
+
+    /**
+     * Drops per-session state (board, party, live monsters) so it can be collected while the
+     * player is back in the menu. Loaded catalogs stay for the next session.
+     */
+    protected void releaseSession() {
+    }
 }
\ No newline at end of file
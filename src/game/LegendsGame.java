@@ -1,8 +1,18 @@
 package game;
 
 import board.Cell;
+import board.CellType;
 import board.LegendsBoard;
+import board.BoardPool;
+import board.Pathfinder;
+import board.WorldGenerator;
+import common.GameMetrics;
+import common.GamePhase;
 import common.InputValidator;
+import common.Leaderboard;
+import common.RandomGenerator;
+import common.ScriptInput;
+import common.ScriptRunner;
 import entities.Hero;
 import entities.Hero.HeroType;
 import entities.Monster;
@@ -13,8 +23,12 @@ import items.Weapon;
 import items.Armor;
 import items.Potion;
 import items.Spell;
+import persistence.HeroProfile;
+import persistence.ProfileStore;
 import utils.GameDataLoader;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -25,8 +39,11 @@ import utils.ConsoleColors;
 public class LegendsGame extends Game {
 
     private LegendsBoard board;
+    private Pathfinder pathfinder;
+    // Outlives sessions: the next board of the last size is generated while this one is played
+    private BoardPool boardPool;
     private Party party;
-    private final Random random = new Random();
+    private final Random random = RandomGenerator.getInstance().getRandom();
     private boolean quitGame = false;
 
     private boolean skipNextRender = false;
@@ -39,15 +56,40 @@ public class LegendsGame extends Game {
     private List<Hero> availablePaladins;
     private List<Monster> allMonsters;
 
+    // Saved parties (-Dlegends.profiles=DIR); opened on the first session, null when disabled
+    private final String profileDir;
+    private ProfileStore profiles;
+    private String profileName;
+    private final boolean autoBattle;
 
+    public LegendsGame() {
+        this(null);
+    }
+
+    public LegendsGame(String profileDir) {
+        this(profileDir, false);
+    }
+
+    /**
+     * @param profileDir Directory of the profile store, or null to play without saved parties.
+     * @param autoBattle Fast-forward every encounter instead of fighting it round by round.
+     */
+    public LegendsGame(String profileDir, boolean autoBattle) {
+        this.profileDir = profileDir;
+        this.autoBattle = autoBattle;
+    }
 
     @Override
     protected void initializeGame(Scanner scanner) {
         System.out.println(ConsoleColors.CYAN + "Loading Game Data..." + ConsoleColors.RESET);
         loadAssets();
 
+        // Market stock is per session; the battle controller only holds the monster catalog
         this.marketController = new MarketController();
-        this.battleController = new BattleController(allMonsters);
+        if (battleController == null) {
+            this.battleController = new BattleController(allMonsters);
+            battleController.setAutoBattle(autoBattle);
+        }
 
         setupNewSession(scanner);
     }
@@ -57,7 +99,19 @@ public class LegendsGame extends Game {
 
         System.out.println("\n" + ConsoleColors.YELLOW + "--- World Generation ---" + ConsoleColors.RESET);
         int boardSize = InputValidator.getValidInt(scanner, "Enter board size (4-20): ", 4, 20);
-        this.board = new LegendsBoard(boardSize);
+        if (boardPool == null) {
+            boardPool = new BoardPool(new WorldGenerator(), 1, RandomGenerator.getInstance().nextLong());
+        }
+        this.board = boardPool.take(boardSize);
+        this.pathfinder = new Pathfinder(board);
+        battleController.resetTally();
+
+        if (loadProfile(scanner)) {
+            this.board.setParty(party);
+            registerProbes();
+            System.out.println(ConsoleColors.GREEN + "\nThe party returns to the world..." + ConsoleColors.RESET);
+            return;
+        }
 
         System.out.println("\n" + ConsoleColors.YELLOW + "--- Hero Selection ---" + ConsoleColors.RESET);
         int partySize = InputValidator.getValidInt(scanner, "Enter party size (1-3): ", 1, 3);
@@ -68,24 +122,112 @@ public class LegendsGame extends Game {
             Hero selectedHero = selectHero(scanner);
             if (selectedHero == null) {
                 quitGame = true;
+                profileName = null; // Nothing worth saving yet
                 return;
             }
             party.addHero(selectedHero);
         }
 
         this.board.setParty(party);
+        registerProbes();
         System.out.println(ConsoleColors.GREEN + "\nThe party enters the world..." + ConsoleColors.RESET);
     }
 
+    /**
+     * Asks for a profile name when saved parties are enabled, and restores that party if the
+     * player wants it back. The name is remembered so {@link #endGame} saves under it.
+     *
+     * @return true if {@link #party} was restored.
+     */
+    private boolean loadProfile(Scanner scanner) {
+        profileName = null;
+        if (profileDir == null) return false;
+        try {
+            if (profiles == null) profiles = new ProfileStore(Paths.get(profileDir));
+        } catch (IOException e) {
+            System.out.println(ConsoleColors.RED + "Saved parties unavailable: " + e.getMessage() + ConsoleColors.RESET);
+            return false;
+        }
+
+        System.out.println("\n" + ConsoleColors.YELLOW + "--- Profile ---" + ConsoleColors.RESET);
+        profileName = InputValidator.getValidString(scanner, "Profile name: ");
+        byte[] saved;
+        try {
+            saved = profiles.get(profileName);
+        } catch (IOException e) {
+            System.out.println(ConsoleColors.RED + "Could not read profile: " + e.getMessage() + ConsoleColors.RESET);
+            return false;
+        }
+        if (saved == null) {
+            System.out.println("New profile. Recruit your party.");
+            return false;
+        }
+        if (InputValidator.getValidOption(scanner, "Continue with the saved party? (y/n): ", "y", "n").equals("n")) {
+            return false;
+        }
+        this.party = new Party();
+        for (Hero h : HeroProfile.decode(saved)) {
+            party.addHero(h);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the party back to its profile; fainted heroes are saved as they are.
+     */
+    private void saveProfile() {
+        if (profiles == null || profileName == null || party == null) return;
+        try {
+            profiles.put(profileName, HeroProfile.encode(party));
+            System.out.println(ConsoleColors.GREEN + "Party saved to profile '" + profileName + "'." + ConsoleColors.RESET);
+        } catch (IOException e) {
+            System.out.println(ConsoleColors.RED + "Could not save profile: " + e.getMessage() + ConsoleColors.RESET);
+        }
+    }
+
+    /**
+     * Closes the profile store if a session opened one. The store drops its empty active
+     * segment on close, so skipping this leaves an empty segment file behind on every run.
+     */
+    public void close() {
+        if (profiles == null) return;
+        try {
+            profiles.close();
+        } catch (IOException e) {
+            System.out.println(ConsoleColors.RED + "Could not close saved parties: " + e.getMessage() + ConsoleColors.RESET);
+        }
+        profiles = null;
+    }
+
+    /**
+     * Publishes state for {@code @assert} lines in recorded scripts (see ScriptInput).
+     */
+    private void registerProbes() {
+        ScriptInput.registerProbe("row", party::getRow);
+        ScriptInput.registerProbe("col", party::getCol);
+        ScriptInput.registerProbe("fainted", () -> party.getHeroes().stream().filter(Hero::isFainted).count());
+        ScriptInput.registerProbe("gold", () -> party.getHeroes().stream().mapToDouble(Hero::getMoney).sum());
+        List<Hero> heroes = party.getHeroes();
+        for (int i = 0; i < heroes.size(); i++) {
+            Hero h = heroes.get(i);
+            ScriptInput.registerProbe("hero" + (i + 1) + ".hp", h::getHp);
+            ScriptInput.registerProbe("hero" + (i + 1) + ".level", h::getLevel);
+        }
+    }
+
     private void loadAssets() {
+        // Heroes level up and leave the roster when picked, so every session gets fresh ones
         availableWarriors = GameDataLoader.loadHeroes("Warriors.txt", HeroType.WARRIOR);
         availableSorcerers = GameDataLoader.loadHeroes("Sorcerers.txt", HeroType.SORCERER);
         availablePaladins = GameDataLoader.loadHeroes("Paladins.txt", HeroType.PALADIN);
 
-        allMonsters = new ArrayList<>();
-        allMonsters.addAll(GameDataLoader.loadMonsters("Dragons.txt", MonsterType.DRAGON));
-        allMonsters.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", MonsterType.EXOSKELETON));
-        allMonsters.addAll(GameDataLoader.loadMonsters("Spirits.txt", MonsterType.SPIRIT));
+        // Monster templates are never modified, so they are loaded once per game instance
+        if (allMonsters == null) {
+            allMonsters = new ArrayList<>();
+            allMonsters.addAll(GameDataLoader.loadMonsters("Dragons.txt", MonsterType.DRAGON));
+            allMonsters.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", MonsterType.EXOSKELETON));
+            allMonsters.addAll(GameDataLoader.loadMonsters("Spirits.txt", MonsterType.SPIRIT));
+        }
 
         if (availableWarriors.isEmpty() && availableSorcerers.isEmpty() && availablePaladins.isEmpty()) {
             throw new RuntimeException("CRITICAL ERROR: No heroes could be loaded. Check data/ directory.");
@@ -130,26 +272,38 @@ public class LegendsGame extends Game {
     @Override
     protected void processTurn(Scanner scanner) {
         if (quitGame) return;
-
-        if (!skipNextRender) {
-            board.printBoard();
-            printDashboard();
-            printControls();
+        GameMetrics metrics = GameMetrics.getInstance();
+
+        if (!skipNextRender && !ScriptRunner.isTurbo()) {
+            metrics.begin(GamePhase.RENDER);
+            try {
+                board.printBoard();
+                printDashboard();
+                printControls();
+            } finally {
+                metrics.end();
+            }
         }
         skipNextRender = false;
 
-        String input = InputValidator.getValidOption(scanner, "Action: ", "w", "a", "s", "d", "m", "i", "q");
-
-        switch (input) {
-            case "w": moveParty(scanner, -1, 0); break;
-            case "a": moveParty(scanner, 0, -1); break;
-            case "s": moveParty(scanner, 1, 0); break;
-            case "d": moveParty(scanner, 0, 1); break;
-            case "m": handleMarketInteraction(scanner); break;
-            case "i":
-                showDetailedInfo(scanner);
-                break;
-            case "q": quitGame = true; break;
+        metrics.begin(GamePhase.HERO_RULES);
+        try {
+            String input = InputValidator.getValidOption(scanner, "Action: ", "w", "a", "s", "d", "g", "m", "i", "q");
+
+            switch (input) {
+                case "w": moveParty(scanner, -1, 0); break;
+                case "a": moveParty(scanner, 0, -1); break;
+                case "s": moveParty(scanner, 1, 0); break;
+                case "d": moveParty(scanner, 0, 1); break;
+                case "g": walkToNearestMarket(scanner); break;
+                case "m": handleMarketInteraction(scanner); break;
+                case "i":
+                    showDetailedInfo(scanner);
+                    break;
+                case "q": quitGame = true; break;
+            }
+        } finally {
+            metrics.end();
         }
     }
 
@@ -171,37 +325,76 @@ public class LegendsGame extends Game {
     }
 
     private void printControls() {
-        System.out.println(" CONTROLS: [" + ConsoleColors.YELLOW + "W" + ConsoleColors.RESET + "]Up [" + ConsoleColors.YELLOW + "A" + ConsoleColors.RESET + "]Left [" + ConsoleColors.YELLOW + "S" + ConsoleColors.RESET + "]Down [" + ConsoleColors.YELLOW + "D" + ConsoleColors.RESET + "]Right  [" + ConsoleColors.YELLOW + "M" + ConsoleColors.RESET + "]Market [" + ConsoleColors.YELLOW + "I" + ConsoleColors.RESET + "]Info [" + ConsoleColors.YELLOW + "Q" + ConsoleColors.RESET + "]Quit");
+        System.out.println(" CONTROLS: [" + ConsoleColors.YELLOW + "W" + ConsoleColors.RESET + "]Up [" + ConsoleColors.YELLOW + "A" + ConsoleColors.RESET + "]Left [" + ConsoleColors.YELLOW + "S" + ConsoleColors.RESET + "]Down [" + ConsoleColors.YELLOW + "D" + ConsoleColors.RESET + "]Right [" + ConsoleColors.YELLOW + "G" + ConsoleColors.RESET + "]Go to market  [" + ConsoleColors.YELLOW + "M" + ConsoleColors.RESET + "]Market [" + ConsoleColors.YELLOW + "I" + ConsoleColors.RESET + "]Info [" + ConsoleColors.YELLOW + "Q" + ConsoleColors.RESET + "]Quit");
         System.out.println("--------------------------------------------------------------");
     }
 
-    private void moveParty(Scanner scanner, int dRow, int dCol) {
+    /**
+     * @return true if the move triggered a battle.
+     */
+    private boolean moveParty(Scanner scanner, int dRow, int dCol) {
         int newRow = party.getRow() + dRow;
         int newCol = party.getCol() + dCol;
 
         if (!board.isValidCoordinate(newRow, newCol)) {
             System.out.println(ConsoleColors.RED + "You cannot move off the edge of the world!" + ConsoleColors.RESET);
-            return;
+            return false;
         }
 
         Cell targetCell = board.getCell(newRow, newCol);
         if (!targetCell.isAccessible()) {
             System.out.println(ConsoleColors.RED + "That path is blocked (Inaccessible)." + ConsoleColors.RESET);
-            return;
+            return false;
         }
 
         party.setLocation(newRow, newCol);
 
         if (targetCell.isCommon()) {
-            checkForBattle(scanner);
+            return checkForBattle(scanner);
+        }
+        return false;
+    }
+
+    /**
+     * Walks the party one cell at a time along the cached market distance field. Every step
+     * can still trigger an ambush; the walk stops after a battle.
+     */
+    private void walkToNearestMarket(Scanner scanner) {
+        Pathfinder.DistanceField field = pathfinder.fieldToType(CellType.MARKET);
+        int distance = field.distance(party.getRow(), party.getCol());
+        if (distance == 0) {
+            System.out.println(ConsoleColors.YELLOW + "You are already standing on a market." + ConsoleColors.RESET);
+            return;
+        }
+        if (distance == Pathfinder.UNREACHABLE) {
+            System.out.println(ConsoleColors.RED + "No market can be reached from here." + ConsoleColors.RESET);
+            return;
+        }
+
+        System.out.println(ConsoleColors.CYAN + "Heading for the nearest market (" + distance + (distance == 1 ? " step" : " steps") + ")..." + ConsoleColors.RESET);
+        int next;
+        while (!quitGame && (next = field.nextStep(party.getRow(), party.getCol())) >= 0) {
+            int dRow = next / board.getWidth() - party.getRow();
+            int dCol = next % board.getWidth() - party.getCol();
+            if (moveParty(scanner, dRow, dCol)) return;
+        }
+        if (board.getCell(party.getRow(), party.getCol()).isMarket()) {
+            System.out.println(ConsoleColors.GREEN + "The party arrives at a market. Press [M] to trade." + ConsoleColors.RESET);
         }
     }
 
-    private void checkForBattle(Scanner scanner) {
-        if (random.nextDouble() < 0.50) {
+    /**
+     * @return true if an ambush happened.
+     */
+    private boolean checkForBattle(Scanner scanner) {
+        if (random.nextDouble() < CombatResolver.getInstance().getAmbushChance()) {
             System.out.println(ConsoleColors.RED + "\n*** AMBUSH! You have encountered monsters! ***" + ConsoleColors.RESET);
-            battleController.startBattle(scanner, party);
+            if (!battleController.startBattle(scanner, party)) {
+                quitGame = true;
+            }
+            return true;
         }
+        return false;
     }
 
     private void handleMarketInteraction(Scanner scanner) {
@@ -241,7 +434,7 @@ public class LegendsGame extends Game {
         }
         
         System.out.println("\n" + ConsoleColors.YELLOW + "Press Enter to continue..." + ConsoleColors.RESET);
-        scanner.nextLine(); // This will wait for Enter key
+        InputValidator.readLine(scanner); // This will wait for Enter key
     }
 
     private String extractItemStats(Item item) {
@@ -278,21 +471,31 @@ public class LegendsGame extends Game {
         if (party != null) {
             System.out.println(ConsoleColors.WHITE_BOLD + "Final Status:" + ConsoleColors.RESET);
             printDashboard();
+            recordResult();
         }
+        saveProfile();
+    }
 
-        // --- NEW: Restart Logic ---
-        Scanner scanner = new Scanner(System.in); // Use a fresh scanner or pass it down if possible
-        // Note: System.in should not be closed if we want to read again, but here we are at end of app lifecycle usually.
-
-        String input = InputValidator.getValidOption(scanner, "\n" + ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + ConsoleColors.RESET, "y", "yes", "n", "no");
+    private void recordResult() {
+        List<Hero> heroes = party.getHeroes();
+        if (heroes.isEmpty()) return;
+        int maxLevel = heroes.stream().mapToInt(Hero::getLevel).max().getAsInt();
+        String player = (profileName != null) ? profileName : heroes.get(0).getName();
+        Leaderboard board = Leaderboard.getInstance();
+        Leaderboard.Entry entry = board.record(player, Leaderboard.GameKind.LEGENDS, 0, maxLevel,
+                battleController.getGoldAwarded(), battleController.getMonstersDefeated());
+        System.out.println(ConsoleColors.CYAN + "Leaderboard: " + board.describe(entry) + ConsoleColors.RESET);
+    }
 
-        if (input.equals("y") || input.equals("yes")) {
-            // Restart the entire application to go back to game selection
-            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
-            common.GameRunner.run();
-        } else {
-            System.out.println(ConsoleColors.CYAN + "Goodbye!" + ConsoleColors.RESET);
-            System.exit(0);
-        }
+    @Override
+    protected void releaseSession() {
+        board = null;
+        pathfinder = null;
+        party = null;
+        marketController = null;
+        availableWarriors = null;
+        availableSorcerers = null;
+        availablePaladins = null;
+        profileName = null;
     }
 }
@@ -1,6 +1,8 @@
 package game;
 
 import utils.ConsoleColors;
+import common.GameMetrics;
+import common.GamePhase;
 import common.InputValidator;
 import common.RandomGenerator;
 import entities.Hero;
@@ -51,6 +53,16 @@ public class MarketController {
      * Generates a random subset of items for this specific market visit.
      */
     public void enterMarket(Scanner scanner, Party party) {
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.MARKET);
+        try {
+            runPartyMarket(scanner, party);
+        } finally {
+            metrics.end();
+        }
+    }
+
+    private void runPartyMarket(Scanner scanner, Party party) {
         // Find highest level hero in party
         int highestLevel = party.getHeroes().stream()
                 .mapToInt(Hero::getLevel)
@@ -109,6 +121,16 @@ public class MarketController {
     }
     
     private void enterMarketWithPagination(Scanner scanner, Hero hero, List<Item> marketInventory) {
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.MARKET);
+        try {
+            runMarketLoop(scanner, hero, marketInventory);
+        } finally {
+            metrics.end();
+        }
+    }
+
+    private void runMarketLoop(Scanner scanner, Hero hero, List<Item> marketInventory) {
         boolean inMarket = true;
         while (inMarket) {
             System.out.println("\n" + ConsoleColors.YELLOW + "--- Market Menu ---" + ConsoleColors.RESET);
@@ -148,7 +170,7 @@ public class MarketController {
         }
         
         // Shuffle and select items
-        Collections.shuffle(levelAppropriateItems);
+        Collections.shuffle(levelAppropriateItems, RandomGenerator.getInstance().getRandom());
         int stockSize = Math.min(10, levelAppropriateItems.size());
         for (int i = 0; i < stockSize; i++) {
             inventory.add(levelAppropriateItems.get(i));
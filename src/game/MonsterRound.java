@@ -0,0 +1,126 @@
+package game;
+
+import items.Armor;
+
+import java.util.Arrays;
+
+/**
+ * Reusable primitive buffer for resolving a whole monster phase in one pass.
+ * The caller loads hero and monster stats plus two rolls per monster, {@link #resolve}
+ * simulates the round sequentially (heroes can faint mid-round, armor weakens per hit),
+ * and the per-attack results are read back to apply effects and print events.
+ *
+ * <p>Arrays only grow, so steady-state rounds allocate nothing. Public so the headless
+ * simulators in {@code sim} resolve their monster phase with the same code.</p>
+ */
+public final class MonsterRound {
+    // Hero inputs / simulated state
+    public int heroCount;
+    public double[] heroHp = new double[4];
+    public double[] heroAgility = new double[4];
+    public double[] armorBase = new double[4];       // 0 when no armor is equipped
+    public double[] armorDurability = new double[4];
+    public double[] armorMaxDurability = new double[4];
+    public boolean[] hasArmor = new boolean[4];
+    public int[] armorHits = new int[4];
+    /** False keeps armor at its loaded durability, for callers that do not model wear. */
+    public boolean armorWear = true;
+
+    // Monster inputs
+    public int monsterCount;
+    public int[] monsterIndex = new int[8];          // Index into the caller's enemy list
+    public double[] monsterDamage = new double[8];
+    public double[] rolls = new double[16];          // Two per monster: target, dodge
+
+    // Per-attack results, in attack order
+    public int attackCount;
+    public int[] attacker = new int[8];              // Position in monsterIndex
+    public int[] target = new int[8];                // Hero index
+    public double[] damage = new double[8];
+    public boolean[] dodged = new boolean[8];
+    public boolean[] fainted = new boolean[8];       // Target fainted from this hit
+
+    private int[] alive = new int[4];
+
+    public void beginHeroes(int count) {
+        if (heroHp.length < count) {
+            int n = Math.max(count, heroHp.length * 2);
+            heroHp = Arrays.copyOf(heroHp, n);
+            heroAgility = Arrays.copyOf(heroAgility, n);
+            armorBase = Arrays.copyOf(armorBase, n);
+            armorDurability = Arrays.copyOf(armorDurability, n);
+            armorMaxDurability = Arrays.copyOf(armorMaxDurability, n);
+            hasArmor = Arrays.copyOf(hasArmor, n);
+            armorHits = Arrays.copyOf(armorHits, n);
+            alive = Arrays.copyOf(alive, n);
+        }
+        heroCount = count;
+    }
+
+    public void beginMonsters(int capacity) {
+        if (monsterIndex.length < capacity) {
+            int n = Math.max(capacity, monsterIndex.length * 2);
+            monsterIndex = Arrays.copyOf(monsterIndex, n);
+            monsterDamage = Arrays.copyOf(monsterDamage, n);
+            rolls = Arrays.copyOf(rolls, n * 2);
+            attacker = Arrays.copyOf(attacker, n);
+            target = Arrays.copyOf(target, n);
+            damage = Arrays.copyOf(damage, n);
+            dodged = Arrays.copyOf(dodged, n);
+            fainted = Arrays.copyOf(fainted, n);
+        }
+        monsterCount = 0;
+    }
+
+    public void addMonster(int index, double baseDamage) {
+        monsterIndex[monsterCount] = index;
+        monsterDamage[monsterCount] = baseDamage;
+        monsterCount++;
+    }
+
+    /**
+     * Runs every monster's attack against the simulated hero state.
+     * Stops early (like the live loop) once every hero has fainted.
+     */
+    public void resolve(CombatResolver combat) {
+        int aliveCount = 0;
+        for (int h = 0; h < heroCount; h++) {
+            armorHits[h] = 0;
+            if (heroHp[h] > 0) alive[aliveCount++] = h;
+        }
+
+        attackCount = 0;
+        for (int m = 0; m < monsterCount && aliveCount > 0; m++) {
+            int pick = Math.min((int) (rolls[2 * m] * aliveCount), aliveCount - 1);
+            int h = alive[pick];
+            int a = attackCount++;
+            attacker[a] = m;
+            target[a] = h;
+            fainted[a] = false;
+
+            if (CombatResolver.dodged(combat.heroDodgeChance(heroAgility[h]), rolls[2 * m + 1])) {
+                dodged[a] = true;
+                damage[a] = 0;
+                continue;
+            }
+            dodged[a] = false;
+
+            double mitigation = 0;
+            if (hasArmor[h]) {
+                mitigation = Armor.reductionAt(armorBase[h], armorDurability[h], armorMaxDurability[h]);
+                if (armorWear) armorDurability[h] = Armor.degradedDurability(armorDurability[h]);
+                armorHits[h]++;
+            }
+            double dealt = combat.monsterAttackDamage(monsterDamage[m], mitigation);
+            damage[a] = dealt;
+            heroHp[h] = Math.max(0, heroHp[h] - dealt);
+
+            if (heroHp[h] <= 0) {
+                fainted[a] = true;
+                // Keep list order so target selection matches a freshly filtered list
+                System.arraycopy(alive, pick + 1, alive, pick, aliveCount - pick - 1);
+                aliveCount--;
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package game;
+
+import entities.Monster;
+import entities.Monster.MonsterType;
+import utils.GameDataLoader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted monster spawn rules, loaded from {@code data/SpawnTables.txt}.
+ *
+ * <p>Each row applies to one difficulty tier, a band of party levels and a place: {@code any},
+ * a game ({@code legends}, {@code valor}, {@code horde}) or one Valor lane ({@code lane1},
+ * {@code lane2}, ...). It weights the catalog by monster type. It can also keep to species
+ * whose native level is within {@code near} of the party, and it shifts the spawn level by
+ * {@code offset}. The most specific matching row wins (lane, then game, then any), and the
+ * first such row in file order breaks ties. Without a match every catalog monster is equally
+ * likely at the party's level, as before spawn tables existed.</p>
+ *
+ * <p>Spawning goes through a {@link Sampler} bound to one catalog. Matched rows are compiled
+ * into {@link AliasTable}s on first use and kept per game, lane and party level, so
+ * a spawn costs one map probe and one draw. The compiled tables are dropped when the catalog
+ * changes size; catalogs are only ever appended to by the loaders.</p>
+ */
+public final class SpawnTable {
+    public static final String FILE_NAME = "SpawnTables.txt";
+    public static final String DEFAULT_TIER = "normal";
+    private static final MonsterType[] TYPES = MonsterType.values();
+    private static SpawnTable instance;
+
+    /** The game a spawn happens in. */
+    public enum Mode { LEGENDS, VALOR, HORDE }
+
+    /** One row of the table. */
+    public static final class Rule {
+        private final String tier;
+        private final int minLevel, maxLevel;
+        private final String where;
+        private final double[] typeWeights;
+        private final int near;     // -1: any native level
+        private final int offset;
+
+        public Rule(String tier, int minLevel, int maxLevel, String where, double[] typeWeights, int near, int offset) {
+            if (minLevel < 1 || maxLevel < minLevel) {
+                throw new IllegalArgumentException("Spawn rule level band must satisfy 1 <= min <= max.");
+            }
+            if (typeWeights.length != TYPES.length) {
+                throw new IllegalArgumentException("Spawn rule needs one weight per monster type.");
+            }
+            for (double w : typeWeights) {
+                if (w < 0) throw new IllegalArgumentException("Spawn rule weights cannot be negative.");
+            }
+            this.tier = tier.toLowerCase();
+            this.minLevel = minLevel;
+            this.maxLevel = maxLevel;
+            this.where = where.toLowerCase();
+            this.typeWeights = typeWeights.clone();
+            this.near = near;
+            this.offset = offset;
+        }
+
+        public String getTier() { return tier; }
+        public String getWhere() { return where; }
+        public int getOffset() { return offset; }
+
+        /** @return 0 if the rule does not apply, otherwise higher for more specific places. */
+        int specificity(String tier, Mode mode, int lane, int partyLevel) {
+            if (!this.tier.equals(tier) || partyLevel < minLevel || partyLevel > maxLevel) return 0;
+            if (where.equals("any")) return 1;
+            if (where.equals(mode.name().toLowerCase())) return 2;
+            if (lane >= 0 && where.equals("lane" + (lane + 1))) return 3;
+            return 0;
+        }
+
+        /** Catalog weights for a party of {@code partyLevel}; all zero if nothing qualifies. */
+        double[] weights(List<Monster> catalog, int partyLevel) {
+            double[] w = new double[catalog.size()];
+            for (int pass = 0; pass < 2; pass++) {
+                double total = 0;
+                for (int i = 0; i < w.length; i++) {
+                    Monster m = catalog.get(i);
+                    boolean close = pass == 1 || near < 0 || Math.abs(m.getLevel() - partyLevel) <= near;
+                    w[i] = close ? typeWeights[m.getType().ordinal()] : 0;
+                    total += w[i];
+                }
+                // No species near the party's level: fall back to the type weights alone
+                if (total > 0 || near < 0) break;
+            }
+            return w;
+        }
+    }
+
+    private final List<Rule> rules;
+    private final String tier;
+
+    /**
+     * @param tier Difficulty tier whose rows are used; rows of other tiers are ignored.
+     */
+    public SpawnTable(List<Rule> rules, String tier) {
+        if (tier == null || tier.trim().isEmpty()) {
+            throw new IllegalArgumentException("Spawn tier cannot be empty.");
+        }
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.tier = tier.trim().toLowerCase();
+    }
+
+    /**
+     * Returns the table for live play, loading {@code data/SpawnTables.txt} on first use.
+     * The tier comes from {@code -Dspawn.tier} (default {@value #DEFAULT_TIER}).
+     */
+    public static SpawnTable getInstance() {
+        if (instance == null) {
+            instance = load(FILE_NAME, System.getProperty("spawn.tier", DEFAULT_TIER));
+        }
+        return instance;
+    }
+
+    /**
+     * Reads rows of {@code tier levels where <one weight per monster type> near offset}.
+     * {@code levels} is {@code lo-hi} or {@code lo+}; {@code near} is a level distance or
+     * {@code -} for any. Malformed rows are reported and skipped.
+     */
+    public static SpawnTable load(String fileName, String tier) {
+        List<Rule> rules = new ArrayList<>();
+        for (String[] parts : GameDataLoader.loadRows(fileName)) {
+            try {
+                if (parts.length < TYPES.length + 5) throw new IllegalArgumentException("Too few columns.");
+                String levels = parts[1];
+                int minLevel, maxLevel;
+                if (levels.endsWith("+")) {
+                    minLevel = Integer.parseInt(levels.substring(0, levels.length() - 1));
+                    maxLevel = Integer.MAX_VALUE;
+                } else {
+                    int dash = levels.indexOf('-');
+                    minLevel = Integer.parseInt(dash < 0 ? levels : levels.substring(0, dash));
+                    maxLevel = (dash < 0) ? minLevel : Integer.parseInt(levels.substring(dash + 1));
+                }
+                double[] weights = new double[TYPES.length];
+                for (int t = 0; t < TYPES.length; t++) {
+                    weights[t] = Double.parseDouble(parts[3 + t]);
+                }
+                String near = parts[3 + TYPES.length];
+                int offset = Integer.parseInt(parts[4 + TYPES.length].replace("+", ""));
+                rules.add(new Rule(parts[0], minLevel, maxLevel, parts[2], weights,
+                        near.equals("-") ? -1 : Integer.parseInt(near), offset));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping malformed line in " + fileName + ": " + String.join(" ", parts));
+            }
+        }
+        return new SpawnTable(rules, tier);
+    }
+
+    public String getTier() { return tier; }
+    public List<Rule> getRules() { return rules; }
+
+    /** A sampler over {@code catalog}; hold one per catalog and reuse it. */
+    public Sampler sampler(List<Monster> catalog) {
+        return new Sampler(catalog);
+    }
+
+    /** Most specific rule for the spawn, or null. */
+    Rule match(Mode mode, int lane, int partyLevel) {
+        Rule best = null;
+        int bestScore = 0;
+        for (Rule rule : rules) {
+            int score = rule.specificity(tier, mode, lane, partyLevel);
+            if (score > bestScore) {
+                best = rule;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Compiled spawn choices for one catalog. Not thread-safe; each game owns its sampler.
+     */
+    public final class Sampler {
+        private final List<Monster> catalog;
+        private final Map<Long, Compiled> compiled = new HashMap<>();
+        private int compiledSize = -1;
+
+        Sampler(List<Monster> catalog) {
+            this.catalog = catalog;
+        }
+
+        /**
+         * Spawns a monster for a party whose highest level is {@code partyLevel}.
+         *
+         * @param lane Valor lane (0-based), or -1 outside Valor.
+         * @param roll Uniform roll in [0, 1).
+         */
+        public Monster spawn(Mode mode, int lane, int partyLevel, double roll) {
+            Compiled c = lookup(mode, lane, partyLevel);
+            Monster template = catalog.get(c.table.sample(roll));
+            return GameDataLoader.createMonsterFromTemplate(template, Math.max(1, partyLevel + c.offset));
+        }
+
+        private Compiled lookup(Mode mode, int lane, int partyLevel) {
+            if (catalog.isEmpty()) {
+                throw new IllegalStateException("Cannot spawn from an empty monster catalog.");
+            }
+            if (catalog.size() != compiledSize) {
+                compiled.clear();
+                compiledSize = catalog.size();
+            }
+            long key = ((long) mode.ordinal() << 56) | ((long) (lane + 1) << 32) | (partyLevel & 0xFFFFFFFFL);
+            Compiled c = compiled.get(key);
+            if (c == null) {
+                c = compile(match(mode, lane, partyLevel), partyLevel);
+                compiled.put(key, c);
+            }
+            return c;
+        }
+
+        private Compiled compile(Rule rule, int partyLevel) {
+            double[] weights = (rule == null) ? null : rule.weights(catalog, partyLevel);
+            double total = 0;
+            if (weights != null) {
+                for (double w : weights) total += w;
+            }
+            if (total <= 0) {
+                // No rule, or one whose types are all missing from the catalog: uniform as before
+                weights = new double[catalog.size()];
+                Arrays.fill(weights, 1);
+            }
+            return new Compiled(new AliasTable(weights), (rule == null) ? 0 : rule.offset);
+        }
+    }
+
+    private static final class Compiled {
+        final AliasTable table;
+        final int offset;
+
+        Compiled(AliasTable table, int offset) {
+            this.table = table;
+            this.offset = offset;
+        }
+    }
+}
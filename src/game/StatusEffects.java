@@ -0,0 +1,274 @@
+package game;
+
+import entities.Hero;
+import entities.Monster;
+import entities.RPGCharacter;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timed stat modifiers: potion boosts on heroes and spell debuffs on monsters.
+ *
+ * <p>Effects stack; an entity's modifier for a {@link Kind} is the sum of its live effects of
+ * that kind, pushed into the entity (e.g. {@link Hero#setStrengthBoost}) whenever the set
+ * changes. The clock is whatever the owner advances: battle rounds, Valor rounds or ticks.</p>
+ *
+ * <p>Expiry uses a hashed timing wheel: an effect is linked into the bucket
+ * {@code expiresAt % slots}, and {@link #advanceTo} visits only the buckets of the elapsed
+ * time steps, so the cost per step is the bucket size, not the number of live effects.
+ * Entities touched by expiries are recomputed once per advance, and only for the kinds
+ * that changed. Effects are intrusive nodes in two doubly linked lists (bucket and owner),
+ * so applying, expiring and clearing an entity are all O(1) per effect.</p>
+ *
+ * <p>Not thread-safe; each game or battle owns one instance.</p>
+ */
+public class StatusEffects {
+    /** Wheel size unless told otherwise; durations longer than this just take extra laps. */
+    public static final int DEFAULT_SLOTS = 64;
+
+    /** Stat an effect modifies. */
+    public enum Kind {
+        STRENGTH, DEXTERITY, AGILITY,   // Hero boosts
+        DAMAGE, DEFENSE, DODGE;         // Monster debuffs (raw stat units)
+
+        boolean isHeroStat() {
+            return ordinal() <= AGILITY.ordinal();
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final Effect[] wheel;
+    private final int mask;
+    private final Map<RPGCharacter, Owner> owners = new IdentityHashMap<>();
+    private final List<Owner> dirty = new ArrayList<>();
+    private long now;
+    private int active;
+
+    public StatusEffects() {
+        this(DEFAULT_SLOTS);
+    }
+
+    /**
+     * @param slots Wheel buckets, rounded up to a power of two.
+     */
+    public StatusEffects(int slots) {
+        if (slots < 1 || slots > (1 << 20)) {
+            throw new IllegalArgumentException("Timing wheel size must be between 1 and 2^20 slots.");
+        }
+        int size = Integer.highestOneBit(slots);
+        if (size < slots) size <<= 1;
+        this.wheel = new Effect[size];
+        this.mask = size - 1;
+    }
+
+    /** Current time on the effect clock. */
+    public long now() {
+        return now;
+    }
+
+    /** Number of live effects. */
+    public int activeCount() {
+        return active;
+    }
+
+    /**
+     * Adds an effect that lasts {@code duration} time steps from now.
+     *
+     * @param amount Boost for hero kinds, reduction for monster kinds.
+     */
+    public void apply(RPGCharacter target, Kind kind, double amount, long duration) {
+        if (duration < 1) {
+            throw new IllegalArgumentException("Effect duration must be at least 1.");
+        }
+        if (kind.isHeroStat() != (target instanceof Hero)) {
+            throw new IllegalArgumentException(kind + " cannot be applied to " + target.getName());
+        }
+        Owner owner = owners.get(target);
+        if (owner == null) {
+            owner = new Owner(target);
+            owners.put(target, owner);
+        }
+        Effect e = new Effect(owner, kind, amount, now + duration);
+        owner.link(e);
+        linkBucket(e);
+        active++;
+        owner.push(kind);
+    }
+
+    /**
+     * Moves the clock forward, expiring every effect whose time has come.
+     *
+     * @return Number of effects that expired.
+     */
+    public int advanceTo(long time) {
+        int expired = 0;
+        // Past one full lap every bucket gets visited anyway
+        long from = Math.max(now + 1, time - mask);
+        for (long t = from; t <= time; t++) {
+            Effect e = wheel[(int) (t & mask)];
+            while (e != null) {
+                Effect next = e.bucketNext;
+                if (e.expiresAt <= time) {
+                    remove(e);
+                    expired++;
+                }
+                e = next;
+            }
+        }
+        now = Math.max(now, time);
+        for (Owner o : dirty) {
+            o.flush();
+            if (o.head == null) owners.remove(o.target);
+        }
+        dirty.clear();
+        return expired;
+    }
+
+    /**
+     * @return Steps until the last effect of {@code kind} on {@code target} wears off, or 0 if none.
+     */
+    public long remaining(RPGCharacter target, Kind kind) {
+        Owner owner = owners.get(target);
+        if (owner == null) return 0;
+        long last = now;
+        for (Effect e = owner.head; e != null; e = e.ownerNext) {
+            if (e.kind == kind && e.expiresAt > last) last = e.expiresAt;
+        }
+        return last - now;
+    }
+
+    /** Total live modifier of {@code kind} on {@code target}. */
+    public double total(RPGCharacter target, Kind kind) {
+        Owner owner = owners.get(target);
+        return (owner == null) ? 0 : owner.sum(kind);
+    }
+
+    /**
+     * Drops every effect on {@code target} and resets its modifiers, e.g. when a monster dies.
+     */
+    public void clear(RPGCharacter target) {
+        Owner owner = owners.remove(target);
+        if (owner == null) return;
+        for (Effect e = owner.head; e != null; e = e.ownerNext) {
+            unlinkBucket(e);
+            active--;
+        }
+        owner.head = null;
+        owner.dirtyKinds = 0;
+        for (Kind k : KINDS) owner.push(k);
+    }
+
+    /**
+     * Drops every effect, resets every affected entity and restarts the clock at 0.
+     */
+    public void clearAll() {
+        for (Owner owner : new ArrayList<>(owners.values())) clear(owner.target);
+        dirty.clear();
+        now = 0;
+    }
+
+    private void remove(Effect e) {
+        unlinkBucket(e);
+        Owner owner = e.owner;
+        owner.unlink(e);
+        active--;
+        if (owner.dirtyKinds == 0) dirty.add(owner);
+        owner.dirtyKinds |= 1 << e.kind.ordinal();
+    }
+
+    private void linkBucket(Effect e) {
+        int slot = (int) (e.expiresAt & mask);
+        e.bucketNext = wheel[slot];
+        if (wheel[slot] != null) wheel[slot].bucketPrev = e;
+        wheel[slot] = e;
+    }
+
+    private void unlinkBucket(Effect e) {
+        if (e.bucketPrev != null) e.bucketPrev.bucketNext = e.bucketNext;
+        else wheel[(int) (e.expiresAt & mask)] = e.bucketNext;
+        if (e.bucketNext != null) e.bucketNext.bucketPrev = e.bucketPrev;
+        e.bucketPrev = null;
+        e.bucketNext = null;
+    }
+
+    /** One live effect; a node in its wheel bucket and in its owner's list. */
+    private static final class Effect {
+        final Owner owner;
+        final Kind kind;
+        final double amount;
+        final long expiresAt;
+        Effect bucketPrev, bucketNext;
+        Effect ownerPrev, ownerNext;
+
+        Effect(Owner owner, Kind kind, double amount, long expiresAt) {
+            this.owner = owner;
+            this.kind = kind;
+            this.amount = amount;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Effects on one entity, plus the kinds whose totals need pushing after an advance. */
+    private static final class Owner {
+        final RPGCharacter target;
+        Effect head;
+        int dirtyKinds;
+
+        Owner(RPGCharacter target) {
+            this.target = target;
+        }
+
+        void link(Effect e) {
+            e.ownerNext = head;
+            if (head != null) head.ownerPrev = e;
+            head = e;
+        }
+
+        void unlink(Effect e) {
+            if (e.ownerPrev != null) e.ownerPrev.ownerNext = e.ownerNext;
+            else head = e.ownerNext;
+            if (e.ownerNext != null) e.ownerNext.ownerPrev = e.ownerPrev;
+        }
+
+        double sum(Kind kind) {
+            double total = 0;
+            for (Effect e = head; e != null; e = e.ownerNext) {
+                if (e.kind == kind) total += e.amount;
+            }
+            return total;
+        }
+
+        void flush() {
+            for (Kind k : KINDS) {
+                if ((dirtyKinds & (1 << k.ordinal())) != 0) push(k);
+            }
+            dirtyKinds = 0;
+        }
+
+        /** Writes the current total of {@code kind} into the entity. */
+        void push(Kind kind) {
+            double total = sum(kind);
+            if (target instanceof Hero) {
+                Hero h = (Hero) target;
+                switch (kind) {
+                    case STRENGTH: h.setStrengthBoost(total); break;
+                    case DEXTERITY: h.setDexterityBoost(total); break;
+                    case AGILITY: h.setAgilityBoost(total); break;
+                    default: break;
+                }
+            } else if (target instanceof Monster) {
+                Monster m = (Monster) target;
+                switch (kind) {
+                    case DAMAGE: m.setDamageDebuff(total); break;
+                    case DEFENSE: m.setDefenseDebuff(total); break;
+                    case DODGE: m.setDodgeDebuff(total); break;
+                    default: break;
+                }
+            }
+        }
+    }
+}
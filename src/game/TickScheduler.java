@@ -0,0 +1,96 @@
+package game;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-rate tick clock for real-time play.
+ *
+ * <p>Game logic only ever sees the tick index, never the wall clock, so a run is decided by
+ * the order of ticks and commands alone. When the loop falls behind (slow frame, GC pause)
+ * the missed ticks are run back to back in index order on the next frame, at most
+ * {@code maxCatchUp} per frame so one long stall cannot freeze input; the rest carry over
+ * and are never dropped.</p>
+ *
+ * <p>Not thread-safe: owned by the game loop thread. {@link #runDue(Listener)} allocates
+ * nothing.</p>
+ */
+public final class TickScheduler {
+
+    /** Work done on every tick. */
+    public interface Listener {
+        void onTick(long tick);
+    }
+
+    private final long tickNanos;
+    private final int maxCatchUp;
+    private long nextTickAt;
+    private long tick;
+    private long lateTicks;
+    private boolean started;
+
+    /**
+     * @param ticksPerSecond Tick rate.
+     * @param maxCatchUp     Most ticks run in one frame when catching up.
+     */
+    public TickScheduler(int ticksPerSecond, int maxCatchUp) {
+        if (ticksPerSecond < 1 || ticksPerSecond > 1000) {
+            throw new IllegalArgumentException("Tick rate must be between 1 and 1000 per second.");
+        }
+        if (maxCatchUp < 1) {
+            throw new IllegalArgumentException("Catch-up limit must be at least 1 tick.");
+        }
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    /** Starts the clock; the first tick is due immediately. */
+    public void start() {
+        nextTickAt = System.nanoTime();
+        tick = 0;
+        lateTicks = 0;
+        started = true;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Runs every tick whose deadline has passed, oldest first.
+     *
+     * @return Number of ticks run.
+     */
+    public int runDue(Listener listener) {
+        long now = System.nanoTime();
+        int ran = 0;
+        while (ran < maxCatchUp && now - nextTickAt >= 0) {
+            if (now - nextTickAt >= tickNanos) lateTicks++;
+            listener.onTick(tick++);
+            nextTickAt += tickNanos;
+            ran++;
+        }
+        return ran;
+    }
+
+    /** Parks the calling thread until the next tick is due. */
+    public void awaitNextTick() {
+        long wait;
+        while ((wait = nextTickAt - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    /** Index of the next tick to run. */
+    public long getTick() {
+        return tick;
+    }
+
+    /** Ticks that ran at least one full period after their deadline. */
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+}
@@ -2,11 +2,25 @@ package game;
 
 import board.Cell;
 import board.CellType;
+import board.LaneLayout;
+import board.Pathfinder;
+import ai.ValorAction;
+import ai.ValorSearch;
+import ai.ValorState;
+import ai.ZobristKeys;
 import board.ValorBoard;
 import utils.ConsoleColors;
+import common.GameMetrics;
+import common.GamePhase;
 import common.InputValidator;
+import common.Leaderboard;
+import common.RandomGenerator;
+import common.ScriptInput;
+import common.ScriptRunner;
 import entities.Hero;
 import entities.Monster;
+import entities.MonsterStore;
+import entities.MonsterTemplate;
 import entities.Party;
 import items.Potion;
 import items.Spell;
@@ -16,57 +30,218 @@ import utils.GameDataLoader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 /**
  * The main game engine for "Legends of Valor".
  * Rules:
- * - 8x8 Grid, 3 Lanes.
+ * - 8x8 Grid, 3 Lanes, one Hero per lane (other geometries via {@link LaneLayout}).
  * - Heroes win by reaching Row 0 (Monster Nexus).
- * - Monsters win by reaching Row 7 (Hero Nexus).
- * - Heroes spawn at Row 7; Monsters spawn at Row 0.
+ * - Monsters win by reaching the last row (Hero Nexus, Row 7 on the standard board).
+ * - Heroes spawn on the Hero Nexus; Monsters spawn at Row 0.
  * - A round consists of Hero Turns -> Monster Turns -> Regeneration.
+ *
+ * <p>Horde mode keeps monster state in a {@link MonsterStore} and fills every open
+ * Nexus cell on each spawn, for large-wave play and load testing.</p>
  */
 public class ValorGame extends Game {
 
+    private final LaneLayout layout;
     private ValorBoard board;
+    private Pathfinder pathfinder;
     private Party party;
     private List<Monster> activeMonsters;
     private List<Monster> monsterCatalog;
     private MarketController marketController;
+    private final CombatResolver combat = CombatResolver.getInstance();
+    // Compiled spawn mixes for the catalog; built with it and kept across sessions
+    private SpawnTable.Sampler spawns;
+    // Wave script (-Dvalor.waves) or null for the classic rule; parsed once, scheduled per session
+    private final String waveScript;
+    private List<WaveScheduler.Wave> waveDefinitions;
+    private WaveScheduler waves;
+    private final WaveSpawner waveSpawner = new WaveSpawner();
+    private final RandomGenerator rng = RandomGenerator.getInstance();
+    // Spell debuffs, timed in rounds (turn-based) or ticks (real-time)
+    private final StatusEffects effects = new StatusEffects();
 
     private int roundCount;
+    // Session tally for the leaderboard
+    private int monstersDefeated;
+    private long goldEarned;
     private boolean quitGame;
 
+    // Zobrist hash of the position, updated incrementally by every state change (see ZobristKeys)
+    private long positionHash;
+
+    // AI-controlled heroes occupy the last aiHeroes party slots
+    private final int aiHeroes;
+    private final long aiBudgetMillis;
+    private ValorSearch search;
+    private final List<Monster> aiMonsters = new ArrayList<>();
+
+    // Real-time mode (tickRate > 0): heroes act from a command queue, monsters move on ticks
+    private static final int CMD_QUIT = 'q';
+    private static final int ONGOING = 0;
+    private static final int HEROES_WIN = 1;
+    private static final int MONSTERS_WIN = 2;
+    private final int tickRate;
+    private final int ticksPerRound;
+    private final TickScheduler.Listener tickListener = this::onTick;
+    private TickScheduler scheduler;
+    private CommandQueue commands;
+    private Thread commandReader;
+    private volatile boolean realTimeRunning;
+    private long[] heroReadyTick;
+    private boolean frameDirty;
+
+    // Monster moves in preference order: South, West, East
+    private static final int[] MONSTER_STEP_DR = {1, 0, 0};
+    private static final int[] MONSTER_STEP_DC = {0, -1, 1};
+
+    // Horde mode state
+    private final boolean hordeMode;
+    private MonsterStore monsterStore;
+    private boolean[] occupancy;
+    private int[] movedSlots;
+
+    public ValorGame() {
+        this(false);
+    }
+
+    public ValorGame(boolean hordeMode) {
+        this(hordeMode, 0, 0);
+    }
+
+    /**
+     * @param aiHeroes       How many party slots (counted from the last) are played by the MCTS agent.
+     *                       With 3 the whole match runs unattended.
+     * @param aiBudgetMillis Thinking time per AI move.
+     */
+    public ValorGame(boolean hordeMode, int aiHeroes, long aiBudgetMillis) {
+        this(hordeMode, aiHeroes, aiBudgetMillis, 0, 0);
+    }
+
+    /**
+     * @param tickRate      Ticks per second for real-time play; 0 keeps the turn-based game.
+     * @param ticksPerRound Ticks between monster phases (and regeneration) in real-time play.
+     */
+    public ValorGame(boolean hordeMode, int aiHeroes, long aiBudgetMillis, int tickRate, int ticksPerRound) {
+        this(LaneLayout.STANDARD, hordeMode, aiHeroes, aiBudgetMillis, tickRate, ticksPerRound);
+    }
+
+    /**
+     * @param layout Board geometry; the party has one hero per lane.
+     */
+    public ValorGame(LaneLayout layout, boolean hordeMode, int aiHeroes, long aiBudgetMillis,
+                     int tickRate, int ticksPerRound) {
+        this(layout, hordeMode, aiHeroes, aiBudgetMillis, tickRate, ticksPerRound, null);
+    }
+
+    /**
+     * @param waveScript Wave script in the data directory (see {@link WaveScheduler#load}), or null
+     *                   for one monster per lane every spawn interval.
+     */
+    public ValorGame(LaneLayout layout, boolean hordeMode, int aiHeroes, long aiBudgetMillis,
+                     int tickRate, int ticksPerRound, String waveScript) {
+        if (aiHeroes < 0 || aiHeroes > layout.getLaneCount()) {
+            throw new IllegalArgumentException("AI hero count must be between 0 and " + layout.getLaneCount() + ".");
+        }
+        if (aiHeroes > 0 && !layout.isStandard()) {
+            // The search state is a fixed 8x8 snapshot
+            throw new IllegalArgumentException("AI heroes are only supported on the standard " + LaneLayout.STANDARD + " layout.");
+        }
+        if (tickRate < 0 || (tickRate > 0 && ticksPerRound < 1)) {
+            throw new IllegalArgumentException("Real-time mode needs a positive tick rate and round length.");
+        }
+        if (tickRate > 0 && aiHeroes > 0) {
+            // A search budget per move does not fit inside a tick
+            throw new IllegalArgumentException("AI heroes are not supported in real-time mode.");
+        }
+        this.layout = layout;
+        this.hordeMode = hordeMode;
+        this.aiHeroes = aiHeroes;
+        this.aiBudgetMillis = Math.max(1, aiBudgetMillis);
+        this.tickRate = tickRate;
+        this.ticksPerRound = ticksPerRound;
+        this.waveScript = waveScript;
+    }
+
     @Override
     protected void initializeGame(Scanner scanner) {
         System.out.println(ConsoleColors.CYAN + "Initializing Legends of Valor..." + ConsoleColors.RESET);
 
-        // 1. Load Assets
-        this.monsterCatalog = new ArrayList<>();
-        this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Dragons.txt", Monster.MonsterType.DRAGON));
-        this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", Monster.MonsterType.EXOSKELETON));
-        this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Spirits.txt", Monster.MonsterType.SPIRIT));
+        // 1. Load Assets (monster templates are never modified, so later sessions reuse them)
+        if (monsterCatalog == null) {
+            this.monsterCatalog = new ArrayList<>();
+            this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Dragons.txt", Monster.MonsterType.DRAGON));
+            this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", Monster.MonsterType.EXOSKELETON));
+            this.monsterCatalog.addAll(GameDataLoader.loadMonsters("Spirits.txt", Monster.MonsterType.SPIRIT));
+            this.spawns = SpawnTable.getInstance().sampler(monsterCatalog);
+        }
+        if (waveDefinitions == null) {
+            this.waveDefinitions = (waveScript != null)
+                    ? WaveScheduler.load(waveScript, monsterCatalog)
+                    : WaveScheduler.standard(combat.getSpawnInterval(), hordeMode);
+        }
+        this.waves = new WaveScheduler(waveDefinitions, layout.getLaneCount(), (tickRate > 0) ? ticksPerRound : 1);
 
         // 2. Setup Board
-        this.board = new ValorBoard();
+        this.board = new ValorBoard(layout);
+        this.pathfinder = new Pathfinder(board);
         this.activeMonsters = new ArrayList<>();
         this.roundCount = 1;
+        this.monstersDefeated = 0;
+        this.goldEarned = 0;
         this.quitGame = false;
         this.marketController = new MarketController();
+        if (hordeMode) {
+            this.monsterStore = new MonsterStore(64);
+            this.occupancy = new boolean[board.getWidth() * board.getHeight()];
+        }
 
         // 3. Setup Party
         setupParty(scanner);
 
         // 4. Initial Spawn
         spawnHeroes();
-        spawnMonsters();
+        runWaves(0);
+        this.positionHash = computePositionHash();
+        registerProbes();
+
+        if (tickRate > 0) {
+            // Catch up at most one second of ticks per frame
+            this.scheduler = new TickScheduler(tickRate, tickRate);
+            this.commands = new CommandQueue(256);
+            this.heroReadyTick = new long[party.getHeroes().size()];
+        }
 
         System.out.println(ConsoleColors.GREEN + "\nThe battle for the Nexus begins!" + ConsoleColors.RESET);
     }
 
+    /**
+     * Publishes state for {@code @assert} lines in recorded scripts (see ScriptInput).
+     */
+    private void registerProbes() {
+        ScriptInput.registerProbe("round", () -> roundCount);
+        ScriptInput.registerProbe("monsters", () -> activeMonsters.stream().filter(m -> !m.isFainted()).count());
+        ScriptInput.registerProbe("fainted", () -> party.getHeroes().stream().filter(Hero::isFainted).count());
+        ScriptInput.registerProbe("gold", () -> party.getHeroes().stream().mapToDouble(Hero::getMoney).sum());
+        ScriptInput.registerProbe("hash", () -> Long.toHexString(positionHash));
+        ScriptInput.registerProbe("queued", () -> waves.getQueued());
+        List<Hero> heroes = party.getHeroes();
+        for (int i = 0; i < heroes.size(); i++) {
+            Hero h = heroes.get(i);
+            ScriptInput.registerProbe("hero" + (i + 1) + ".row", h::getRow);
+            ScriptInput.registerProbe("hero" + (i + 1) + ".col", h::getCol);
+            ScriptInput.registerProbe("hero" + (i + 1) + ".hp", h::getHp);
+            ScriptInput.registerProbe("hero" + (i + 1) + ".level", h::getLevel);
+        }
+    }
+
     private void setupParty(Scanner scanner) {
-        this.party = new Party();
+        this.party = new Party(layout.getLaneCount());
 
         // Load heroes by class
         List<Hero> availableWarriors = GameDataLoader.loadHeroes("Warriors.txt", Hero.HeroType.WARRIOR);
@@ -74,18 +249,24 @@ public class ValorGame extends Game {
         List<Hero> availablePaladins = GameDataLoader.loadHeroes("Paladins.txt", Hero.HeroType.PALADIN);
 
         System.out.println("\n" + ConsoleColors.YELLOW + "=== RECRUIT YOUR TEAM ===" + ConsoleColors.RESET);
-        System.out.println("You must select 3 Heroes to defend the Nexus.");
+        int partySize = layout.getLaneCount();
+        System.out.println("You must select " + partySize + " Heroes to defend the Nexus.");
 
-        while (party.getHeroes().size() < 3) {
-            System.out.println("\n" + ConsoleColors.WHITE_BOLD + "Party Size: " + party.getHeroes().size() + "/3" + ConsoleColors.RESET);
+        while (party.getHeroes().size() < partySize) {
+            System.out.println("\n" + ConsoleColors.WHITE_BOLD + "Party Size: " + party.getHeroes().size() + "/" + partySize + ConsoleColors.RESET);
             
-            System.out.println("\nSelect Hero #" + (party.getHeroes().size() + 1) + ":");
-            Hero selectedHero = selectHeroByClass(scanner, availableWarriors, availableSorcerers, availablePaladins);
+            Hero selectedHero;
+            if (isAiSlot(party.getHeroes().size())) {
+                selectedHero = pickAiHero(party.getHeroes().size(), availableWarriors, availableSorcerers, availablePaladins);
+            } else {
+                System.out.println("\nSelect Hero #" + (party.getHeroes().size() + 1) + ":");
+                selectedHero = selectHeroByClass(scanner, availableWarriors, availableSorcerers, availablePaladins);
+            }
             if (selectedHero == null) {
                 return; // User quit
             }
 
-            // Assign a unique lane to each hero as they are picked (0, 1, or 2)
+            // Assign a unique lane to each hero as they are picked
             selectedHero.setLane(party.getHeroes().size());
             party.addHero(selectedHero);
 
@@ -93,6 +274,29 @@ public class ValorGame extends Game {
         }
     }
 
+    private boolean isAiSlot(int slot) {
+        return slot >= layout.getLaneCount() - aiHeroes;
+    }
+
+    /**
+     * AI slots take the first available hero, cycling Warrior, Sorcerer, Paladin by slot.
+     */
+    private Hero pickAiHero(int slot, List<Hero> warriors, List<Hero> sorcerers, List<Hero> paladins) {
+        List<List<Hero>> byClass = new ArrayList<>();
+        byClass.add(warriors);
+        byClass.add(sorcerers);
+        byClass.add(paladins);
+        for (int i = 0; i < 3; i++) {
+            List<Hero> pool = byClass.get((slot + i) % 3);
+            if (!pool.isEmpty()) {
+                Hero hero = pool.remove(0);
+                System.out.println(ConsoleColors.PURPLE + "[AI] " + hero.getName() + " takes slot " + (slot + 1) + "." + ConsoleColors.RESET);
+                return hero;
+            }
+        }
+        return null;
+    }
+
     private Hero selectHeroByClass(Scanner scanner, List<Hero> warriors, List<Hero> sorcerers, List<Hero> paladins) {
         System.out.println("1. " + ConsoleColors.RED + "Warrior" + ConsoleColors.RESET + " (Favors Strength/Agility)");
         System.out.println("2. " + ConsoleColors.BLUE + "Sorcerer" + ConsoleColors.RESET + " (Favors Dexterity/Agility)");
@@ -130,13 +334,12 @@ public class ValorGame extends Game {
 
     private void spawnHeroes() {
         List<Hero> heroes = party.getHeroes();
-        int[] laneSpawns = {0, 3, 6}; // Left side of Top, Mid, Bot lanes
 
         for (int i = 0; i < heroes.size(); i++) {
-            if (i >= 3) break;
+            if (i >= layout.getLaneCount()) break;
             Hero h = heroes.get(i);
-            int r = 7;
-            int c = laneSpawns[i];
+            int r = layout.getHeroNexusRow();
+            int c = layout.heroSpawnColumn(i); // Left side of the lane
 
             h.setPosition(r, c);
             h.setLane(i); // Ensure lane ID matches column
@@ -144,34 +347,101 @@ public class ValorGame extends Game {
         }
     }
 
-    private void spawnMonsters() {
-        int highestHeroLvl = party.getHeroes().stream().mapToInt(Hero::getLevel).max().orElse(1);
-        int[] laneSpawns = {1, 4, 7}; // Right side of Top, Mid, Bot lanes
-
-        System.out.println(ConsoleColors.RED + "*** Reinforcements! New Monsters have entered the Nexus! ***" + ConsoleColors.RESET);
-
-        for (int i = 0; i < 3; i++) {
-            Cell spawnCell = board.getCell(0, laneSpawns[i]);
-            if (spawnCell.hasMonster()) {
-                System.out.println(ConsoleColors.YELLOW + "Lane " + (i + 1) + " spawn blocked!" + ConsoleColors.RESET);
-                continue;
+    /**
+     * Advances the wave clock to {@code now} (rounds in turn-based play, ticks in real time)
+     * and places whatever is due or still queued. Returns at once when nothing is.
+     */
+    private void runWaves(long now) {
+        if (!waves.hasWork(now)) return;
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.SPAWN);
+        try {
+            int level = 1;
+            for (Hero h : party.getHeroes()) level = Math.max(level, h.getLevel());
+            waveSpawner.level = level;
+            waveSpawner.arrived = false;
+            int placed = waves.advanceTo(now, waveSpawner);
+            if (placed > 0) frameDirty = true;
+            if (hordeMode && (waveSpawner.arrived || placed > 0)) {
+                System.out.println(ConsoleColors.RED + placed + " monsters joined the horde (" + monsterStore.size() + " active)." + ConsoleColors.RESET);
             }
+        } finally {
+            metrics.end();
+        }
+    }
 
-            Monster template = monsterCatalog.get((int) (Math.random() * monsterCatalog.size()));
-            Monster m = GameDataLoader.createMonsterFromTemplate(template, highestHeroLvl);
+    /**
+     * Places wave monsters on the Monster Nexus row: the lane's spawn cell, or in horde mode
+     * every open, accessible cell of the lane.
+     */
+    private final class WaveSpawner implements WaveScheduler.Spawner {
+        int level;
+        boolean arrived;
+
+        @Override
+        public void announce(WaveScheduler.Wave wave) {
+            arrived = true;
+            System.out.println(ConsoleColors.RED + "*** " + wave.getName() + "! New Monsters have entered the Nexus! ***" + ConsoleColors.RESET);
+        }
 
-            m.setPosition(0, laneSpawns[i]);
-            m.setLane(i);
+        @Override
+        public boolean spawn(int lane, WaveScheduler.Wave wave) {
+            int row = layout.getMonsterNexusRow();
+            int col = freeSpawnColumn(row, lane);
+            if (col < 0) return false;
+            double roll = rng.nextDouble();
+            Monster m = wave.getPool().isSpawnTable()
+                    ? spawns.spawn(hordeMode ? SpawnTable.Mode.HORDE : SpawnTable.Mode.VALOR, lane, level, roll)
+                    : GameDataLoader.createMonsterFromTemplate(wave.getPool().pick(roll), level);
+            placeMonster(m, row, col, lane);
+            return true;
+        }
 
-            spawnCell.setMonster(m);
-            activeMonsters.add(m);
+        @Override
+        public void blocked(int lane, WaveScheduler.Wave wave) {
+            System.out.println(ConsoleColors.YELLOW + "Lane " + (lane + 1) + " spawn blocked!" + ConsoleColors.RESET);
+        }
+    }
+
+    private int freeSpawnColumn(int row, int lane) {
+        if (!hordeMode) {
+            int col = layout.monsterSpawnColumn(lane); // Right side of the lane
+            return board.getCell(row, col).hasMonster() ? -1 : col;
+        }
+        for (int c = layout.heroSpawnColumn(lane); c <= layout.monsterSpawnColumn(lane); c++) {
+            Cell cell = board.getCell(row, c);
+            if (cell.isAccessible() && !cell.hasMonster() && !cell.hasHero()) return c;
         }
+        return -1;
+    }
+
+    private void placeMonster(Monster m, int row, int col, int lane) {
+        m.setPosition(row, col);
+        m.setLane(lane);
+        board.getCell(row, col).setMonster(m);
+        activeMonsters.add(m);
+        if (hordeMode) monsterStore.add(m);
+        positionHash ^= monsterKey(m);
+    }
+
+    private void removeMonster(Monster m) {
+        effects.clear(m);
+        positionHash ^= monsterKey(m);
+        board.getCell(m.getRow(), m.getCol()).removeMonster();
+        activeMonsters.remove(m);
+        if (hordeMode) monsterStore.remove(m);
+        GameDataLoader.recycleMonster(m);
     }
 
     @Override
     protected void processTurn(Scanner scanner) {
+        if (tickRate > 0) {
+            processRealTimeFrame(scanner);
+            return;
+        }
+        GameMetrics metrics = GameMetrics.getInstance();
         System.out.println("\n" + ConsoleColors.YELLOW + "=== ROUND " + roundCount + " ===" + ConsoleColors.RESET);
-        board.printBoard();
+        renderBoard();
 
         // 1. HEROES TURN
         for (Hero hero : party.getHeroes()) {
@@ -183,37 +453,399 @@ public class ValorGame extends Game {
             System.out.println("\nTurn: " + ConsoleColors.CYAN + hero.getName() + " [H" + (hero.getLane() + 1) + "]" + ConsoleColors.RESET + " (Lane " + hero.getLane() + ")");
             boolean actionTaken = false;
 
-            while (!actionTaken && !quitGame) {
-                printControls();
-
-                String choice = InputValidator.getValidOption(scanner, "Action: ", "w", "a", "c", "t", "r", "m", "p", "e", "i", "q");
-
-                switch (choice) {
-                    case "w": actionTaken = handleMove(scanner, hero); break;
-                    case "a": actionTaken = handleAttack(scanner, hero); break;
-                    case "c": actionTaken = handleCastSpell(scanner, hero); break;
-                    case "t": actionTaken = handleTeleport(scanner, hero); break;
-                    case "r": actionTaken = handleRecall(hero); break;
-                    case "m": actionTaken = handleMarket(scanner, hero); break;
-                    case "p": actionTaken = handlePotion(scanner, hero); break;
-                    case "e": actionTaken = handleEquip(scanner, hero); break;
-                    case "i": showDetailedHeroInfo(hero); break;
-                    case "q": quitGame = true; return;
+            metrics.begin(GamePhase.HERO_RULES);
+            try {
+                if (isAiSlot(party.getHeroes().indexOf(hero))) {
+                    playAiTurn(hero);
+                    actionTaken = true;
                 }
+                while (!actionTaken && !quitGame) {
+                    printControls();
+
+                    String choice = InputValidator.getValidOption(scanner, "Action: ", "w", "a", "c", "t", "r", "m", "p", "e", "i", "q");
+
+                    switch (choice) {
+                        case "w": actionTaken = handleMove(scanner, hero); break;
+                        case "a": actionTaken = handleAttack(scanner, hero); break;
+                        case "c": actionTaken = handleCastSpell(scanner, hero); break;
+                        case "t": actionTaken = handleTeleport(scanner, hero); break;
+                        case "r": actionTaken = handleRecall(hero); break;
+                        case "m": actionTaken = handleMarket(scanner, hero); break;
+                        case "p": actionTaken = handlePotion(scanner, hero); break;
+                        case "e": actionTaken = handleEquip(scanner, hero); break;
+                        case "i": showDetailedHeroInfo(scanner, hero); break;
+                        case "q": quitGame = true; return;
+                    }
+                }
+            } finally {
+                metrics.end();
             }
             if (quitGame) return;
-            board.printBoard();
+            renderBoard();
         }
 
+        endRound();
+    }
+
+    /**
+     * Monster phase, regeneration and spawns; closes a round in both turn-based and real-time play.
+     */
+    private void endRound() {
+        GameMetrics metrics = GameMetrics.getInstance();
+
         // 2. MONSTERS TURN
-        processMonstersTurn();
+        metrics.begin(GamePhase.MONSTER_TURN);
+        try {
+            processMonstersTurn();
+        } finally {
+            metrics.end();
+        }
 
         // 3. END ROUND / REGEN
-        performRegeneration();
+        metrics.begin(GamePhase.REGENERATION);
+        try {
+            performRegeneration();
+        } finally {
+            metrics.end();
+        }
 
-        if (roundCount % 8 == 0) spawnMonsters();
+        if (tickRate == 0) runWaves(roundCount);
 
+        positionHash ^= ZobristKeys.round(roundCount) ^ ZobristKeys.round(roundCount + 1);
         roundCount++;
+        if (tickRate == 0) effects.advanceTo(effects.now() + 1);
+    }
+
+    // REAL-TIME MODE
+
+    /**
+     * One frame: run every due tick, redraw if anything changed, then sleep until the next tick.
+     * The first frame starts the input thread and the clock.
+     */
+    private void processRealTimeFrame(Scanner scanner) {
+        if (!scheduler.isStarted()) {
+            printRealTimeHelp();
+            renderBoard();
+            startCommandReader(scanner);
+            scheduler.start();
+        }
+
+        frameDirty = false;
+        scheduler.runDue(tickListener);
+        if (frameDirty) {
+            System.out.println("\n" + ConsoleColors.YELLOW + "=== ROUND " + roundCount + " (tick " + scheduler.getTick() + ") ===" + ConsoleColors.RESET);
+            renderBoard();
+        }
+        if (quitGame || outcome() != ONGOING) return;
+
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.INPUT_WAIT);
+        try {
+            scheduler.awaitNextTick();
+        } finally {
+            metrics.end();
+        }
+    }
+
+    /**
+     * Tick work: apply queued hero commands, and close the round every {@code ticksPerRound} ticks.
+     * Allocation-free unless a command or a round boundary produces output.
+     */
+    private void onTick(long tick) {
+        if (quitGame || outcome() != ONGOING) return;
+        effects.advanceTo(effects.now() + 1);
+
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.HERO_RULES);
+        try {
+            int command;
+            while ((command = commands.poll()) != CommandQueue.EMPTY) {
+                if (command == CMD_QUIT) {
+                    quitGame = true;
+                    return;
+                }
+                applyRealTimeCommand(command, tick);
+            }
+        } finally {
+            metrics.end();
+        }
+
+        if ((tick + 1) % ticksPerRound == 0) {
+            endRound();
+            frameDirty = true;
+        }
+        runWaves(tick + 1);
+    }
+
+    /**
+     * A hero that acted waits half a round before its next command is accepted.
+     */
+    private void applyRealTimeCommand(int command, long tick) {
+        int slot = command >>> 8;
+        Hero hero = party.getHeroes().get(slot);
+        if (hero.isFainted()) {
+            System.out.println(ConsoleColors.RED + hero.getName() + " is fainted (respawns at Nexus next round)." + ConsoleColors.RESET);
+            return;
+        }
+        if (tick < heroReadyTick[slot]) {
+            System.out.println(ConsoleColors.YELLOW + hero.getName() + " is still recovering." + ConsoleColors.RESET);
+            return;
+        }
+
+        boolean acted;
+        switch (command & 0xFF) {
+            case 'w': acted = moveHero(hero, -1, 0, null); break;
+            case 's': acted = moveHero(hero, 1, 0, null); break;
+            case 'a': acted = moveHero(hero, 0, -1, null); break;
+            case 'd': acted = moveHero(hero, 0, 1, null); break;
+            case 'r': acted = handleRecall(hero); break;
+            case 'f':
+                Monster target = weakestMonsterInRange(hero);
+                if (target == null) {
+                    System.out.println(ConsoleColors.YELLOW + "No monsters in range." + ConsoleColors.RESET);
+                    acted = false;
+                } else {
+                    acted = attackMonster(hero, target);
+                }
+                break;
+            default: acted = false;
+        }
+        if (acted) {
+            heroReadyTick[slot] = tick + Math.max(1, ticksPerRound / 2);
+            frameDirty = true;
+        }
+    }
+
+    private Monster weakestMonsterInRange(Hero hero) {
+        Monster weakest = null;
+        for (int r = hero.getRow() - 1; r <= hero.getRow() + 1; r++) {
+            for (int c = hero.getCol() - 1; c <= hero.getCol() + 1; c++) {
+                if (!board.isValidCoordinate(r, c) || !board.getCell(r, c).hasMonster()) continue;
+                Monster m = board.getCell(r, c).getMonster();
+                if (weakest == null || m.getHp() < weakest.getHp()) weakest = m;
+            }
+        }
+        return weakest;
+    }
+
+    /**
+     * Reads commands on a daemon thread and queues them for the next tick.
+     * The reader owns the scanner until {@link #stopCommandReader()} joins it.
+     */
+    private void startCommandReader(Scanner scanner) {
+        int heroCount = party.getHeroes().size();
+        realTimeRunning = true;
+        commandReader = new Thread(() -> {
+            while (realTimeRunning) {
+                String line;
+                try {
+                    line = InputValidator.readRawLine(scanner);
+                } catch (NoSuchElementException e) {
+                    commands.offer(CMD_QUIT); // Input closed: end the match rather than run forever
+                    return;
+                }
+                if (!realTimeRunning) return; // The match ended while waiting; this line only released the reader
+                int command = parseRealTimeCommand(line, heroCount);
+                if (command < 0) {
+                    System.out.println(ConsoleColors.RED + "Unknown command '" + line.trim() + "'. Use <hero><w/a/s/d/f/r>, e.g. 1w, or q." + ConsoleColors.RESET);
+                } else if (!commands.offer(command)) {
+                    System.out.println(ConsoleColors.RED + "Too many queued commands; '" + line.trim() + "' dropped." + ConsoleColors.RESET);
+                } else if (command == CMD_QUIT) {
+                    return;
+                }
+            }
+        }, "valor-command-reader");
+        commandReader.setDaemon(true);
+        commandReader.start();
+    }
+
+    /**
+     * Hands the console back to the game loop once the match is over.
+     */
+    private void stopCommandReader() {
+        if (commandReader == null) return;
+        realTimeRunning = false;
+        if (commandReader.isAlive()) {
+            System.out.println(ConsoleColors.YELLOW + "Press Enter to continue..." + ConsoleColors.RESET);
+            try {
+                commandReader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        commandReader = null;
+    }
+
+    /**
+     * @return {@code slot << 8 | action}, {@link #CMD_QUIT}, or -1 if the line is not a command.
+     */
+    private static int parseRealTimeCommand(String line, int heroCount) {
+        String cmd = line.replace(" ", "").toLowerCase();
+        if (cmd.equals("q")) return CMD_QUIT;
+        if (cmd.length() != 2) return -1;
+        int slot = cmd.charAt(0) - '1';
+        char action = cmd.charAt(1);
+        if (slot < 0 || slot >= heroCount || "wasdfr".indexOf(action) < 0) return -1;
+        return (slot << 8) | action;
+    }
+
+    private void printRealTimeHelp() {
+        System.out.println(ConsoleColors.CYAN + "\nREAL-TIME MODE: " + tickRate + " ticks/s, monsters advance every " + ticksPerRound + " ticks." + ConsoleColors.RESET);
+        System.out.println("Type a hero number and an action, then Enter: "
+                + ConsoleColors.YELLOW + "W/A/S/D" + ConsoleColors.RESET + " move, "
+                + ConsoleColors.YELLOW + "F" + ConsoleColors.RESET + " attack weakest in range, "
+                + ConsoleColors.YELLOW + "R" + ConsoleColors.RESET + " recall (e.g. 1w, 3f). "
+                + ConsoleColors.YELLOW + "Q" + ConsoleColors.RESET + " quits.");
+    }
+
+    /**
+     * Effect clock steps for a duration in rounds: one per round, or one per tick in real-time play.
+     */
+    private long effectDuration(int rounds) {
+        return (tickRate > 0) ? (long) rounds * ticksPerRound : rounds;
+    }
+
+    // POSITION HASHING
+
+    /**
+     * Applies damage to a monster and moves its hash key to the new HP bucket.
+     */
+    private void damageMonster(Monster target, double amount) {
+        positionHash ^= monsterKey(target);
+        target.setHp(target.getHp() - amount);
+        positionHash ^= monsterKey(target);
+    }
+
+    private long heroKey(Hero h) {
+        return ZobristKeys.hero(party.getHeroes().indexOf(h), h.getRow() * board.getWidth() + h.getCol(),
+                ZobristKeys.hpBucket(h.getHp(), h.getMaxHp()));
+    }
+
+    /** Fainted monsters are out of the position even before they leave the board. */
+    private long monsterKey(Monster m) {
+        if (m.isFainted()) return 0L;
+        return ZobristKeys.monster(m.getRow() * board.getWidth() + m.getCol(),
+                ZobristKeys.hpBucket(m.getHp(), m.getMaxHp()));
+    }
+
+    /**
+     * Full recomputation; used once after setup; afterwards the hash is maintained incrementally.
+     */
+    private long computePositionHash() {
+        long hash = ZobristKeys.round(roundCount);
+        for (int r = 0; r < board.getHeight(); r++) {
+            for (int c = 0; c < board.getWidth(); c++) {
+                hash ^= ZobristKeys.terrain(r * board.getWidth() + c, board.getCell(r, c).getType().ordinal());
+            }
+        }
+        for (Hero h : party.getHeroes()) hash ^= heroKey(h);
+        for (Monster m : activeMonsters) hash ^= monsterKey(m);
+        return hash;
+    }
+
+    /** Zobrist hash of the current position; equal positions hash equally across games. */
+    public long getPositionHash() {
+        return positionHash;
+    }
+
+    // AI CONTROL
+
+    private void playAiTurn(Hero hero) {
+        if (search == null) search = new ValorSearch(combat);
+        int heroIndex = party.getHeroes().indexOf(hero);
+        List<Spell> spells = hero.getInventory().getSpells();
+        ValorState state = snapshotState();
+
+        int action = search.chooseAction(state, heroIndex, aiBudgetMillis);
+        System.out.println(ConsoleColors.PURPLE + "[AI] " + hero.getName() + " decides to " + ValorAction.describe(action) + "." + ConsoleColors.RESET);
+
+        boolean done;
+        switch (ValorAction.type(action)) {
+            case ValorAction.MOVE:
+                int dir = ValorAction.argA(action);
+                done = moveHero(hero, ValorAction.rowDelta(dir), ValorAction.colDelta(dir), null);
+                break;
+            case ValorAction.ATTACK:
+                done = attackMonster(hero, aiMonsters.get(ValorAction.argA(action)));
+                break;
+            case ValorAction.CAST:
+                done = castSpell(hero, spells.get(ValorAction.argA(action)), aiMonsters.get(ValorAction.argB(action)));
+                break;
+            case ValorAction.TELEPORT:
+                done = teleportHero(hero, party.getHeroes().get(ValorAction.argA(action)));
+                break;
+            case ValorAction.RECALL:
+                done = handleRecall(hero);
+                break;
+            default:
+                done = false;
+        }
+        if (!done) {
+            System.out.println(hero.getName() + " holds position.");
+        }
+    }
+
+    /**
+     * Copies the live match into a {@link ValorState}. Monster indices refer to {@link #aiMonsters}
+     * and hero indices to party order; spell slots follow the inventory's spell list.
+     */
+    private ValorState snapshotState() {
+        List<Hero> heroes = party.getHeroes();
+        aiMonsters.clear();
+        for (Monster m : activeMonsters) {
+            if (!m.isFainted()) aiMonsters.add(m);
+        }
+
+        ValorState state = new ValorState(heroes.size(), aiMonsters.size() + 8);
+        for (int r = 0; r < board.getHeight(); r++) {
+            for (int c = 0; c < board.getWidth(); c++) {
+                state.setTerrain(r, c, board.getCell(r, c).getType());
+            }
+        }
+        for (int i = 0; i < heroes.size(); i++) {
+            Hero h = heroes.get(i);
+            double weapon = (h.getEquippedWeapon() != null) ? h.getEquippedWeapon().getDamage() : 0;
+            state.setHero(i, h.getRow(), h.getCol(), h.getLane(), h.getHp(), h.getMaxHp(),
+                    h.getMana(), h.getMaxMana(), h.getStrength(), weapon, h.getDexterity());
+            for (Spell spell : h.getInventory().getSpells()) {
+                if (state.addSpell(i, spell.getDamage(), spell.getManaCost(), spell.getType().ordinal()) < 0) break;
+            }
+        }
+        for (Monster m : aiMonsters) {
+            state.addMonster(m.getRow(), m.getCol(), m.getLane(), m.getHp(), m.getMaxHp(),
+                    m.getDefense(), m.getDodgeChance(), m.getBaseDamage());
+        }
+        state.setRound(roundCount);
+        assert state.getHash() == positionHash : "Snapshot hash diverged from the incremental position hash";
+
+        // Reinforcements inside the simulation use the catalog's average at the current spawn level
+        int level = heroes.stream().mapToInt(Hero::getLevel).max().orElse(1);
+        double hp = 0, defense = 0, dodge = 0, damage = 0;
+        int counted = 0;
+        for (Monster m : monsterCatalog) {
+            MonsterTemplate t = m.getTemplate();
+            if (t == null) continue;
+            hp += t.hpAt(level);
+            defense += t.defenseAt(level);
+            dodge += t.dodgeAt(level) * 0.01; // Same scaling as Monster.getDodgeChance
+            damage += t.damageAt(level);
+            counted++;
+        }
+        if (counted > 0) {
+            state.setSpawnStats(hp / counted, defense / counted, dodge / counted, damage / counted);
+        }
+        return state;
+    }
+
+    private void renderBoard() {
+        if (ScriptRunner.isTurbo()) return;
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.begin(GamePhase.RENDER);
+        try {
+            board.printBoard();
+        } finally {
+            metrics.end();
+        }
     }
 
     private void printControls() {
@@ -245,6 +877,15 @@ public class ValorGame extends Game {
             case "d": dC = 1; break; // Right
         }
 
+        return moveHero(hero, dR, dC, scanner);
+    }
+
+    /**
+     * Move core shared by players and the AI.
+     *
+     * @param scanner Used to confirm destroying an obstacle; {@code null} destroys it without asking.
+     */
+    private boolean moveHero(Hero hero, int dR, int dC, Scanner scanner) {
         int newR = hero.getRow() + dR;
         int newC = hero.getCol() + dC;
 
@@ -275,10 +916,14 @@ public class ValorGame extends Game {
         // Obstacles
         if (target.getType() == CellType.OBSTACLE) {
             System.out.println(ConsoleColors.YELLOW + "An OBSTACLE blocks your path." + ConsoleColors.RESET);
-            String choice = InputValidator.getValidOption(scanner, "Do you want to destroy it? (y/n): ", "y", "n");
+            String choice = (scanner == null) ? "y"
+                    : InputValidator.getValidOption(scanner, "Do you want to destroy it? (y/n): ", "y", "n");
 
             if (choice.equals("y")) {
+                positionHash ^= ZobristKeys.terrain(newR * board.getWidth() + newC, CellType.OBSTACLE.ordinal())
+                        ^ ZobristKeys.terrain(newR * board.getWidth() + newC, CellType.COMMON.ordinal());
                 target.setType(CellType.COMMON); // Convert to plain cell
+                pathfinder.cellOpened(newR, newC);
                 System.out.println(ConsoleColors.GREEN + "You destroyed the obstacle! (Turn Used)" + ConsoleColors.RESET);
                 return true; // Turn consumed, but hero doesn't move yet
             } else {
@@ -303,9 +948,11 @@ public class ValorGame extends Game {
         }
 
         // EXECUTE MOVE
+        positionHash ^= heroKey(hero);
         board.getCell(hero.getRow(), hero.getCol()).removeHero();
         hero.setPosition(newR, newC);
         target.setHero(hero);
+        positionHash ^= heroKey(hero);
 
         System.out.println(hero.getName() + " moved to (" + newR + "," + newC + ")");
         applyTerrainBonus(hero, target);
@@ -328,7 +975,7 @@ public class ValorGame extends Game {
         }
     }
 
-    private boolean handleAttack(Scanner scanner, Hero hero) {
+    private List<Monster> monstersInRange(Hero hero) {
         List<Monster> targets = new ArrayList<>();
         // Check 3x3 grid around hero
         for (int r = hero.getRow() - 1; r <= hero.getRow() + 1; r++) {
@@ -338,6 +985,11 @@ public class ValorGame extends Game {
                 }
             }
         }
+        return targets;
+    }
+
+    private boolean handleAttack(Scanner scanner, Hero hero) {
+        List<Monster> targets = monstersInRange(hero);
 
         if (targets.isEmpty()) {
             System.out.println(ConsoleColors.YELLOW + "No monsters in range." + ConsoleColors.RESET);
@@ -350,27 +1002,37 @@ public class ValorGame extends Game {
         }
 
         int idx = InputValidator.getValidInt(scanner, "Target: ", 1, targets.size()) - 1;
-        Monster target = targets.get(idx);
+        return attackMonster(hero, targets.get(idx));
+    }
 
-        double rawDmg = hero.attack(target);
+    /**
+     * Pays out a defeated monster to the hero that dealt the final blow, then removes it.
+     */
+    private void rewardKill(Hero hero, Monster target) {
+        double gold = combat.killGold(target.getLevel());
+        int xp = combat.killExperience(target.getLevel());
+        hero.addMoney(gold);
+        hero.gainExperience(xp);
+        System.out.println("Gained " + gold + " gold and " + xp + " XP.");
+        monstersDefeated++;
+        goldEarned += (long) gold;
+
+        removeMonster(target);
+    }
 
-        if (Math.random() < target.getDodgeChance()) {
+    private boolean attackMonster(Hero hero, Monster target) {
+        if (CombatResolver.dodged(combat.monsterDodgeChance(target.getDodgeChance()), rng.nextDouble())) {
             System.out.println(target.getName() + " DODGED the attack!");
         } else {
-            double actualDmg = Math.max(0, rawDmg - (target.getDefense() * 0.02));
-            target.setHp(target.getHp() - actualDmg);
+            double weaponDmg = (hero.getEquippedWeapon() != null) ? hero.getEquippedWeapon().getDamage() : 0;
+            double actualDmg = combat.heroAttackDamage(hero.getStrength(), weaponDmg, target.getDefense());
+            damageMonster(target, actualDmg);
             System.out.println(hero.getName() + " dealt " + ConsoleColors.RED + String.format("%.0f", actualDmg) + ConsoleColors.RESET + " damage!");
 
             if (target.isFainted()) {
                 System.out.println(ConsoleColors.GREEN + target.getName() + " was DEFEATED!" + ConsoleColors.RESET);
-                board.getCell(target.getRow(), target.getCol()).removeMonster();
-                activeMonsters.remove(target);
-
-                double gold = 500 * target.getLevel();
-                int xp = 2 * target.getLevel();
-                hero.addMoney(gold);
-                hero.gainExperience(xp);
-                System.out.println("Gained " + gold + " gold and " + xp + " XP.");
+
+                rewardKill(hero, target); // Recycles the monster, so it must come last
             }
         }
         return true;
@@ -384,14 +1046,7 @@ public class ValorGame extends Game {
         }
 
         // Find targets in same range as attack (3x3 grid)
-        List<Monster> targets = new ArrayList<>();
-        for (int r = hero.getRow() - 1; r <= hero.getRow() + 1; r++) {
-            for (int c = hero.getCol() - 1; c <= hero.getCol() + 1; c++) {
-                if (board.isValidCoordinate(r, c) && board.getCell(r, c).hasMonster()) {
-                    targets.add(board.getCell(r, c).getMonster());
-                }
-            }
-        }
+        List<Monster> targets = monstersInRange(hero);
 
         if (targets.isEmpty()) {
             System.out.println(ConsoleColors.YELLOW + "No monsters in range." + ConsoleColors.RESET);
@@ -421,32 +1076,38 @@ public class ValorGame extends Game {
         }
 
         int targetIdx = InputValidator.getValidInt(scanner, "Target: ", 1, targets.size()) - 1;
-        Monster target = targets.get(targetIdx);
+        return castSpell(hero, spell, targets.get(targetIdx));
+    }
+
+    private boolean castSpell(Hero hero, Spell spell, Monster target) {
+        if (hero.getMana() < spell.getManaCost()) return false;
 
         // Deduct mana
         hero.setMana(hero.getMana() - spell.getManaCost());
 
         // Calculate damage with dexterity bonus
-        double damage = spell.getDamage() + ((hero.getDexterity() / 10000.0) * spell.getDamage());
+        double damage = combat.spellDamage(spell.getDamage(), hero.getDexterity());
         
         // Check dodge
-        if (Math.random() < target.getDodgeChance()) {
+        if (combat.isSpellDodgeable()
+                && CombatResolver.dodged(combat.monsterDodgeChance(target.getDodgeChance()), rng.nextDouble())) {
             System.out.println(target.getName() + " DODGED the spell!");
         } else {
-            target.setHp(target.getHp() - damage);
+            damageMonster(target, damage);
             System.out.printf("%s casts %s on %s for " + ConsoleColors.RED + "%.0f damage!" + ConsoleColors.RESET + "\n", 
                     hero.getName(), spell.getName(), target.getName(), damage);
 
             // Apply spell effects if target survives
             if (!target.isFainted()) {
+                long duration = effectDuration(combat.spellDebuffRounds());
                 if (spell.getType() == SpellType.ICE) {
-                    target.reduceDamage(target.getBaseDamage() * 0.1);
+                    effects.apply(target, StatusEffects.Kind.DAMAGE, combat.spellDebuff(target.getBaseDamage()), duration);
                     System.out.println(ConsoleColors.CYAN + target.getName() + "'s damage reduced by Ice!" + ConsoleColors.RESET);
                 } else if (spell.getType() == SpellType.FIRE) {
-                    target.reduceDefense(target.getDefense() * 0.1);
+                    effects.apply(target, StatusEffects.Kind.DEFENSE, combat.spellDebuff(target.getDefense()), duration);
                     System.out.println(ConsoleColors.RED + target.getName() + "'s defense melted by Fire!" + ConsoleColors.RESET);
                 } else if (spell.getType() == SpellType.LIGHTNING) {
-                    target.reduceDodgeChance(target.getDodgeChance() * 0.1);
+                    effects.apply(target, StatusEffects.Kind.DODGE, combat.spellDebuff(target.getDodgeChance()), duration);
                     System.out.println(ConsoleColors.YELLOW + target.getName() + "'s dodge reduced by Lightning!" + ConsoleColors.RESET);
                 }
             }
@@ -454,14 +1115,8 @@ public class ValorGame extends Game {
             // Check if target defeated
             if (target.isFainted()) {
                 System.out.println(ConsoleColors.GREEN + target.getName() + " was DEFEATED!" + ConsoleColors.RESET);
-                board.getCell(target.getRow(), target.getCol()).removeMonster();
-                activeMonsters.remove(target);
-
-                double gold = 500 * target.getLevel();
-                int xp = 2 * target.getLevel();
-                hero.addMoney(gold);
-                hero.gainExperience(xp);
-                System.out.println("Gained " + gold + " gold and " + xp + " XP.");
+
+                rewardKill(hero, target); // Recycles the monster, so it must come last
             }
         }
 
@@ -486,8 +1141,10 @@ public class ValorGame extends Game {
         System.out.println("Teleport to lane of:");
         for (int i = 0; i < targets.size(); i++) System.out.println((i + 1) + ". " + targets.get(i).getName());
         int idx = InputValidator.getValidInt(scanner, "Choice: ", 1, targets.size()) - 1;
-        Hero destHero = targets.get(idx);
+        return teleportHero(hero, targets.get(idx));
+    }
 
+    private boolean teleportHero(Hero hero, Hero destHero) {
         int r = destHero.getRow();
         int c = destHero.getCol();
         int[][] spots = {{r, c - 1}, {r, c + 1}, {r + 1, c}};
@@ -496,10 +1153,12 @@ public class ValorGame extends Game {
             if (board.isValidCoordinate(s[0], s[1])) {
                 Cell cell = board.getCell(s[0], s[1]);
                 if (cell.isAccessible() && !cell.hasHero() && !cell.hasMonster()) {
+                    positionHash ^= heroKey(hero);
                     board.getCell(hero.getRow(), hero.getCol()).removeHero();
                     hero.setPosition(s[0], s[1]);
                     hero.setLane(destHero.getLane());
                     cell.setHero(hero);
+                    positionHash ^= heroKey(hero);
                     System.out.println(ConsoleColors.PURPLE + "*WOOSH* " + hero.getName() + " teleported to " + destHero.getName() + "!" + ConsoleColors.RESET);
                     return true;
                 }
@@ -510,8 +1169,8 @@ public class ValorGame extends Game {
     }
 
     private boolean handleRecall(Hero hero) {
-        int r = 7;
-        int c = (hero.getLane() == 0) ? 0 : (hero.getLane() == 1) ? 3 : 6;
+        int r = layout.getHeroNexusRow();
+        int c = layout.heroSpawnColumn(hero.getLane());
 
         Cell spawn = board.getCell(r, c);
         if (spawn.hasHero() && spawn.getHero() != hero) {
@@ -519,9 +1178,11 @@ public class ValorGame extends Game {
             return false;
         }
 
+        positionHash ^= heroKey(hero);
         board.getCell(hero.getRow(), hero.getCol()).removeHero();
         hero.setPosition(r, c);
         spawn.setHero(hero);
+        positionHash ^= heroKey(hero);
         System.out.println(ConsoleColors.CYAN + hero.getName() + " recalled to Nexus." + ConsoleColors.RESET);
         return true;
     }
@@ -541,7 +1202,7 @@ public class ValorGame extends Game {
         marketController.enterMarket(scanner, hero);
         
         // Redisplay the board and hero turn info after exiting market
-        board.printBoard();
+        renderBoard();
         System.out.println("\nTurn: " + ConsoleColors.CYAN + hero.getName() + " [H" + (hero.getLane() + 1) + "]" + ConsoleColors.RESET + " (Lane " + hero.getLane() + ")");
         
         // Market visit doesn't consume a turn
@@ -559,7 +1220,9 @@ public class ValorGame extends Game {
         int choice = InputValidator.getValidInt(scanner, "Use: ", 1, potions.size()) - 1;
         Potion p = potions.get(choice);
 
+        positionHash ^= heroKey(hero);
         p.apply(hero);
+        positionHash ^= heroKey(hero);
 
         hero.getInventory().removeItem(p);
         return true;
@@ -586,35 +1249,119 @@ public class ValorGame extends Game {
 
     private void processMonstersTurn() {
         System.out.println(ConsoleColors.RED + "\n--- Monsters Turn ---" + ConsoleColors.RESET);
+        if (hordeMode) {
+            processHordeTurn();
+            return;
+        }
         Iterator<Monster> it = activeMonsters.iterator();
         while (it.hasNext()) {
             Monster m = it.next();
             if (m.isFainted()) {
+                positionHash ^= monsterKey(m);
                 board.getCell(m.getRow(), m.getCol()).removeMonster();
                 it.remove();
+                if (hordeMode) monsterStore.remove(m);
+                effects.clear(m);
+                GameDataLoader.recycleMonster(m);
                 continue;
             }
 
-            int newR = m.getRow() + 1;
-            if (newR < 8) {
-                Cell t = board.getCell(newR, m.getCol());
-                if (!t.hasMonster() && !t.hasHero() && t.isAccessible()) {
-                    board.getCell(m.getRow(), m.getCol()).removeMonster();
-                    m.setPosition(newR, m.getCol());
-                    t.setMonster(m);
-                    System.out.println(m.getName() + " moved South.");
-                }
+            int step = nextMonsterStep(m);
+            if (step >= 0) {
+                int newR = step / board.getWidth();
+                int newC = step % board.getWidth();
+                Cell t = board.getCell(newR, newC);
+                positionHash ^= monsterKey(m);
+                board.getCell(m.getRow(), m.getCol()).removeMonster();
+                String direction = newR > m.getRow() ? "South" : (newC > m.getCol() ? "East" : "West");
+                m.setPosition(newR, newC);
+                t.setMonster(m);
+                positionHash ^= monsterKey(m);
+                System.out.println(m.getName() + " moved " + direction + ".");
             }
         }
     }
 
+    /**
+     * Picks a monster's move from the distance field to the Hero Nexus: the free cell south or
+     * beside it in its lane that is strictly closer, so monsters walk around obstacles. When no
+     * obstacle-free route exists the monster marches straight south, over obstacles if need be.
+     *
+     * @return Cell index to move to, or -1 to stay put.
+     */
+    private int nextMonsterStep(Monster m) {
+        Pathfinder.DistanceField field = pathfinder.fieldToRow(layout.getHeroNexusRow());
+        int r = m.getRow();
+        int c = m.getCol();
+        int here = field.distance(r, c);
+        int best = -1;
+        int bestDistance = here;
+        for (int i = 0; i < MONSTER_STEP_DR.length; i++) {
+            int nr = r + MONSTER_STEP_DR[i];
+            int nc = c + MONSTER_STEP_DC[i];
+            if (!board.isValidCoordinate(nr, nc) || layout.laneOf(nc) != layout.laneOf(c)) continue;
+            int d = field.distance(nr, nc);
+            if (d >= bestDistance || !isFreeForMonster(board.getCell(nr, nc))) continue;
+            best = nr * board.getWidth() + nc;
+            bestDistance = d;
+        }
+        if (best < 0 && here == Pathfinder.UNREACHABLE && r + 1 < board.getHeight()
+                && isFreeForMonster(board.getCell(r + 1, c))) {
+            best = (r + 1) * board.getWidth() + c;
+        }
+        return best;
+    }
+
+    private boolean isFreeForMonster(Cell cell) {
+        return !cell.hasMonster() && !cell.hasHero() && cell.isAccessible();
+    }
+
+    /**
+     * Horde movement: snapshot occupancy into a flat grid, let the store advance every
+     * monster in one array pass, then update only the cells of monsters that moved.
+     */
+    private void processHordeTurn() {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                Cell cell = board.getCell(r, c);
+                occupancy[r * width + c] = !cell.isAccessible() || cell.hasHero() || cell.hasMonster();
+            }
+        }
+
+        if (movedSlots == null || movedSlots.length < monsterStore.size()) {
+            movedSlots = new int[Math.max(64, monsterStore.size() * 2)];
+        }
+        int moved = monsterStore.advanceSouth(occupancy, width, height, movedSlots);
+
+        for (int i = 0; i < moved; i++) {
+            Monster m = monsterStore.getView(movedSlots[i]);
+            board.getCell(m.getRow() - 1, m.getCol()).removeMonster();
+            board.getCell(m.getRow(), m.getCol()).setMonster(m);
+            int bucket = ZobristKeys.hpBucket(m.getHp(), m.getMaxHp());
+            positionHash ^= ZobristKeys.monster((m.getRow() - 1) * width + m.getCol(), bucket)
+                    ^ ZobristKeys.monster(m.getRow() * width + m.getCol(), bucket);
+        }
+        System.out.println(moved + " of " + monsterStore.size() + " monsters advanced South.");
+    }
+
     private void performRegeneration() {
+        if (hordeMode) {
+            for (Monster m : activeMonsters) positionHash ^= monsterKey(m);
+            monsterStore.regenerate(combat.getRegenFactor());
+            for (Monster m : activeMonsters) positionHash ^= monsterKey(m);
+        }
+
         for (Hero h : party.getHeroes()) {
+            positionHash ^= heroKey(h);
             if (!h.isFainted()) {
-                h.setHp(h.getHp() * 1.1);
-                h.setMana(h.getMana() * 1.1);
+                h.setHp(combat.regenerate(h.getHp()));
+                h.setMana(combat.regenerate(h.getMana()));
+                positionHash ^= heroKey(h);
             } else {
                 h.revive();
+                positionHash ^= heroKey(h);
                 handleRecall(h);
                 System.out.println(ConsoleColors.GREEN + h.getName() + " has respawned at the Nexus!" + ConsoleColors.RESET);
             }
@@ -637,26 +1384,41 @@ public class ValorGame extends Game {
 
     @Override
     protected boolean isGameOver() {
-        for (Hero h : party.getHeroes()) {
-            if (h.getRow() == 0) {
+        switch (outcome()) {
+            case HEROES_WIN:
                 System.out.println(ConsoleColors.GREEN + "\n*** VICTORY! ***" + ConsoleColors.RESET);
                 return true;
-            }
-        }
-        for (Monster m : activeMonsters) {
-            if (m.getRow() == 7) {
+            case MONSTERS_WIN:
                 System.out.println(ConsoleColors.RED + "\n*** DEFEAT! ***" + ConsoleColors.RESET);
                 System.out.println(ConsoleColors.RED + "You lost!" + ConsoleColors.RESET);
                 return true;
-            }
+            default:
+                return false;
         }
-        return false;
+    }
+
+    /**
+     * Win/loss check without output (indexed loops so the per-tick check allocates nothing).
+     */
+    private int outcome() {
+        List<Hero> heroes = party.getHeroes();
+        for (int i = 0; i < heroes.size(); i++) {
+            if (heroes.get(i).getRow() == layout.getMonsterNexusRow()) return HEROES_WIN;
+        }
+        int heroNexus = layout.getHeroNexusRow();
+        if (hordeMode) {
+            return (monsterStore.maxRow() == heroNexus) ? MONSTERS_WIN : ONGOING;
+        }
+        for (int i = 0; i < activeMonsters.size(); i++) {
+            if (activeMonsters.get(i).getRow() == heroNexus) return MONSTERS_WIN;
+        }
+        return ONGOING;
     }
 
     @Override
     protected boolean shouldQuit() { return quitGame; }
 
-    private void showDetailedHeroInfo(Hero hero) {
+    private void showDetailedHeroInfo(Scanner scanner, Hero hero) {
         System.out.println("\n" + ConsoleColors.WHITE_BOLD + "=== HERO INFORMATION ===" + ConsoleColors.RESET);
         
         System.out.println("\n" + ConsoleColors.PURPLE + String.format("[%s] %s (Lvl %d) - Lane %d", 
@@ -703,8 +1465,7 @@ public class ValorGame extends Game {
         }
         
         System.out.println("\n" + ConsoleColors.YELLOW + "Press Enter to continue..." + ConsoleColors.RESET);
-        Scanner scanner = new Scanner(System.in);
-        scanner.nextLine();
+        InputValidator.readLine(scanner);
     }
 
     private String extractItemStats(items.Item item) {
@@ -724,22 +1485,43 @@ public class ValorGame extends Game {
 
     @Override
     protected void endGame() {
+        stopCommandReader();
         System.out.println(ConsoleColors.RED + "\nGame Over. Thanks for playing Legends of Valor!" + ConsoleColors.RESET);
         if (party != null) {
             System.out.println(ConsoleColors.WHITE_BOLD + "Final Status:" + ConsoleColors.RESET);
             printDashboard();
+            recordResult();
         }
-        
-        Scanner scanner = new Scanner(System.in);
-        String input = InputValidator.getValidOption(scanner, "\n" + ConsoleColors.YELLOW + "Do you want to play again? (yes/no): " + ConsoleColors.RESET, "y", "yes", "n", "no");
-        
-        if (input.equals("y") || input.equals("yes")) {
-            // Restart the entire application to go back to game selection
-            System.out.println(ConsoleColors.GREEN + "Returning to main menu..." + ConsoleColors.RESET);
-            common.GameRunner.run();
-        } else {
-            System.out.println(ConsoleColors.CYAN + "Goodbye!" + ConsoleColors.RESET);
-            System.exit(0);
+    }
+
+    private void recordResult() {
+        List<Hero> heroes = party.getHeroes();
+        if (heroes.isEmpty()) return;
+        int maxLevel = heroes.stream().mapToInt(Hero::getLevel).max().getAsInt();
+        int victoryRounds = (outcome() == HEROES_WIN) ? roundCount : 0;
+        Leaderboard board = Leaderboard.getInstance();
+        Leaderboard.Entry entry = board.record(heroes.get(0).getName(), Leaderboard.GameKind.VALOR,
+                victoryRounds, maxLevel, goldEarned, monstersDefeated);
+        System.out.println(ConsoleColors.CYAN + "Leaderboard: " + board.describe(entry) + ConsoleColors.RESET);
+    }
+
+    @Override
+    protected void releaseSession() {
+        effects.clearAll();
+        if (activeMonsters != null) {
+            for (Monster m : activeMonsters) GameDataLoader.recycleMonster(m);
         }
+        board = null;
+        pathfinder = null;
+        party = null;
+        activeMonsters = null;
+        marketController = null;
+        monsterStore = null;
+        occupancy = null;
+        movedSlots = null;
+        aiMonsters.clear();
+        scheduler = null;
+        commands = null;
+        heroReadyTick = null;
     }
 }
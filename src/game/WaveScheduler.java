@@ -0,0 +1,311 @@
+package game;
+
+import entities.Monster;
+import entities.Monster.MonsterType;
+import utils.GameDataLoader;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Timed Valor monster waves, driven by a declarative wave script.
+ *
+ * <p>Every {@link Wave} arrives at a round or tick, may repeat at a fixed interval, and sends a
+ * number of monsters down each lane from a template pool. Pending arrivals sit in a priority
+ * queue ordered by time, so advancing the clock costs only the waves that are due, however
+ * long the script is. A wave's monsters either queue per lane until a spawn cell frees up
+ * ({@code queue}) or are dropped when the lane's spawn cells are taken ({@code skip}, the
+ * classic rule). Queued monsters leave their lane in arrival order.</p>
+ *
+ * <p>The clock counts in steps: one per round in turn-based play, one per tick in real-time
+ * play. Round times are converted with the round length, the same way status effects are
+ * timed. Placement is left to the game through {@link Spawner}.</p>
+ */
+public final class WaveScheduler {
+    /** Lane count meaning "every free spawn cell in the lane" (skip waves only). */
+    public static final int FILL = -1;
+
+    /** Board side of a wave: where monsters go and how blocked lanes are reported. */
+    public interface Spawner {
+        /** A wave has arrived. */
+        void announce(Wave wave);
+
+        /** Places one monster from {@code wave} in {@code lane}; false if no spawn cell is free. */
+        boolean spawn(int lane, Wave wave);
+
+        /** A skip wave lost monsters in {@code lane} to occupied spawn cells. */
+        void blocked(int lane, Wave wave);
+    }
+
+    /** Templates a wave draws from: the spawn table, or a fixed list picked uniformly. */
+    public static final class Pool {
+        public static final Pool SPAWN_TABLE = new Pool(null);
+
+        private final List<Monster> templates;
+
+        private Pool(List<Monster> templates) {
+            this.templates = templates;
+        }
+
+        /**
+         * Parses {@code any} (the spawn table) or a {@code +}-separated list of monster types
+         * and template names, resolved against {@code catalog}.
+         */
+        public static Pool parse(String spec, List<Monster> catalog) {
+            if (spec.equalsIgnoreCase("any")) return SPAWN_TABLE;
+            List<Monster> picked = new ArrayList<>();
+            for (String part : spec.split("\\+")) {
+                MonsterType type = null;
+                for (MonsterType t : MonsterType.values()) {
+                    if (t.name().equalsIgnoreCase(part)) type = t;
+                }
+                boolean found = false;
+                for (Monster m : catalog) {
+                    if ((type != null) ? m.getType() == type : m.getName().equalsIgnoreCase(part)) {
+                        if (!picked.contains(m)) picked.add(m);
+                        found = true;
+                    }
+                }
+                if (!found) {
+                    throw new IllegalArgumentException("No monster type or template named '" + part + "'.");
+                }
+            }
+            return new Pool(Collections.unmodifiableList(picked));
+        }
+
+        public boolean isSpawnTable() {
+            return templates == null;
+        }
+
+        /** @param roll Uniform roll in [0, 1). */
+        public Monster pick(double roll) {
+            return templates.get(Math.min((int) (roll * templates.size()), templates.size() - 1));
+        }
+    }
+
+    /** One scripted wave. Immutable. */
+    public static final class Wave {
+        private final String name;
+        private final long at;
+        private final long every;       // 0: once
+        private final int times;        // 0: unlimited (when repeating)
+        private final boolean inTicks;  // Times in ticks instead of rounds
+        private final int[] laneCounts;
+        private final Pool pool;
+        private final boolean queue;
+
+        public Wave(String name, long at, long every, int times, boolean inTicks, int[] laneCounts, Pool pool, boolean queue) {
+            if (at < 0 || every < 0 || times < 0) {
+                throw new IllegalArgumentException("Wave times and repeats cannot be negative.");
+            }
+            for (int count : laneCounts) {
+                if (count < FILL) throw new IllegalArgumentException("Wave lane counts cannot be negative.");
+                if (count == FILL && queue) throw new IllegalArgumentException("A 'fill' wave cannot queue its monsters.");
+            }
+            this.name = name;
+            this.at = at;
+            this.every = every;
+            this.times = (every == 0) ? 1 : times;
+            this.inTicks = inTicks;
+            this.laneCounts = laneCounts.clone();
+            this.pool = pool;
+            this.queue = queue;
+        }
+
+        public String getName() { return name; }
+        public Pool getPool() { return pool; }
+        public boolean isQueued() { return queue; }
+
+        /** Monsters for {@code lane}, 0 for lanes the script does not list, or {@link #FILL}. */
+        public int countFor(int lane) {
+            if (laneCounts.length == 1) return laneCounts[0];
+            return (lane < laneCounts.length) ? laneCounts[lane] : 0;
+        }
+    }
+
+    /** The classic rule: one monster per lane at the start and every {@code interval} rounds, dropped if blocked. */
+    public static List<Wave> standard(int interval, boolean horde) {
+        int[] counts = {horde ? FILL : 1};
+        List<Wave> waves = new ArrayList<>(2);
+        waves.add(new Wave("Reinforcements", 0, 0, 1, false, counts, Pool.SPAWN_TABLE, false));
+        waves.add(new Wave("Reinforcements", interval, interval, 0, false, counts, Pool.SPAWN_TABLE, false));
+        return waves;
+    }
+
+    /**
+     * Reads rows of {@code name at every times lanes pool blocked}:
+     * <ul>
+     *   <li>{@code at}: {@code round:N} or {@code tick:N}</li>
+     *   <li>{@code every}: repeat interval in the same unit, or {@code -} for once</li>
+     *   <li>{@code times}: arrivals in total, or {@code -} for no limit</li>
+     *   <li>{@code lanes}: comma-separated count per lane, or one count for every lane; {@code fill} fills the lane</li>
+     *   <li>{@code pool}: {@code any} or {@code +}-separated monster types and names</li>
+     *   <li>{@code blocked}: {@code queue} or {@code skip}</li>
+     * </ul>
+     * Unlike the balance tables, a bad wave script is an error: the game should not start
+     * with half of the waves silently missing.
+     */
+    public static List<Wave> load(String fileName, List<Monster> catalog) {
+        List<Wave> waves = new ArrayList<>();
+        for (String[] parts : GameDataLoader.loadRows(fileName)) {
+            String line = String.join(" ", parts);
+            try {
+                if (parts.length < 7) throw new IllegalArgumentException("expected 7 columns");
+                String at = parts[1].toLowerCase();
+                boolean inTicks;
+                if (at.startsWith("round:")) {
+                    inTicks = false;
+                } else if (at.startsWith("tick:")) {
+                    inTicks = true;
+                } else {
+                    throw new IllegalArgumentException("time must be round:N or tick:N");
+                }
+                long start = Long.parseLong(at.substring(at.indexOf(':') + 1));
+                long every = parts[2].equals("-") ? 0 : Long.parseLong(parts[2]);
+                int times = parts[3].equals("-") ? 0 : Integer.parseInt(parts[3]);
+                String[] lanes = parts[4].split(",");
+                int[] counts = new int[lanes.length];
+                for (int i = 0; i < lanes.length; i++) {
+                    counts[i] = lanes[i].equalsIgnoreCase("fill") ? FILL : Integer.parseInt(lanes[i]);
+                }
+                boolean queue;
+                if (parts[6].equalsIgnoreCase("queue")) {
+                    queue = true;
+                } else if (parts[6].equalsIgnoreCase("skip")) {
+                    queue = false;
+                } else {
+                    throw new IllegalArgumentException("blocked must be queue or skip");
+                }
+                waves.add(new Wave(parts[0], start, every, times, inTicks, counts, Pool.parse(parts[5], catalog), queue));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Bad wave in " + fileName + " (" + e.getMessage() + "): " + line, e);
+            }
+        }
+        if (waves.isEmpty()) {
+            throw new IllegalArgumentException("Wave script " + fileName + " defines no waves.");
+        }
+        return waves;
+    }
+
+    /** A wave's next arrival. Ties keep script order. */
+    private static final class Arrival implements Comparable<Arrival> {
+        final Wave wave;
+        final int order;
+        final long time;
+        final int remaining;    // Arrivals left including this one; 0 for unlimited
+
+        Arrival(Wave wave, int order, long time, int remaining) {
+            this.wave = wave;
+            this.order = order;
+            this.time = time;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int compareTo(Arrival o) {
+            int c = Long.compare(time, o.time);
+            return (c != 0) ? c : Integer.compare(order, o.order);
+        }
+    }
+
+    /** A run of monsters from one wave waiting in a lane. */
+    private static final class Pending {
+        final Wave wave;
+        int count;
+
+        Pending(Wave wave, int count) {
+            this.wave = wave;
+            this.count = count;
+        }
+    }
+
+    private final PriorityQueue<Arrival> arrivals = new PriorityQueue<>();
+    private final List<ArrayDeque<Pending>> laneQueues;
+    private final long stepsPerRound;
+    private long queued;
+
+    /**
+     * @param stepsPerRound Clock steps per round: 1 for turn-based play, the round length in ticks for real time.
+     */
+    public WaveScheduler(List<Wave> waves, int laneCount, long stepsPerRound) {
+        if (laneCount < 1 || stepsPerRound < 1) {
+            throw new IllegalArgumentException("A wave scheduler needs at least one lane and one step per round.");
+        }
+        this.stepsPerRound = stepsPerRound;
+        this.laneQueues = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            laneQueues.add(new ArrayDeque<>());
+        }
+        for (int i = 0; i < waves.size(); i++) {
+            Wave w = waves.get(i);
+            arrivals.add(new Arrival(w, i, toSteps(w, w.at), w.times));
+        }
+    }
+
+    private long toSteps(Wave wave, long time) {
+        return wave.inTicks ? time : time * stepsPerRound;
+    }
+
+    /** Monsters waiting for a free spawn cell, over all lanes. */
+    public long getQueued() {
+        return queued;
+    }
+
+    /** Waves still to arrive (a repeating wave counts once). */
+    public int getScheduled() {
+        return arrivals.size();
+    }
+
+    /** True if a wave is due by {@code now} or monsters are waiting; cheap enough to ask every tick. */
+    public boolean hasWork(long now) {
+        return queued > 0 || (!arrivals.isEmpty() && arrivals.peek().time <= now);
+    }
+
+    /**
+     * Fires every wave due at or before {@code now}, then lets queued monsters into lanes with
+     * free spawn cells.
+     *
+     * @return Monsters placed.
+     */
+    public int advanceTo(long now, Spawner spawner) {
+        int placed = 0;
+        while (!arrivals.isEmpty() && arrivals.peek().time <= now) {
+            Arrival a = arrivals.poll();
+            Wave wave = a.wave;
+            if (wave.every > 0 && a.remaining != 1) {
+                arrivals.add(new Arrival(wave, a.order, a.time + toSteps(wave, wave.every),
+                        (a.remaining == 0) ? 0 : a.remaining - 1));
+            }
+            spawner.announce(wave);
+            for (int lane = 0; lane < laneQueues.size(); lane++) {
+                int count = wave.countFor(lane);
+                if (count == 0) continue;
+                if (wave.queue) {
+                    laneQueues.get(lane).add(new Pending(wave, count));
+                    queued += count;
+                    continue;
+                }
+                int spawned = 0;
+                while ((count == FILL || spawned < count) && spawner.spawn(lane, wave)) spawned++;
+                placed += spawned;
+                if (count != FILL && spawned < count) spawner.blocked(lane, wave);
+            }
+        }
+
+        if (queued == 0) return placed;
+        for (int lane = 0; lane < laneQueues.size(); lane++) {
+            ArrayDeque<Pending> lineUp = laneQueues.get(lane);
+            while (!lineUp.isEmpty()) {
+                Pending head = lineUp.peek();
+                if (!spawner.spawn(lane, head.wave)) break;
+                placed++;
+                queued--;
+                if (--head.count == 0) lineUp.poll();
+            }
+        }
+        return placed;
+    }
+}
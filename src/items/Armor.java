@@ -17,9 +17,23 @@ public class Armor extends Item {
     }
 
     public double getDamageReduction() { 
-        // Defense scales with durability (minimum 25% defense at 0 durability)
+        return reductionAt(baseDamageReduction, durability, maxDurability);
+    }
+
+    /**
+     * Defense scales with durability (minimum 25% defense at 0 durability).
+     * Static so batch combat can project reduction across several hits without touching the item.
+     */
+    public static double reductionAt(double baseReduction, double durability, double maxDurability) {
         double durabilityPercent = durability / maxDurability;
-        return baseDamageReduction * (0.25 + (0.75 * durabilityPercent));
+        return baseReduction * (0.25 + (0.75 * durabilityPercent));
+    }
+
+    /**
+     * Durability after one more hit.
+     */
+    public static double degradedDurability(double durability) {
+        return (durability > 0) ? Math.max(0, durability - 2.5) : durability; // 2.5% degradation per hit
     }
     
     public double getBaseDamageReduction() { return baseDamageReduction; }
@@ -27,11 +41,14 @@ public class Armor extends Item {
     public double getMaxDurability() { return maxDurability; }
     public boolean isBroken() { return durability <= 0; }
     
+    /** Restores a saved durability, clamped to [0, max]. */
+    public void setDurability(double durability) {
+        this.durability = Math.max(0, Math.min(durability, maxDurability));
+    }
+
     // Degrade armor per hit (2-3% per hit)
     public void degrade() {
-        if (durability > 0) {
-            durability = Math.max(0, durability - 2.5); // 2.5% degradation per hit
-        }
+        durability = degradedDurability(durability);
     }
     
     // Current value based on durability
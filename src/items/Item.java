@@ -17,6 +17,8 @@ public abstract class Item {
 
     public String getName() { return name; }
     public double getPrice() { return price; }
+    /** List price before any durability discount a subclass applies in {@link #getPrice()}. */
+    public double getBasePrice() { return price; }
     public int getMinLevel() { return minLevel; }
 
     /**
@@ -1,33 +1,79 @@
 package items;
 
 import entities.Hero;
-import java.util.Arrays;
-import java.util.List;
 
 /**
  * Represents a single-use consumable potion.
  * Data derived from: Potions.txt
  */
 public abstract class Potion extends Item {
+
+    /**
+     * Hero attributes a potion can raise. The attribute list is parsed into a bitmask once,
+     * at load time, so applying a potion tests bits instead of comparing strings.
+     */
+    public enum Stat {
+        HEALTH, MANA, STRENGTH, DEXTERITY, AGILITY;
+
+        private static final Stat[] VALUES = values();
+        /** Mask with every stat set ("All" in the data file). */
+        public static final int ALL = (1 << VALUES.length) - 1;
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        /** The stat for a bit index, as returned by {@link Integer#numberOfTrailingZeros}. */
+        public static Stat fromIndex(int index) {
+            return VALUES[index];
+        }
+
+        /**
+         * Parses a data-file attribute list such as {@code Health/Mana} or {@code All}.
+         *
+         * @throws IllegalArgumentException On an unknown attribute name.
+         */
+        public static int parseMask(String attributes) {
+            int mask = 0;
+            for (String attr : attributes.split("/")) {
+                if (attr.equalsIgnoreCase("All")) return ALL;
+                Stat stat = null;
+                for (Stat s : VALUES) {
+                    if (s.name().equalsIgnoreCase(attr)) stat = s;
+                }
+                if (stat == null) {
+                    throw new IllegalArgumentException("Unknown potion attribute: " + attr);
+                }
+                mask |= stat.bit();
+            }
+            return mask;
+        }
+    }
+
     protected final double attributeIncrease;
-    protected final List<String> attributesAffected;
+    protected final int statMask;
+    private final String attributes;
+    private final String attributeLabel;
 
     public Potion(String name, double price, int minLevel, double attributeIncrease, String attributeString) {
         super(name, price, minLevel);
         this.attributeIncrease = attributeIncrease;
-        // Parses "Health/Mana" or "All" into a list for logic handling later
-        this.attributesAffected = Arrays.asList(attributeString.split("/"));
+        // Parses "Health/Mana" or "All" once; apply() works on the bits
+        this.statMask = Stat.parseMask(attributeString);
+        this.attributes = attributeString;
+        this.attributeLabel = attributeString.replace('/', ',');
     }
 
     public double getAttributeIncrease() { return attributeIncrease; }
 
-    public boolean affects(String statName) {
-        if (attributesAffected.contains("All")) return true;
-        // Simple case-insensitive check
-        for (String attr : attributesAffected) {
-            if (attr.equalsIgnoreCase(statName)) return true;
-        }
-        return false;
+    /** Bitmask of {@link Stat#bit()} values this potion raises. */
+    public int getStatMask() { return statMask; }
+
+    /** Attribute list as written in the data file, e.g. {@code Health/Mana}. */
+    public String getAttributes() { return attributes; }
+
+    public boolean affects(Stat stat) {
+        return (statMask & stat.bit()) != 0;
     }
 
     public abstract void apply(Hero hero);
@@ -35,6 +81,6 @@ public abstract class Potion extends Item {
     @Override
     public String toString() {
         return String.format("%-15s | Lvl: %d | Cost: %.0f | Effect: +%.0f to %s",
-                name, minLevel, price, attributeIncrease, String.join(",", attributesAffected));
+                name, minLevel, price, attributeIncrease, attributeLabel);
     }
-}
\ No newline at end of file
+}
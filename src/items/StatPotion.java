@@ -9,12 +9,17 @@ public class StatPotion extends Potion {
 
     @Override
     public void apply(Hero hero) {
-        if (affects("Health")) hero.setHp(hero.getHp() + attributeIncrease);
-        if (affects("Mana")) hero.setMana(hero.getMana() + attributeIncrease);
-        if (affects("Strength")) hero.setStrength(hero.getStrength() + attributeIncrease);
-        if (affects("Dexterity")) hero.setDexterity(hero.getDexterity() + attributeIncrease);
-        if (affects("Agility")) hero.setAgility(hero.getAgility() + attributeIncrease);
+        // Visit only the set bits of the stat mask
+        for (int bits = statMask; bits != 0; bits &= bits - 1) {
+            switch (Stat.fromIndex(Integer.numberOfTrailingZeros(bits))) {
+                case HEALTH: hero.setHp(hero.getHp() + attributeIncrease); break;
+                case MANA: hero.setMana(hero.getMana() + attributeIncrease); break;
+                case STRENGTH: hero.setStrength(hero.getStrength() + attributeIncrease); break;
+                case DEXTERITY: hero.setDexterity(hero.getDexterity() + attributeIncrease); break;
+                case AGILITY: hero.setAgility(hero.getAgility() + attributeIncrease); break;
+            }
+        }
 
         System.out.println(hero.getName() + " used " + getName() + "!");
     }
-}
\ No newline at end of file
+}
@@ -19,10 +19,24 @@ public class Weapon extends Item {
     }
 
     public double getDamage() { 
-        // Damage scales with durability (minimum 25% damage at 0 durability)
+        return damageAt(baseDamage, durability, maxDurability);
+    }
+
+    /**
+     * Damage scales with durability (minimum 25% damage at 0 durability).
+     * Static so simulated combat can project damage over several rounds without touching the item.
+     */
+    public static double damageAt(double baseDamage, double durability, double maxDurability) {
         double durabilityPercent = durability / maxDurability;
         return baseDamage * (0.25 + (0.75 * durabilityPercent));
     }
+
+    /**
+     * Durability after one more round of use.
+     */
+    public static double degradedDurability(double durability) {
+        return (durability > 0) ? Math.max(0, durability - 1.5) : durability; // 1.5% degradation per round
+    }
     
     public double getBaseDamage() { return baseDamage; }
     public int getRequiredHands() { return requiredHands; }
@@ -30,11 +44,14 @@ public class Weapon extends Item {
     public double getMaxDurability() { return maxDurability; }
     public boolean isBroken() { return durability <= 0; }
     
+    /** Restores a saved durability, clamped to [0, max]. */
+    public void setDurability(double durability) {
+        this.durability = Math.max(0, Math.min(durability, maxDurability));
+    }
+
     // Degrade weapon slowly (1-2% per round)
     public void degrade() {
-        if (durability > 0) {
-            durability = Math.max(0, durability - 1.5); // 1.5% degradation per round
-        }
+        durability = degradedDurability(durability);
     }
     
     // Current value based on durability
@@ -0,0 +1,250 @@
+package persistence;
+
+import entities.Hero;
+import entities.Hero.HeroType;
+import entities.Party;
+import items.Armor;
+import items.FireSpell;
+import items.HealingPotion;
+import items.IceSpell;
+import items.Item;
+import items.LightningSpell;
+import items.ManaPotion;
+import items.Potion;
+import items.Spell;
+import items.StatPotion;
+import items.Weapon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of a saved party for {@link ProfileStore}: per hero its class, level,
+ * experience, HP, mana, base stats, gold and inventory, each item with its full data-file
+ * fields plus weapon and armor durability, and which weapon and armor are equipped.
+ *
+ * <p>Items are written out in full rather than by name, so a profile restores the same
+ * party even after the data files change. Temporary potion boosts are not saved.</p>
+ */
+public final class HeroProfile {
+    private static final int VERSION = 1;
+
+    private static final byte WEAPON = 1;
+    private static final byte ARMOR = 2;
+    private static final byte SPELL = 3;
+    private static final byte HEALING_POTION = 4;
+    private static final byte MANA_POTION = 5;
+    private static final byte STAT_POTION = 6;
+
+    private static final int NOT_EQUIPPED = -1;
+    private static final int EQUIPPED_INLINE = -2;
+
+    private HeroProfile() {}
+
+    /**
+     * @return The encoded heroes of {@code party}.
+     */
+    public static byte[] encode(Party party) {
+        return encode(party.getHeroes());
+    }
+
+    public static byte[] encode(List<Hero> heroes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(heroes.size());
+            for (Hero h : heroes) {
+                writeHero(out, h);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode profile", e); // In-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return Freshly built heroes equal to the ones that were encoded.
+     * @throws IllegalArgumentException If the bytes are not a profile this version can read.
+     */
+    public static List<Hero> decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported profile version: " + version);
+            }
+            int count = in.readUnsignedByte();
+            List<Hero> heroes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                heroes.add(readHero(in));
+            }
+            return heroes;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt profile", e);
+        }
+    }
+
+    private static void writeHero(DataOutputStream out, Hero h) throws IOException {
+        out.writeUTF(h.getName());
+        out.writeByte(h.getType().ordinal());
+        out.writeInt(h.getLevel());
+        out.writeInt(h.getExperience());
+        out.writeDouble(h.getHp());
+        out.writeDouble(h.getMana());
+        out.writeDouble(h.getBaseStrength());
+        out.writeDouble(h.getBaseDexterity());
+        out.writeDouble(h.getBaseAgility());
+        out.writeDouble(h.getMoney());
+
+        List<Item> items = h.getInventory().getItems();
+        out.writeInt(items.size());
+        for (Item item : items) {
+            writeItem(out, item);
+        }
+        writeEquipped(out, items, h.getEquippedWeapon());
+        writeEquipped(out, items, h.getEquippedArmor());
+    }
+
+    private static Hero readHero(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        HeroType type = HeroType.values()[in.readUnsignedByte()];
+        int level = in.readInt();
+        int experience = in.readInt();
+        double hp = in.readDouble();
+        double mana = in.readDouble();
+        double strength = in.readDouble();
+        double dexterity = in.readDouble();
+        double agility = in.readDouble();
+        double money = in.readDouble();
+
+        Hero h = new Hero(name, type, mana, strength, agility, dexterity, money, experience);
+        h.restoreProgress(level, experience);
+        // HP and mana caps depend on the level, so they go in after it
+        h.setHp(hp);
+        h.setMana(mana);
+
+        int count = in.readInt();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = readItem(in);
+            items.add(item);
+            h.getInventory().addItem(item);
+        }
+        Item weapon = readEquipped(in, items);
+        Item armor = readEquipped(in, items);
+        if (weapon != null) h.equipWeapon((Weapon) weapon);
+        if (armor != null) h.equipArmor((Armor) armor);
+        return h;
+    }
+
+    private static void writeItem(DataOutputStream out, Item item) throws IOException {
+        if (item instanceof Weapon) {
+            out.writeByte(WEAPON);
+        } else if (item instanceof Armor) {
+            out.writeByte(ARMOR);
+        } else if (item instanceof Spell) {
+            out.writeByte(SPELL);
+        } else if (item instanceof HealingPotion) {
+            out.writeByte(HEALING_POTION);
+        } else if (item instanceof ManaPotion) {
+            out.writeByte(MANA_POTION);
+        } else if (item instanceof StatPotion) {
+            out.writeByte(STAT_POTION);
+        } else {
+            throw new IllegalArgumentException("Cannot save item type: " + item.getClass().getSimpleName());
+        }
+        out.writeUTF(item.getName());
+        out.writeDouble(item.getBasePrice());
+        out.writeInt(item.getMinLevel());
+
+        if (item instanceof Weapon) {
+            Weapon w = (Weapon) item;
+            out.writeDouble(w.getBaseDamage());
+            out.writeInt(w.getRequiredHands());
+            out.writeDouble(w.getDurability());
+        } else if (item instanceof Armor) {
+            Armor a = (Armor) item;
+            out.writeDouble(a.getBaseDamageReduction());
+            out.writeDouble(a.getDurability());
+        } else if (item instanceof Spell) {
+            Spell s = (Spell) item;
+            out.writeDouble(s.getDamage());
+            out.writeDouble(s.getManaCost());
+            out.writeByte(s.getType().ordinal());
+        } else {
+            Potion p = (Potion) item;
+            out.writeDouble(p.getAttributeIncrease());
+            out.writeUTF(p.getAttributes());
+        }
+    }
+
+    private static Item readItem(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        String name = in.readUTF();
+        double price = in.readDouble();
+        int minLevel = in.readInt();
+
+        switch (kind) {
+            case WEAPON: {
+                Weapon w = new Weapon(name, price, minLevel, in.readDouble(), in.readInt());
+                w.setDurability(in.readDouble());
+                return w;
+            }
+            case ARMOR: {
+                Armor a = new Armor(name, price, minLevel, in.readDouble());
+                a.setDurability(in.readDouble());
+                return a;
+            }
+            case SPELL: {
+                double damage = in.readDouble();
+                double manaCost = in.readDouble();
+                switch (Spell.SpellType.values()[in.readUnsignedByte()]) {
+                    case FIRE: return new FireSpell(name, price, minLevel, damage, manaCost);
+                    case ICE: return new IceSpell(name, price, minLevel, damage, manaCost);
+                    default: return new LightningSpell(name, price, minLevel, damage, manaCost);
+                }
+            }
+            case HEALING_POTION:
+            case MANA_POTION:
+            case STAT_POTION: {
+                double increase = in.readDouble();
+                String attributes = in.readUTF();
+                if (kind == HEALING_POTION) return new HealingPotion(name, price, minLevel, increase);
+                if (kind == MANA_POTION) return new ManaPotion(name, price, minLevel, increase);
+                return new StatPotion(name, price, minLevel, increase, attributes);
+            }
+            default:
+                throw new IOException("Unknown item kind: " + kind);
+        }
+    }
+
+    /**
+     * Equipped items are normally in the inventory and saved as an index into it; one that
+     * was sold while equipped is written out in full instead.
+     */
+    private static void writeEquipped(DataOutputStream out, List<Item> items, Item equipped) throws IOException {
+        if (equipped == null) {
+            out.writeInt(NOT_EQUIPPED);
+            return;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == equipped) {
+                out.writeInt(i);
+                return;
+            }
+        }
+        out.writeInt(EQUIPPED_INLINE);
+        writeItem(out, equipped);
+    }
+
+    private static Item readEquipped(DataInputStream in, List<Item> items) throws IOException {
+        int index = in.readInt();
+        if (index == NOT_EQUIPPED) return null;
+        if (index == EQUIPPED_INLINE) return readItem(in);
+        return items.get(index);
+    }
+}
@@ -0,0 +1,690 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded, append-only key/value store for player profiles (profile id to encoded bytes).
+ *
+ * <p>Layout: a directory of segment files {@code NNNNNNNN.seg}. Every write appends a record
+ * {@code [crc32][seq][keyLength][valueLength][key][value]} to the active segment; a delete
+ * appends a tombstone (value length -1). An in-memory hash index maps each live id to the
+ * segment and offset of its latest value, so a lookup is one hash probe plus one positional
+ * read. On open the segments are scanned and the record with the highest sequence number
+ * wins; a torn record at the tail (crash mid-write) fails its CRC and is truncated.</p>
+ *
+ * <p>Writes are group-committed: callers queue records and block until a single writer
+ * thread has appended a whole batch and forced it to disk once, so concurrent savers share
+ * one fsync. The active segment rolls over at {@code segmentBytes}; once at least half of
+ * the sealed segments' bytes are dead (overwritten or deleted), a background thread copies
+ * the live records into fresh segments, repoints the index and deletes the old files.
+ * Sequence numbers are preserved by the copy, so recovery never depends on file order, and
+ * the directory is forced after segments are created or deleted so the files themselves
+ * survive a crash.</p>
+ *
+ * <p>Thread-safe. Reads never block on writes or compaction.</p>
+ */
+public class ProfileStore implements Closeable {
+    /** Segment size at which the active segment is sealed, unless told otherwise. */
+    public static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER = 4 + 8 + 4 + 4;
+    private static final int TOMBSTONE = -1;
+    private static final int MAX_VALUE_BYTES = 16 << 20;
+    private static final int MAX_BATCH = 1024;
+    private static final double COMPACT_DEAD_RATIO = 0.5;
+    private static final long COMPACT_MIN_BYTES = 1L << 20;
+    // Windows cannot open a directory as a channel; NTFS journals directory changes itself
+    private static final boolean DIRECTORY_SYNC = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    // Segments compaction may rewrite: recovered ones, those the writer sealed and finished
+    // compaction output. The active segment is never in here.
+    private final ConcurrentSkipListMap<Integer, Segment> sealed = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextSegmentId = new AtomicInteger();
+    private final LinkedBlockingQueue<Write> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final ExecutorService compactor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    // Owned by the writer thread after open
+    private volatile Segment active;
+    private long seq;
+    private ByteBuffer batchBuffer = ByteBuffer.allocate(1 << 16);
+
+    private volatile boolean closed;
+
+    /**
+     * Opens (or creates) the store in {@code dir} with the default segment size.
+     */
+    public ProfileStore(Path dir) throws IOException {
+        this(dir, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param segmentBytes Size at which the active segment is sealed and a new one started.
+     */
+    public ProfileStore(Path dir, long segmentBytes) throws IOException {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1 KiB.");
+        }
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(dir);
+        recover();
+        this.active = newSegment();
+
+        this.writer = new Thread(this::writeLoop, "profile-store-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "profile-store-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // --- Public API ---
+
+    /**
+     * @return The stored bytes for {@code id}, or null if there is no such profile.
+     */
+    public byte[] get(String id) throws IOException {
+        ensureOpen();
+        Location loc = index.get(id);
+        while (loc != null) {
+            try {
+                return loc.segment.read(loc.valueOffset, loc.valueLength);
+            } catch (ClosedChannelException e) {
+                // Normally the segment was compacted away after the lookup and the index already
+                // points elsewhere. If it does not, the channel was closed some other way (an
+                // interrupted read closes it for every reader) and retrying cannot help.
+                ensureOpen();
+                Location moved = index.get(id);
+                if (moved == loc) throw e;
+                loc = moved;
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(String id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * Stores {@code value} under {@code id} and returns once it is on disk.
+     */
+    public void put(String id, byte[] value) throws IOException {
+        if (value.length > MAX_VALUE_BYTES) {
+            throw new IllegalArgumentException("Profile exceeds " + MAX_VALUE_BYTES + " bytes: " + id);
+        }
+        await(submit(id, value));
+    }
+
+    /**
+     * Queues a write; the future completes once the batch holding it has been fsynced.
+     */
+    public CompletableFuture<Void> putAsync(String id, byte[] value) {
+        if (value.length > MAX_VALUE_BYTES) {
+            throw new IllegalArgumentException("Profile exceeds " + MAX_VALUE_BYTES + " bytes: " + id);
+        }
+        return submit(id, value);
+    }
+
+    /**
+     * Removes {@code id}; durable once this returns.
+     *
+     * @return true if the profile existed.
+     */
+    public boolean delete(String id) throws IOException {
+        boolean existed = index.containsKey(id);
+        await(submit(id, null));
+        return existed;
+    }
+
+    /** Number of live profiles. */
+    public int size() {
+        return index.size();
+    }
+
+    /** Bytes across all segment files. */
+    public long getDiskBytes() {
+        long total = 0;
+        for (Segment s : segments.values()) total += s.size;
+        return total;
+    }
+
+    /** Bytes held by overwritten or deleted records, reclaimable by compaction. */
+    public long getDeadBytes() {
+        long total = 0;
+        for (Segment s : segments.values()) total += s.deadBytes.get();
+        return total;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /** Fsynced batches so far; with concurrent writers this is lower than {@link #getWriteCount()}. */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    /**
+     * Compacts every sealed segment now and waits for it to finish.
+     */
+    public void compact() throws IOException {
+        ensureOpen();
+        Future<?> f = compactor.submit(() -> {
+            compactSealed();
+            return null;
+        });
+        try {
+            f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compacting", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compaction failed", e.getCause());
+        }
+    }
+
+    /**
+     * Flushes queued writes, stops the background threads and closes every segment.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        Write poison = new Write(null, null);
+        queue.add(poison);
+        try {
+            poison.done.get();
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // The writer reports its own failures to the callers that queued them
+        }
+        closed = true;
+        for (Segment s : segments.values()) s.close();
+        // Every open starts a fresh segment; don't leave empty ones behind
+        if (active.size == 0) {
+            segments.remove(active.id);
+            Files.deleteIfExists(active.path);
+        }
+    }
+
+    // --- Writing ---
+
+    private CompletableFuture<Void> submit(String id, byte[] value) {
+        ensureOpen();
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("Profile id cannot be null or empty.");
+        }
+        Write w = new Write(id, value);
+        queue.add(w);
+        return w.done;
+    }
+
+    private static void await(CompletableFuture<Void> done) throws IOException {
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the write", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Write failed", cause);
+        }
+    }
+
+    private void writeLoop() {
+        List<Write> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            batch.clear();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            Write poison = null;
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i).key == null) {
+                    poison = batch.remove(i--);
+                    running = false;
+                }
+            }
+            if (!batch.isEmpty()) writeBatch(batch);
+            if (poison != null) {
+                // Anything queued after close() is rejected rather than silently dropped
+                for (Write late; (late = queue.poll()) != null; ) {
+                    late.done.completeExceptionally(new IOException("Profile store is closed."));
+                }
+                poison.done.complete(null);
+            }
+            if (running) maybeCompact();
+        }
+    }
+
+    private void writeBatch(List<Write> batch) {
+        try {
+            int bytes = 0;
+            for (Write w : batch) {
+                w.keyBytes = w.key.getBytes(StandardCharsets.UTF_8);
+                bytes += HEADER + w.keyBytes.length + (w.value == null ? 0 : w.value.length);
+            }
+            if (active.size > 0 && active.size + bytes > segmentBytes) {
+                active.channel.force(true);
+                sealed.put(active.id, active);
+                active = newSegment();
+            }
+            if (batchBuffer.capacity() < bytes) batchBuffer = ByteBuffer.allocate(Math.max(bytes, batchBuffer.capacity() * 2));
+            ByteBuffer buf = batchBuffer;
+            buf.clear();
+
+            Segment seg = active;
+            long base = seg.size;
+            for (Write w : batch) {
+                w.seq = ++seq;
+                w.recordOffset = base + buf.position();
+                encode(buf, w.seq, w.keyBytes, w.value);
+            }
+            buf.flip();
+            seg.write(buf, base);
+            seg.channel.force(false);
+            seg.size = base + bytes;
+
+            for (Write w : batch) {
+                int recordLength = HEADER + w.keyBytes.length + (w.value == null ? 0 : w.value.length);
+                Location old;
+                if (w.value == null) {
+                    old = index.remove(w.key);
+                    seg.deadBytes.addAndGet(recordLength); // A tombstone is garbage as soon as it is durable
+                } else {
+                    long valueOffset = w.recordOffset + HEADER + w.keyBytes.length;
+                    old = index.put(w.key, new Location(seg, w.seq, valueOffset, w.value.length, recordLength));
+                }
+                if (old != null) old.segment.deadBytes.addAndGet(old.recordLength);
+                w.done.complete(null);
+            }
+            batches.incrementAndGet();
+            writes.addAndGet(batch.size());
+        } catch (IOException | RuntimeException e) {
+            for (Write w : batch) w.done.completeExceptionally(e);
+        }
+    }
+
+    private static void encode(ByteBuffer buf, long seq, byte[] key, byte[] value) {
+        int start = buf.position();
+        buf.position(start + 4);
+        buf.putLong(seq);
+        buf.putInt(key.length);
+        buf.putInt(value == null ? TOMBSTONE : value.length);
+        buf.put(key);
+        if (value != null) buf.put(value);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), start + 4, buf.position() - start - 4);
+        buf.putInt(start, (int) crc.getValue());
+    }
+
+    // --- Compaction ---
+
+    private void maybeCompact() {
+        long sealedBytes = 0;
+        long dead = 0;
+        for (Segment s : sealed.values()) {
+            sealedBytes += s.size;
+            dead += s.deadBytes.get();
+        }
+        if (sealedBytes >= COMPACT_MIN_BYTES && dead >= sealedBytes * COMPACT_DEAD_RATIO && compacting.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compactSealed();
+                } catch (IOException e) {
+                    System.err.println("Profile store compaction failed: " + e.getMessage());
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Copies the live records of every sealed segment into new segments, then drops the old
+     * files. Runs on the compactor thread only.
+     *
+     * <p>The old files are deleted one at a time, so a crash can leave some of them behind. A
+     * tombstone is therefore copied forward while another old file still holds a record for its
+     * key; otherwise a surviving older value would come back on restart. Once the key's records
+     * are all gone, the next compaction drops the tombstone. Segment ids say nothing about age
+     * here: compaction output can have a higher id than the segment a later delete went to.</p>
+     */
+    private void compactSealed() throws IOException {
+        List<Segment> victims = new ArrayList<>(sealed.values());
+        if (victims.isEmpty()) return;
+
+        // Newest tombstone per key across the victims
+        Map<String, Tombstone> tombstones = new HashMap<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        for (Segment victim : victims) {
+            long pos = 0;
+            while (pos < victim.size) {
+                header.clear();
+                victim.readFully(header, pos);
+                header.flip();
+                header.getInt();
+                long recordSeq = header.getLong();
+                int keyLength = header.getInt();
+                int valueLength = header.getInt();
+                int recordLength = HEADER + keyLength + Math.max(0, valueLength);
+                if (valueLength == TOMBSTONE) {
+                    String key = new String(victim.read(pos + HEADER, keyLength), StandardCharsets.UTF_8);
+                    Tombstone t = tombstones.get(key);
+                    if (t == null || t.seq < recordSeq) {
+                        tombstones.put(key, new Tombstone(victim, pos, recordLength, recordSeq));
+                    }
+                }
+                pos += recordLength;
+            }
+        }
+
+        List<Segment> outputs = new ArrayList<>();
+        Segment out = null;
+        for (Segment victim : victims) {
+            long pos = 0;
+            while (pos < victim.size) {
+                header.clear();
+                victim.readFully(header, pos);
+                header.flip();
+                header.getInt();
+                long recordSeq = header.getLong();
+                int keyLength = header.getInt();
+                int valueLength = header.getInt();
+                int recordLength = HEADER + keyLength + Math.max(0, valueLength);
+                long next = pos + recordLength;
+                if (valueLength == TOMBSTONE) {
+                    pos = next;
+                    continue;
+                }
+
+                String key = new String(victim.read(pos + HEADER, keyLength), StandardCharsets.UTF_8);
+                Tombstone t = tombstones.get(key);
+                if (t != null && t.segment != victim) t.carry = true;
+
+                long valueOffset = pos + HEADER + keyLength;
+                Location current = index.get(key);
+                if (current != null && current.segment == victim && current.valueOffset == valueOffset) {
+                    out = copyRecord(victim, pos, recordLength, out, outputs);
+                    long at = out.size - recordLength;
+                    Location moved = new Location(out, recordSeq, at + HEADER + keyLength, valueLength, recordLength);
+                    if (!index.replace(key, current, moved)) {
+                        out.deadBytes.addAndGet(recordLength); // Overwritten while we copied
+                    }
+                }
+                pos = next;
+            }
+        }
+        for (Tombstone t : tombstones.values()) {
+            if (!t.carry) continue;
+            out = copyRecord(t.segment, t.pos, t.recordLength, out, outputs);
+            out.deadBytes.addAndGet(t.recordLength);
+        }
+        if (out != null) out.channel.force(true);
+        for (Segment s : outputs) sealed.put(s.id, s);
+
+        for (Segment victim : victims) {
+            sealed.remove(victim.id);
+            segments.remove(victim.id);
+            victim.close();
+            Files.deleteIfExists(victim.path);
+        }
+        // The deletions must be durable before a later compaction drops the carried tombstones
+        syncDirectory();
+    }
+
+    /**
+     * Appends a verbatim copy of a record (its CRC and sequence number stay valid) to the
+     * compaction output, starting a new output segment when the current one is full.
+     *
+     * @return The segment the record went to; it ends at the segment's current size.
+     */
+    private Segment copyRecord(Segment from, long pos, int recordLength, Segment out, List<Segment> outputs) throws IOException {
+        if (out == null || (out.size > 0 && out.size + recordLength > segmentBytes)) {
+            if (out != null) out.channel.force(true);
+            out = newSegment();
+            outputs.add(out);
+        }
+        ByteBuffer record = ByteBuffer.wrap(from.read(pos, recordLength));
+        long at = out.size;
+        out.write(record, at);
+        out.size = at + recordLength;
+        return out;
+    }
+
+    // --- Recovery ---
+
+    private void recover() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                try {
+                    ids.add(Integer.parseInt(name.substring(0, name.length() - SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        ids.sort(null);
+
+        Map<String, Long> deletedAt = new HashMap<>();
+        for (int id : ids) {
+            Segment seg = new Segment(id, segmentPath(id));
+            segments.put(id, seg);
+            sealed.put(id, seg);
+            nextSegmentId.set(Math.max(nextSegmentId.get(), id + 1));
+            scan(seg, deletedAt);
+        }
+    }
+
+    /** Replays one segment into the index, truncating it at the first damaged record. */
+    private void scan(Segment seg, Map<String, Long> deletedAt) throws IOException {
+        long length = seg.channel.size();
+        long pos = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        while (pos + HEADER <= length) {
+            header.clear();
+            seg.readFully(header, pos);
+            header.flip();
+            int storedCrc = header.getInt();
+            long recordSeq = header.getLong();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            if (keyLength <= 0 || valueLength < TOMBSTONE || valueLength > MAX_VALUE_BYTES) break;
+            int recordLength = HEADER + keyLength + Math.max(0, valueLength);
+            if (pos + recordLength > length) break;
+
+            byte[] body = seg.read(pos + 4, recordLength - 4);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != storedCrc) break;
+
+            String key = new String(body, HEADER - 4, keyLength, StandardCharsets.UTF_8);
+            seq = Math.max(seq, recordSeq);
+            Location existing = index.get(key);
+            long newestSeq = Math.max(existing == null ? 0 : existing.seq, deletedAt.getOrDefault(key, 0L));
+            if (recordSeq <= newestSeq) {
+                seg.deadBytes.addAndGet(recordLength); // Superseded by a record replayed earlier
+            } else if (valueLength == TOMBSTONE) {
+                if (existing != null) existing.segment.deadBytes.addAndGet(existing.recordLength);
+                index.remove(key);
+                deletedAt.put(key, recordSeq);
+                seg.deadBytes.addAndGet(recordLength);
+            } else {
+                if (existing != null) existing.segment.deadBytes.addAndGet(existing.recordLength);
+                index.put(key, new Location(seg, recordSeq, pos + HEADER + keyLength, valueLength, recordLength));
+            }
+            pos += recordLength;
+        }
+        if (pos < length) {
+            System.err.println("Profile store: truncating damaged tail of " + seg.path.getFileName() + " at byte " + pos);
+            seg.channel.truncate(pos);
+        }
+        seg.size = pos;
+    }
+
+    private Segment newSegment() throws IOException {
+        int id = nextSegmentId.getAndIncrement();
+        Segment seg = new Segment(id, segmentPath(id));
+        // Forcing the file's data does not persist its directory entry
+        syncDirectory();
+        segments.put(id, seg);
+        return seg;
+    }
+
+    /** Makes files created in or deleted from the store directory survive a crash. */
+    private void syncDirectory() throws IOException {
+        if (!DIRECTORY_SYNC) return;
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private Path segmentPath(int id) {
+        return dir.resolve(String.format("%08d%s", id, SUFFIX));
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Profile store is closed.");
+    }
+
+    // --- Internals ---
+
+    /** Where the latest value for a key lives. */
+    private static final class Location {
+        final Segment segment;
+        final long seq;
+        final long valueOffset;
+        final int valueLength;
+        final int recordLength;
+
+        Location(Segment segment, long seq, long valueOffset, int valueLength, int recordLength) {
+            this.segment = segment;
+            this.seq = seq;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.recordLength = recordLength;
+        }
+    }
+
+    /** One segment file; appended by a single thread, read positionally by any. */
+    private static final class Segment {
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        final AtomicLong deadBytes = new AtomicLong();
+        volatile long size;
+
+        Segment(int id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        byte[] read(long position, int length) throws IOException {
+            ByteBuffer buf = ByteBuffer.allocate(length);
+            readFully(buf, position);
+            return buf.array();
+        }
+
+        void readFully(ByteBuffer buf, long position) throws IOException {
+            while (buf.hasRemaining()) {
+                int n = channel.read(buf, position);
+                if (n < 0) throw new IOException("Unexpected end of " + path.getFileName());
+                position += n;
+            }
+        }
+
+        void write(ByteBuffer buf, long position) throws IOException {
+            while (buf.hasRemaining()) {
+                position += channel.write(buf, position);
+            }
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** The newest tombstone for a key in the segments being compacted. */
+    private static final class Tombstone {
+        final Segment segment;
+        final long pos;
+        final int recordLength;
+        final long seq;
+        boolean carry;  // Another segment being compacted holds a record for the key
+
+        Tombstone(Segment segment, long pos, int recordLength, long seq) {
+            this.segment = segment;
+            this.pos = pos;
+            this.recordLength = recordLength;
+            this.seq = seq;
+        }
+    }
+
+    /** A queued put (value set) or delete (value null); a null key is the close marker. */
+    private static final class Write {
+        final String key;
+        final byte[] value;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        byte[] keyBytes;
+        long seq;
+        long recordOffset;
+
+        Write(String key, byte[] value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
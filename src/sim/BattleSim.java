@@ -0,0 +1,200 @@
+package sim;
+
+import ai.ValorAction;
+import ai.ValorState;
+import board.CellType;
+import board.LaneLayout;
+import entities.MonsterTemplate;
+import game.CombatResolver;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Headless, scripted games for the {@link Tournament}: no console, no input, no shared state.
+ *
+ * <p>Every roll comes from a {@link SplittableRandom} seeded per game, so two parties given
+ * the same seed face the same monsters, terrain and dice. Heroes follow a fixed greedy policy:
+ * hit the weakest monster in reach with whatever deals the most damage, otherwise advance.</p>
+ *
+ * <p>Results are signed round counts: {@code +rounds} for a win, {@code -rounds} for a loss.
+ * A game that reaches {@link #MAX_ROUNDS} is a loss.</p>
+ *
+ * <p>Not thread-safe; the tournament keeps one instance per worker thread.</p>
+ */
+public final class BattleSim {
+    public static final int MAX_ROUNDS = 200;
+    /** Encounters in a Legends game. */
+    public static final int GAUNTLET = 5;
+    private static final double REVIVE_HP = 50;
+
+    private final CombatResolver combat;
+    private final List<MonsterTemplate> monsters;
+
+    // Legends battle state, reused between games
+    private final Encounter battle;
+
+    // Valor action buffer, sized like ValorState.maxActions() for three heroes
+    private final int[] actions = new int[4 + 9 * (1 + ValorState.MAX_SPELLS) + 3 + 2];
+
+    public BattleSim(CombatResolver combat, List<MonsterTemplate> monsters) {
+        if (monsters.isEmpty()) {
+            throw new IllegalArgumentException("The tournament needs at least one monster.");
+        }
+        this.combat = combat;
+        this.monsters = monsters;
+        this.battle = new Encounter(combat);
+    }
+
+    // LEGENDS
+
+    /**
+     * A Legends gauntlet: {@link #GAUNTLET} encounters in a row, each with as many monsters as
+     * heroes and one level higher than the last, starting at the party's level. HP and mana
+     * carry over; fainted heroes are revived between encounters as after a victory. Each one is
+     * fought by {@link Encounter}, which mirrors {@code BattleController} without potions,
+     * equipment swaps, spell side effects or durability wear; there are no level-ups either.
+     * The round count is the total over all encounters fought.
+     */
+    public int playLegends(SimParty party, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        int heroes = party.size;
+        for (int h = 0; h < heroes; h++) {
+            int slot = h * SimParty.MAX_SPELLS;
+            battle.hp[h] = party.hp[h];
+            battle.mana[h] = party.mana[h];
+            battle.maxHp[h] = party.maxHp[h];
+            battle.maxMana[h] = party.maxMana[h];
+            battle.strength[h] = party.strength[h];
+            battle.dexterity[h] = party.dexterity[h];
+            battle.agility[h] = party.agility[h];
+            battle.weapon[h] = party.weapon[h];
+            battle.armor[h] = party.armor[h];
+            battle.spellDamage[h] = (party.spellCount[h] > 0) ? party.spellDamage[slot] : 0;
+            battle.spellCost[h] = (party.spellCount[h] > 0) ? party.spellCost[slot] : 0;
+        }
+        int total = 0;
+        for (int encounter = 0; encounter < GAUNTLET; encounter++) {
+            int level = party.level + encounter;
+            battle.begin(heroes);
+            for (int m = 0; m < heroes; m++) {
+                battle.addMonster(monsters.get(rng.nextInt(monsters.size())), level);
+            }
+            // Casts the spell if it out-damages the weapon and there is mana for it
+            int rounds = battle.fight(MAX_ROUNDS, ExplorationSim.Tactic.STRONGEST, rng);
+            total += Math.abs(rounds);
+            if (rounds < 0 || total >= MAX_ROUNDS) return -Math.min(total, MAX_ROUNDS);
+            for (int h = 0; h < heroes; h++) {
+                if (battle.hp[h] <= 0) {
+                    battle.hp[h] = REVIVE_HP;  // Same as Hero.revive() at level 1
+                    battle.mana[h] = 0;
+                }
+            }
+        }
+        return total;
+    }
+
+    // VALOR
+
+    /**
+     * One Valor match on a seeded standard board, played out under {@link ValorState}'s rules
+     * (the model the Valor AI searches with), so monsters advance but do not strike back.
+     */
+    public int playValor(SimParty party, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        LaneLayout layout = LaneLayout.STANDARD;
+        ValorState state = new ValorState(party.size, 16);
+
+        // Terrain odds as in ValorBoard
+        for (int r = 0; r < ValorState.SIZE; r++) {
+            for (int c = 0; c < ValorState.SIZE; c++) {
+                CellType type;
+                if (layout.isWall(c)) {
+                    type = CellType.INACCESSIBLE;
+                } else if (r == layout.getMonsterNexusRow() || r == layout.getHeroNexusRow()) {
+                    type = CellType.NEXUS;
+                } else {
+                    double roll = rng.nextDouble();
+                    if (roll < 0.20) type = CellType.COMMON;
+                    else if (roll < 0.40) type = CellType.BUSH;
+                    else if (roll < 0.60) type = CellType.CAVE;
+                    else if (roll < 0.80) type = CellType.KOULOU;
+                    else type = CellType.OBSTACLE;
+                }
+                if (type != CellType.COMMON) state.setTerrain(r, c, type);
+            }
+        }
+
+        for (int h = 0; h < party.size; h++) {
+            state.setHero(h, layout.getHeroNexusRow(), ValorState.HERO_SPAWN_COLS[h], h,
+                    party.hp[h], party.maxHp[h], party.mana[h], party.maxMana[h],
+                    party.strength[h], party.weapon[h], party.dexterity[h]);
+            for (int k = 0; k < party.spellCount[h]; k++) {
+                int slot = h * SimParty.MAX_SPELLS + k;
+                state.addSpell(h, party.spellDamage[slot], party.spellCost[slot], party.spellType[slot]);
+            }
+        }
+
+        int level = party.level;
+        double hp = 0, defense = 0, dodge = 0, damage = 0;
+        for (MonsterTemplate t : monsters) {
+            hp += t.hpAt(level);
+            defense += t.defenseAt(level);
+            dodge += t.dodgeAt(level) * 0.01;
+            damage += t.damageAt(level);
+        }
+        int n = monsters.size();
+        state.setSpawnStats(hp / n, defense / n, dodge / n, damage / n);
+        for (int lane = 0; lane < 3; lane++) {
+            MonsterTemplate t = monsters.get(rng.nextInt(n));
+            double monsterHp = t.hpAt(level);
+            state.addMonster(layout.getMonsterNexusRow(), ValorState.MONSTER_SPAWN_COLS[lane], lane,
+                    monsterHp, monsterHp, t.defenseAt(level), t.dodgeAt(level) * 0.01, t.damageAt(level));
+        }
+        state.setRound(1);
+
+        while (state.getRound() <= MAX_ROUNDS) {
+            for (int h = 0; h < party.size; h++) {
+                state.apply(h, pickValorAction(state, h), combat, rng);
+                int outcome = state.outcome();
+                if (outcome != ValorState.ONGOING) {
+                    return (outcome == ValorState.HEROES_WIN) ? state.getRound() : -state.getRound();
+                }
+            }
+            state.endRound(combat);
+            int outcome = state.outcome();
+            if (outcome != ValorState.ONGOING) {
+                return (outcome == ValorState.HEROES_WIN) ? state.getRound() : -state.getRound();
+            }
+        }
+        return -MAX_ROUNDS;
+    }
+
+    /** Spell, else attack on the weakest monster in reach, else push north, else hold. */
+    private int pickValorAction(ValorState state, int hero) {
+        int n = state.legalActions(hero, actions);
+        int cast = -1, attack = -1, north = -1;
+        for (int k = 0; k < n; k++) {
+            int a = actions[k];
+            switch (ValorAction.type(a)) {
+                case ValorAction.CAST:
+                    if (cast < 0) cast = a;
+                    break;
+                case ValorAction.ATTACK:
+                    if (attack < 0 || state.getMonsterHp(ValorAction.argA(a)) < state.getMonsterHp(ValorAction.argA(attack))) {
+                        attack = a;
+                    }
+                    break;
+                case ValorAction.MOVE:
+                    if (ValorAction.argA(a) == ValorAction.DIR_NORTH) north = a;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (cast >= 0) return cast;
+        if (attack >= 0) return attack;
+        if (north >= 0) return north;
+        return ValorAction.pass();
+    }
+}
@@ -0,0 +1,152 @@
+package sim;
+
+import entities.MonsterTemplate;
+import game.CombatResolver;
+import game.MonsterRound;
+
+import java.util.SplittableRandom;
+
+/**
+ * One headless Legends battle on primitive stats, the loop {@link BattleSim} and
+ * {@link ExplorationSim} both fight with.
+ *
+ * <p>Follows {@code BattleController}: each living hero hits the weakest monster with its
+ * weapon or spell (as the {@link ExplorationSim.Tactics} decide), the monster phase is
+ * resolved by {@link MonsterRound}, then the survivors regenerate. There are no potions,
+ * spell side effects or durability wear.</p>
+ *
+ * <p>Callers fill the hero arrays, call {@link #begin} and {@link #addMonster}, then
+ * {@link #fight}; HP and mana are updated in place so they can carry over to the next battle.
+ * Not thread-safe; the arrays are reused between battles.</p>
+ */
+final class Encounter {
+    static final int MAX_PARTY = 3;
+    /** Armor is loaded at full durability and, with wear off, stays there. */
+    private static final double FULL_DURABILITY = 100;
+
+    private final CombatResolver combat;
+    private final MonsterRound monsterRound = new MonsterRound();
+
+    // Heroes, by party slot; spellDamage is 0 for a hero without a spell
+    int heroes;
+    final double[] hp = new double[MAX_PARTY];
+    final double[] mana = new double[MAX_PARTY];
+    final double[] maxHp = new double[MAX_PARTY];
+    final double[] maxMana = new double[MAX_PARTY];
+    final double[] strength = new double[MAX_PARTY];
+    final double[] dexterity = new double[MAX_PARTY];
+    final double[] agility = new double[MAX_PARTY];
+    final double[] weapon = new double[MAX_PARTY];
+    final double[] armor = new double[MAX_PARTY];
+    final double[] spellDamage = new double[MAX_PARTY];
+    final double[] spellCost = new double[MAX_PARTY];
+
+    // Monsters, one per hero
+    private int monsters;
+    private final double[] monsterHp = new double[MAX_PARTY];
+    private final double[] monsterDamage = new double[MAX_PARTY];
+    private final double[] monsterDefense = new double[MAX_PARTY];
+    private final double[] monsterDodge = new double[MAX_PARTY];
+
+    Encounter(CombatResolver combat) {
+        this.combat = combat;
+        monsterRound.armorWear = false;
+    }
+
+    /** Starts a battle for the first {@code heroes} party slots and clears the monsters. */
+    void begin(int heroes) {
+        if (heroes < 1 || heroes > MAX_PARTY) {
+            throw new IllegalArgumentException("A party has between 1 and " + MAX_PARTY + " heroes.");
+        }
+        this.heroes = heroes;
+        monsters = 0;
+    }
+
+    void addMonster(MonsterTemplate t, int level) {
+        if (monsters == MAX_PARTY) {
+            throw new IllegalArgumentException("A battle has at most " + MAX_PARTY + " monsters.");
+        }
+        monsterHp[monsters] = t.hpAt(level);
+        monsterDamage[monsters] = t.damageAt(level);
+        monsterDefense[monsters] = t.defenseAt(level);
+        monsterDodge[monsters] = combat.monsterDodgeChance(t.dodgeAt(level) * 0.01);
+        monsters++;
+    }
+
+    /** @return Rounds taken, negated if the party was wiped out or {@code maxRounds} ran out. */
+    int fight(int maxRounds, ExplorationSim.Tactics tactics, SplittableRandom rng) {
+        for (int round = 1; round <= maxRounds; round++) {
+            for (int h = 0; h < heroes; h++) {
+                if (hp[h] <= 0) continue;
+                int target = weakestMonster();
+                if (target < 0) break;
+                heroTurn(h, target, tactics, rng);
+            }
+            if (weakestMonster() < 0) return round;
+
+            if (!monsterPhase(rng)) return -round;
+
+            for (int h = 0; h < heroes; h++) {
+                if (hp[h] <= 0) continue;
+                hp[h] = Math.min(maxHp[h], combat.regenerate(hp[h]));
+                mana[h] = Math.min(maxMana[h], combat.regenerate(mana[h]));
+            }
+        }
+        return -maxRounds;
+    }
+
+    private void heroTurn(int h, int m, ExplorationSim.Tactics tactics, SplittableRandom rng) {
+        double hit = combat.heroAttackDamage(strength[h], weapon[h], monsterDefense[m]);
+        if (spellDamage[h] > 0 && mana[h] >= spellCost[h]) {
+            double spell = combat.spellDamage(spellDamage[h], dexterity[h]);
+            if (tactics.castSpell(hit, spell)) {
+                mana[h] = Math.min(maxMana[h], mana[h] - spellCost[h]); // Capped like Hero.setMana
+                if (!combat.isSpellDodgeable() || !CombatResolver.dodged(monsterDodge[m], rng.nextDouble())) {
+                    monsterHp[m] -= spell;
+                }
+                return;
+            }
+        }
+        if (!CombatResolver.dodged(monsterDodge[m], rng.nextDouble())) {
+            monsterHp[m] -= hit;
+        }
+    }
+
+    /** @return false if every hero fainted. */
+    private boolean monsterPhase(SplittableRandom rng) {
+        MonsterRound round = monsterRound;
+        round.beginHeroes(heroes);
+        for (int h = 0; h < heroes; h++) {
+            round.heroHp[h] = hp[h];
+            round.heroAgility[h] = agility[h];
+            round.hasArmor[h] = armor[h] > 0;
+            round.armorBase[h] = armor[h];
+            round.armorDurability[h] = FULL_DURABILITY;
+            round.armorMaxDurability[h] = FULL_DURABILITY;
+        }
+        round.beginMonsters(monsters);
+        for (int m = 0; m < monsters; m++) {
+            if (monsterHp[m] > 0) round.addMonster(m, monsterDamage[m]);
+        }
+        for (int k = 0; k < round.monsterCount * 2; k++) {
+            round.rolls[k] = rng.nextDouble();
+        }
+        round.resolve(combat);
+
+        boolean anyAlive = false;
+        for (int h = 0; h < heroes; h++) {
+            // Capped like BattleController's Hero.setHp write-back; a revive can leave HP above max
+            hp[h] = Math.min(maxHp[h], round.heroHp[h]);
+            if (hp[h] > 0) anyAlive = true;
+        }
+        return anyAlive;
+    }
+
+    private int weakestMonster() {
+        int pick = -1;
+        for (int m = 0; m < monsters; m++) {
+            if (monsterHp[m] > 0 && (pick < 0 || monsterHp[m] < monsterHp[pick])) pick = m;
+        }
+        return pick;
+    }
+}
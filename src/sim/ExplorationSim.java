@@ -0,0 +1,513 @@
+package sim;
+
+import board.Cell;
+import board.CellType;
+import board.LegendsBoard;
+import board.Pathfinder;
+import entities.Hero;
+import entities.MonsterTemplate;
+import game.CombatResolver;
+import items.Armor;
+import items.Item;
+import items.Spell;
+import items.Spell.SpellType;
+import items.Weapon;
+import utils.ConsoleColors;
+import utils.GameDataLoader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless Legends exploration: many independent seeded parties walk a generated world for a
+ * fixed number of steps, trading at markets and fighting ambushes, and their progress is
+ * folded into {@link ProgressionCurves} as they go.
+ *
+ * <p>A step follows {@code LegendsGame.moveParty}: the party moves one cell, a common cell
+ * triggers a battle with the ambush chance from the combat rules, and a market lets the
+ * shopping policy trade. Battles are fought by {@link Encounter} with monsters at the
+ * party's highest level, one per hero, and pay out like {@code BattleController}. A wiped-out party stops and counts as a death.</p>
+ *
+ * <p>Movement, shopping and battle tactics are pluggable {@link Movement}, {@link Shopping}
+ * and {@link Tactics}. Runs are split across a {@link ForkJoinPool}; every leaf task fills
+ * its own curves and the results are merged on the way back up, so memory does not grow with
+ * the number of runs.</p>
+ */
+public final class ExplorationSim {
+    /** Battles longer than this are treated as a wipe so a stalemate cannot hang a run. */
+    public static final int MAX_BATTLE_ROUNDS = 200;
+    private static final int LEAF_RUNS = 16;
+    private static final int[] DIR_ROW = {-1, 1, 0, 0};
+    private static final int[] DIR_COL = {0, 0, -1, 1};
+
+    /** Picks the next cell to walk into. */
+    public interface Movement {
+        /** @return A direction index (0 up, 1 down, 2 left, 3 right) into an accessible cell, or -1 to stay. */
+        int nextStep(Party party, SplittableRandom rng);
+    }
+
+    /** Trades while the party stands on a market. */
+    public interface Shopping {
+        void shop(Party party);
+    }
+
+    /** Chooses between a hero's weapon and spell each battle turn. */
+    public interface Tactics {
+        boolean castSpell(double attackDamage, double spellDamage);
+    }
+
+    /** Built-in movement policies. */
+    public enum Moves implements Movement {
+        /** Uniformly random accessible neighbour. */
+        RANDOM_WALK {
+            @Override
+            public int nextStep(Party party, SplittableRandom rng) {
+                return party.randomNeighbour(rng);
+            }
+        },
+        /** Random walk, but heads for the nearest market whenever there is gold for an upgrade. */
+        SEEK_MARKET {
+            @Override
+            public int nextStep(Party party, SplittableRandom rng) {
+                if (party.canAffordUpgrade()) {
+                    int dir = party.stepTowardMarket();
+                    if (dir >= 0) return dir;
+                }
+                return party.randomNeighbour(rng);
+            }
+        }
+    }
+
+    /** Built-in shopping policies. */
+    public enum Shops implements Shopping {
+        /** Never buys. */
+        NONE {
+            @Override
+            public void shop(Party party) {}
+        },
+        /** Each hero upgrades weapon, then armor, then spell to the best item it can afford. */
+        GREEDY {
+            @Override
+            public void shop(Party party) {
+                for (int h = 0; h < party.heroes.size(); h++) party.buyUpgrades(h);
+            }
+        }
+    }
+
+    /** Built-in battle tactics. */
+    public enum Tactic implements Tactics {
+        ATTACK {
+            @Override
+            public boolean castSpell(double attackDamage, double spellDamage) {
+                return false;
+            }
+        },
+        /** Casts whenever the spell out-damages the weapon and mana allows. */
+        STRONGEST {
+            @Override
+            public boolean castSpell(double attackDamage, double spellDamage) {
+                return spellDamage > attackDamage;
+            }
+        }
+    }
+
+    private final List<Hero> roster;
+    private final List<MonsterTemplate> monsters;
+    private final Catalog catalog;
+    private final CombatResolver combat;
+    private final int boardSize;
+    private final int steps;
+    private final Movement movement;
+    private final Shopping shopping;
+    private final Tactics tactics;
+
+    public ExplorationSim(List<Hero> roster, List<MonsterTemplate> monsters, CombatResolver combat, int boardSize,
+                          int steps, Movement movement, Shopping shopping, Tactics tactics) {
+        if (roster.size() < 3) {
+            throw new IllegalArgumentException("Exploration needs at least three heroes to draft from.");
+        }
+        if (monsters.isEmpty()) {
+            throw new IllegalArgumentException("Exploration needs at least one monster.");
+        }
+        this.roster = roster;
+        this.monsters = monsters;
+        this.catalog = new Catalog();
+        this.combat = combat;
+        this.boardSize = boardSize;
+        this.steps = steps;
+        this.movement = movement;
+        this.shopping = shopping;
+        this.tactics = tactics;
+        new LegendsBoard(boardSize, new Random(0)); // Rejects a bad size up front
+    }
+
+    /**
+     * Plays {@code runs} parties; run {@code i} depends only on {@code seed} and {@code i}.
+     */
+    public ProgressionCurves simulate(int runs, long seed, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new Runs(seed, 0, runs));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Splits the run range in halves; leaves play their runs into fresh curves. */
+    private final class Runs extends RecursiveTask<ProgressionCurves> {
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final int from, to;
+
+        Runs(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ProgressionCurves compute() {
+            if (to - from > LEAF_RUNS) {
+                int mid = (from + to) >>> 1;
+                Runs right = new Runs(seed, mid, to);
+                right.fork();
+                ProgressionCurves curves = new Runs(seed, from, mid).compute();
+                curves.merge(right.join());
+                return curves;
+            }
+            ProgressionCurves curves = new ProgressionCurves(steps);
+            for (int i = from; i < to; i++) {
+                // Mix the run index into the seed so neighbouring runs are unrelated
+                playRun(new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (i + 1))), curves);
+            }
+            return curves;
+        }
+    }
+
+    private void playRun(SplittableRandom rng, ProgressionCurves curves) {
+        Party party = new Party(rng);
+        curves.startRun();
+        party.sample(curves, 0);
+        for (int step = 1; step <= steps; step++) {
+            int dir = movement.nextStep(party, rng);
+            if (dir >= 0 && !party.move(dir, rng)) {
+                curves.died(step);
+                return;
+            }
+            party.sample(curves, step);
+        }
+    }
+
+    /** Item lists the shopping policies choose from, loaded once per simulator. */
+    private static final class Catalog {
+        final List<Weapon> weapons = GameDataLoader.loadWeapons("Weaponry.txt");
+        final List<Armor> armors = GameDataLoader.loadArmor("Armory.txt");
+        final List<Spell> spells = new ArrayList<>();
+
+        Catalog() {
+            spells.addAll(GameDataLoader.loadSpells("FireSpells.txt", SpellType.FIRE));
+            spells.addAll(GameDataLoader.loadSpells("IceSpells.txt", SpellType.ICE));
+            spells.addAll(GameDataLoader.loadSpells("LightningSpells.txt", SpellType.LIGHTNING));
+        }
+    }
+
+    /**
+     * One run's party: three drafted heroes with their own copies of the stats, the best gear
+     * each has bought (by its main stat), and where they stand on their own world.
+     */
+    public final class Party {
+        private final LegendsBoard board;
+        private final Pathfinder.DistanceField toMarket;
+        private final List<Hero> heroes = new ArrayList<>(3);
+        private final double[] weapon = new double[3];
+        private final double[] armor = new double[3];
+        private final double[] spellDamage = new double[3];
+        private final double[] spellCost = new double[3];
+        private final int[] neighbours = new int[4];
+        private int row, col;
+        private final Encounter encounter = new Encounter(combat);
+
+        Party(SplittableRandom rng) {
+            board = new LegendsBoard(boardSize, new Random(rng.nextLong()));
+            toMarket = new Pathfinder(board).fieldToType(CellType.MARKET);
+            int n = roster.size();
+            int a = rng.nextInt(n);
+            int b = rng.nextInt(n - 1);
+            if (b >= a) b++;
+            int c = rng.nextInt(n - 2);
+            if (c >= Math.min(a, b)) c++;
+            if (c >= Math.max(a, b)) c++;
+            for (int pick : new int[]{a, b, c}) {
+                Hero t = roster.get(pick);
+                Hero h = new Hero(t.getName(), t.getType(), t.getMana(), t.getBaseStrength(), t.getBaseAgility(),
+                        t.getBaseDexterity(), t.getMoney(), t.getExperience());
+                h.setAnnounceLevelUps(false);
+                heroes.add(h);
+            }
+        }
+
+        public int getRow() { return row; }
+        public int getCol() { return col; }
+        public LegendsBoard getBoard() { return board; }
+        public List<Hero> getHeroes() { return heroes; }
+
+        /** @return A random accessible neighbour's direction, or -1 if boxed in. */
+        public int randomNeighbour(SplittableRandom rng) {
+            int n = 0;
+            for (int d = 0; d < 4; d++) {
+                if (isOpen(row + DIR_ROW[d], col + DIR_COL[d])) neighbours[n++] = d;
+            }
+            return (n == 0) ? -1 : neighbours[rng.nextInt(n)];
+        }
+
+        private boolean isOpen(int r, int c) {
+            return board.isValidCoordinate(r, c) && board.getCell(r, c).isAccessible();
+        }
+
+        /** @return The direction of the next step to the nearest market, or -1 if on one or none is reachable. */
+        public int stepTowardMarket() {
+            int next = toMarket.nextStep(row, col);
+            if (next < 0) return -1;
+            int dRow = next / board.getWidth() - row;
+            int dCol = next % board.getWidth() - col;
+            for (int d = 0; d < 4; d++) {
+                if (DIR_ROW[d] == dRow && DIR_COL[d] == dCol) return d;
+            }
+            return -1;
+        }
+
+        /** True if some hero can buy a better weapon, armor or spell than it has. */
+        public boolean canAffordUpgrade() {
+            for (int h = 0; h < heroes.size(); h++) {
+                Hero hero = heroes.get(h);
+                if (best(catalog.weapons, hero, weapon[h]) != null
+                        || best(catalog.armors, hero, armor[h]) != null
+                        || best(catalog.spells, hero, spellDamage[h]) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Buys hero {@code h} the best affordable upgrade in each slot, weapon first. */
+        public void buyUpgrades(int h) {
+            Hero hero = heroes.get(h);
+            Weapon w = best(catalog.weapons, hero, weapon[h]);
+            if (w != null && hero.deductMoney(w.getBasePrice())) weapon[h] = w.getDamage();
+            Armor a = best(catalog.armors, hero, armor[h]);
+            if (a != null && hero.deductMoney(a.getBasePrice())) armor[h] = a.getDamageReduction();
+            Spell s = best(catalog.spells, hero, spellDamage[h]);
+            if (s != null && hero.deductMoney(s.getBasePrice())) {
+                spellDamage[h] = s.getDamage();
+                spellCost[h] = s.getManaCost();
+            }
+        }
+
+        /**
+         * @return false if the party was wiped out.
+         */
+        boolean move(int dir, SplittableRandom rng) {
+            int r = row + DIR_ROW[dir], c = col + DIR_COL[dir];
+            if (!isOpen(r, c)) return true; // Blocked: the step is wasted
+            Cell cell = board.getCell(r, c);
+            row = r;
+            col = c;
+            if (cell.isMarket()) {
+                shopping.shop(this);
+            } else if (cell.isCommon() && rng.nextDouble() < combat.getAmbushChance()) {
+                return battle(rng);
+            }
+            return true;
+        }
+
+        private boolean battle(SplittableRandom rng) {
+            int level = 1;
+            for (Hero h : heroes) {
+                h.resetBattleState();
+                level = Math.max(level, h.getLevel());
+            }
+            int n = heroes.size();
+            encounter.begin(n);
+            for (int h = 0; h < n; h++) {
+                Hero hero = heroes.get(h);
+                encounter.hp[h] = hero.getHp();
+                encounter.mana[h] = hero.getMana();
+                encounter.maxHp[h] = hero.getMaxHp();
+                encounter.maxMana[h] = hero.getMaxMana();
+                encounter.strength[h] = hero.getStrength();
+                encounter.dexterity[h] = hero.getDexterity();
+                encounter.agility[h] = hero.getAgility();
+                encounter.weapon[h] = weapon[h];
+                encounter.armor[h] = armor[h];
+                encounter.spellDamage[h] = spellDamage[h];
+                encounter.spellCost[h] = spellCost[h];
+            }
+            double totalLevels = 0;
+            for (int m = 0; m < n; m++) {
+                encounter.addMonster(monsters.get(rng.nextInt(monsters.size())), level);
+                totalLevels += level;
+            }
+
+            boolean won = encounter.fight(MAX_BATTLE_ROUNDS, tactics, rng) > 0;
+            for (int h = 0; h < n; h++) {
+                Hero hero = heroes.get(h);
+                hero.setHp(encounter.hp[h]);
+                hero.setMana(encounter.mana[h]);
+                if (hero.isFainted()) hero.markFaintedInBattle();
+            }
+            if (won) victory(totalLevels);
+            return won;
+        }
+
+        /** Same payout as {@code BattleController.processVictory}. */
+        private void victory(double totalLevels) {
+            double gold = combat.battleGold(totalLevels);
+            int xp = combat.battleExperience(totalLevels);
+            for (Hero h : heroes) {
+                if (h.isFainted()) h.revive();
+            }
+            for (Hero h : heroes) {
+                if (h.wasFaintedInBattle()) continue;
+                h.addMoney(gold);
+                h.gainExperience(xp);
+            }
+        }
+
+        private void sample(ProgressionCurves curves, int step) {
+            double level = 0, gold = 0;
+            for (Hero h : heroes) {
+                level += h.getLevel();
+                gold += h.getMoney();
+            }
+            curves.sample(step, level / heroes.size(), gold);
+        }
+    }
+
+    /** Best item above {@code current} by main stat that the hero's level and gold allow, or null. */
+    private static <T extends Item> T best(List<T> items, Hero hero, double current) {
+        T pick = null;
+        double pickValue = current;
+        for (T item : items) {
+            if (item.getMinLevel() > hero.getLevel() || item.getBasePrice() > hero.getMoney()) continue;
+            double value = (item instanceof Weapon) ? ((Weapon) item).getDamage()
+                    : (item instanceof Armor) ? ((Armor) item).getDamageReduction()
+                    : ((Spell) item).getDamage();
+            if (value > pickValue) {
+                pick = item;
+                pickValue = value;
+            }
+        }
+        return pick;
+    }
+
+    /**
+     * Parses the command line, runs the simulation and prints the curves.
+     *
+     * @param args Command line arguments passed to {@code Main}, starting with {@code --explore}.
+     */
+    public static void run(String[] args) {
+        int runs = 10000;
+        int steps = 500;
+        int size = 8;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Movement movement = Moves.RANDOM_WALK;
+        Shopping shopping = Shops.GREEDY;
+        Tactics tactics = Tactic.STRONGEST;
+        String csv = null;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--runs":
+                        runs = Integer.parseInt(requireValue(args, ++i, "--runs"));
+                        break;
+                    case "--steps":
+                        steps = Integer.parseInt(requireValue(args, ++i, "--steps"));
+                        break;
+                    case "--size":
+                        size = Integer.parseInt(requireValue(args, ++i, "--size"));
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(requireValue(args, ++i, "--seed"));
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(requireValue(args, ++i, "--threads"));
+                        break;
+                    case "--move":
+                        movement = Moves.valueOf(requireValue(args, ++i, "--move").toUpperCase().replace('-', '_'));
+                        break;
+                    case "--shop":
+                        shopping = Shops.valueOf(requireValue(args, ++i, "--shop").toUpperCase());
+                        break;
+                    case "--tactics":
+                        tactics = Tactic.valueOf(requireValue(args, ++i, "--tactics").toUpperCase());
+                        break;
+                    case "--csv":
+                        csv = requireValue(args, ++i, "--csv");
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (runs < 1 || threads < 1) {
+                throw new IllegalArgumentException("--runs and --threads must be at least 1.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java Main --explore [--runs N] [--steps N] [--size N] [--seed N] [--threads N]"
+                    + " [--move random-walk|seek-market] [--shop none|greedy] [--tactics attack|strongest] [--csv FILE]");
+            System.exit(2);
+            return;
+        }
+
+        List<Hero> roster = new ArrayList<>();
+        roster.addAll(GameDataLoader.loadHeroes("Warriors.txt", Hero.HeroType.WARRIOR));
+        roster.addAll(GameDataLoader.loadHeroes("Sorcerers.txt", Hero.HeroType.SORCERER));
+        roster.addAll(GameDataLoader.loadHeroes("Paladins.txt", Hero.HeroType.PALADIN));
+        ExplorationSim sim = new ExplorationSim(roster, Tournament.loadMonsters(), CombatResolver.getInstance(),
+                size, steps, movement, shopping, tactics);
+        System.out.println(ConsoleColors.CYAN + "Exploration: " + runs + " parties, " + steps + " steps on " + size + "x" + size
+                + " worlds (" + movement + ", " + shopping + ", " + tactics + "), " + threads + " threads." + ConsoleColors.RESET);
+
+        long start = System.nanoTime();
+        ProgressionCurves curves = sim.simulate(runs, seed, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("\n" + ConsoleColors.YELLOW + "=== Progression ===" + ConsoleColors.RESET);
+        System.out.printf("%6s %8s %8s %15s %20s%n", "Step", "Alive", "Dead%", "Level (sd)", "Gold (sd)");
+        int every = Math.max(1, steps / 20);
+        for (int s = 0; s <= steps; s += every) {
+            printRow(curves, s);
+        }
+        if (steps % every != 0) printRow(curves, steps);
+        System.out.printf("%n%d runs x %d steps in %.1f s (%.0f steps/s).%n", runs, steps, seconds, (double) runs * steps / seconds);
+
+        if (csv != null) {
+            try {
+                curves.writeCsv(Paths.get(csv));
+                System.out.println("Curves written to " + csv);
+            } catch (IOException e) {
+                System.err.println(ConsoleColors.RED + "Could not write " + csv + ": " + e.getMessage() + ConsoleColors.RESET);
+            }
+        }
+    }
+
+    private static void printRow(ProgressionCurves curves, int s) {
+        System.out.printf("%6d %8d %7.2f%% %7.2f (%5.2f) %10.0f (%7.0f)%n", s, curves.alive(s), curves.deathRate(s) * 100,
+                curves.levelMean(s), curves.levelStdDev(s), curves.goldMean(s), curves.goldStdDev(s));
+    }
+
+    private static String requireValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value.");
+        }
+        return args[index];
+    }
+}
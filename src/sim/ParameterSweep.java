@@ -0,0 +1,357 @@
+package sim;
+
+import entities.MonsterTemplate;
+import game.CombatResolver;
+import game.CombatRules;
+import utils.ConsoleColors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Grid or random search over {@link CombatRules} values, scored by how close the headless
+ * win rate ({@link BattleSim}) lands to a target.
+ *
+ * <p>Candidates are raced: every surviving configuration plays the next batch of games
+ * (the same random party and seed for all of them, so they are compared on equal terms),
+ * then Hoeffding bounds are put around each win rate. A configuration whose best case is
+ * still further from the target than the current leader's worst case is dropped, so poor
+ * settings stop costing games after a batch or two. With probability at least
+ * {@code 1 - delta}, no configuration is dropped wrongly.</p>
+ *
+ * <p>Only rules the simulators use make a difference: combat math, regeneration and the
+ * Valor spawn interval. Reward and ambush rules can be swept but have no effect here.</p>
+ */
+public final class ParameterSweep {
+    /** Which game the win rate is measured in. */
+    public enum Mode { VALOR, LEGENDS }
+
+    /** A swept rule and the values it ranges over. */
+    public static final class Range {
+        private final String key;
+        private final double low, high;
+        private final int steps;
+
+        public Range(String key, double low, double high, int steps) {
+            if (!CombatRules.keys().contains(key)) {
+                throw new IllegalArgumentException("Unknown combat rule: " + key);
+            }
+            if (high < low) {
+                throw new IllegalArgumentException("Range for " + key + " is empty.");
+            }
+            if (steps < 1) {
+                throw new IllegalArgumentException("A range needs at least one step.");
+            }
+            this.key = key;
+            this.low = low;
+            this.high = high;
+            this.steps = steps;
+        }
+
+        /**
+         * Parses {@code key=low:high[:steps]}; steps defaults to 3 (ignored by random search).
+         */
+        public static Range parse(String spec) {
+            int eq = spec.indexOf('=');
+            String[] parts = (eq < 0) ? new String[0] : spec.substring(eq + 1).split(":");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("Expected key=low:high[:steps], got: " + spec);
+            }
+            try {
+                return new Range(spec.substring(0, eq), Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                        parts.length == 3 ? Integer.parseInt(parts[2]) : 3);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad number in: " + spec);
+            }
+        }
+
+        double valueAt(int step) {
+            return (steps == 1) ? low : low + (high - low) * step / (steps - 1);
+        }
+    }
+
+    /** One configuration in the race. */
+    public static final class Candidate {
+        private final Map<String, Double> point;
+        private final CombatResolver combat;
+        private long games;
+        private long wins;
+        private long prunedAt = -1;
+
+        Candidate(Map<String, Double> point, CombatRules base) {
+            CombatRules rules = base;
+            for (Map.Entry<String, Double> e : point.entrySet()) rules = rules.with(e.getKey(), e.getValue());
+            this.point = point;
+            this.combat = new CombatResolver(rules);
+        }
+
+        public Map<String, Double> getPoint() { return point; }
+        public long getGames() { return games; }
+        public double getWinRate() { return (games == 0) ? 0 : (double) wins / games; }
+        public boolean isPruned() { return prunedAt >= 0; }
+        /** Games played when the candidate was dropped, or -1 if it survived. */
+        public long getPrunedAt() { return prunedAt; }
+    }
+
+    private final CombatRules base;
+    private final List<SimParty> parties;
+    private final List<MonsterTemplate> monsters;
+    private final Mode mode;
+    private final double target;
+    private final int maxGames;
+    private final int batch;
+    private final double delta;
+    private final long seed;
+    private final int threads;
+
+    /**
+     * @param target   Win rate the search steers towards.
+     * @param maxGames Games a configuration plays if it is never dropped.
+     * @param batch    Games per configuration between two pruning checks.
+     * @param delta    Allowed probability that any pruning decision is wrong.
+     */
+    public ParameterSweep(CombatRules base, List<SimParty> parties, List<MonsterTemplate> monsters, Mode mode,
+                          double target, int maxGames, int batch, double delta, long seed, int threads) {
+        if (parties.isEmpty()) {
+            throw new IllegalArgumentException("A sweep needs at least one party.");
+        }
+        if (batch < 1 || maxGames < batch) {
+            throw new IllegalArgumentException("Games must be at least one batch, and a batch at least one game.");
+        }
+        if (delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("delta must be between 0 and 1.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("A sweep needs at least one thread.");
+        }
+        this.base = base;
+        this.parties = parties;
+        this.monsters = monsters;
+        this.mode = mode;
+        this.target = target;
+        this.maxGames = maxGames;
+        this.batch = batch;
+        this.delta = delta;
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /** Every combination of the ranges' steps. */
+    public static List<Map<String, Double>> grid(List<Range> ranges) {
+        List<Map<String, Double>> points = new ArrayList<>();
+        points.add(new LinkedHashMap<>());
+        for (Range r : ranges) {
+            List<Map<String, Double>> next = new ArrayList<>(points.size() * r.steps);
+            for (Map<String, Double> p : points) {
+                for (int s = 0; s < r.steps; s++) {
+                    Map<String, Double> q = new LinkedHashMap<>(p);
+                    q.put(r.key, r.valueAt(s));
+                    next.add(q);
+                }
+            }
+            points = next;
+        }
+        return points;
+    }
+
+    /** {@code count} points drawn uniformly from the ranges. */
+    public static List<Map<String, Double>> random(List<Range> ranges, int count, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        List<Map<String, Double>> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Double> p = new LinkedHashMap<>();
+            for (Range r : ranges) p.put(r.key, r.low + (r.high - r.low) * rng.nextDouble());
+            points.add(p);
+        }
+        return points;
+    }
+
+    /**
+     * Races the configurations and returns all of them, closest to the target first.
+     */
+    public List<Candidate> race(List<Map<String, Double>> points) {
+        List<Candidate> all = new ArrayList<>(points.size());
+        for (Map<String, Double> p : points) all.add(new Candidate(p, base));
+
+        // Union bound over every check of every candidate
+        int checks = (maxGames + batch - 1) / batch;
+        double logTerm = Math.log(2.0 * all.size() * checks / delta);
+
+        SplittableRandom draws = new SplittableRandom(seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Candidate> alive = new ArrayList<>(all);
+            for (long played = 0; played < maxGames && !alive.isEmpty(); ) {
+                int n = (int) Math.min(batch, maxGames - played);
+                int[] party = new int[n];
+                long[] seeds = new long[n];
+                for (int k = 0; k < n; k++) {
+                    party[k] = draws.nextInt(parties.size());
+                    seeds[k] = draws.nextLong();
+                }
+                pool.invoke(new PlayBatch(alive, 0, alive.size(), party, seeds));
+                played += n;
+                if (alive.size() > 1) prune(alive, played, Math.sqrt(logTerm / (2.0 * played)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        all.sort(Comparator.comparingDouble((Candidate c) -> Math.abs(c.getWinRate() - target))
+                .thenComparingLong(c -> -c.games));
+        return all;
+    }
+
+    /** Drops every candidate that cannot beat the leader's worst case. */
+    private void prune(List<Candidate> alive, long played, double epsilon) {
+        double bestUpper = Double.MAX_VALUE;
+        for (Candidate c : alive) {
+            bestUpper = Math.min(bestUpper, Math.abs(c.getWinRate() - target) + epsilon);
+        }
+        for (int i = alive.size() - 1; i >= 0; i--) {
+            Candidate c = alive.get(i);
+            if (Math.abs(c.getWinRate() - target) - epsilon > bestUpper) {
+                c.prunedAt = played;
+                alive.remove(i);
+            }
+        }
+    }
+
+    /** Plays the same batch for a range of candidates, splitting down to one candidate per task. */
+    private final class PlayBatch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Candidate> candidates;
+        private final int from, to;
+        private final int[] party;
+        private final long[] seeds;
+
+        PlayBatch(List<Candidate> candidates, int from, int to, int[] party, long[] seeds) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.party = party;
+            this.seeds = seeds;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PlayBatch(candidates, from, mid, party, seeds),
+                        new PlayBatch(candidates, mid, to, party, seeds));
+                return;
+            }
+            Candidate c = candidates.get(from);
+            BattleSim sim = new BattleSim(c.combat, monsters);
+            int wins = 0;
+            for (int k = 0; k < seeds.length; k++) {
+                SimParty p = parties.get(party[k]);
+                int result = (mode == Mode.VALOR) ? sim.playValor(p, seeds[k]) : sim.playLegends(p, seeds[k]);
+                if (result > 0) wins++;
+            }
+            c.games += seeds.length;
+            c.wins += wins;
+        }
+    }
+
+    /**
+     * Parses the command line, runs the sweep and prints the ranking.
+     *
+     * @param args Command line arguments passed to {@code Main}, starting with {@code --sweep}.
+     */
+    public static void run(String[] args) {
+        List<Range> ranges = new ArrayList<>();
+        int randomCount = 0;
+        Mode mode = Mode.LEGENDS;
+        double target = 0.5;
+        int games = 2000;
+        int batch = 100;
+        double delta = 0.05;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--param":
+                        ranges.add(Range.parse(requireValue(args, ++i, "--param")));
+                        break;
+                    case "--random":
+                        randomCount = Integer.parseInt(requireValue(args, ++i, "--random"));
+                        break;
+                    case "--mode":
+                        mode = Mode.valueOf(requireValue(args, ++i, "--mode").toUpperCase());
+                        break;
+                    case "--target":
+                        target = Double.parseDouble(requireValue(args, ++i, "--target"));
+                        break;
+                    case "--games":
+                        games = Integer.parseInt(requireValue(args, ++i, "--games"));
+                        break;
+                    case "--batch":
+                        batch = Integer.parseInt(requireValue(args, ++i, "--batch"));
+                        break;
+                    case "--delta":
+                        delta = Double.parseDouble(requireValue(args, ++i, "--delta"));
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(requireValue(args, ++i, "--seed"));
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(requireValue(args, ++i, "--threads"));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (ranges.isEmpty()) {
+                throw new IllegalArgumentException("At least one --param key=low:high[:steps] is required.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java Main --sweep --param key=low:high[:steps] ... [--random N] [--mode valor|legends]"
+                    + " [--target RATE] [--games N] [--batch N] [--delta P] [--seed N] [--threads N]");
+            System.exit(2);
+            return;
+        }
+
+        List<Map<String, Double>> points = (randomCount > 0) ? random(ranges, randomCount, seed) : grid(ranges);
+        ParameterSweep sweep = new ParameterSweep(CombatResolver.getInstance().getRules(), Tournament.draftParties(),
+                Tournament.loadMonsters(), mode, target, games, batch, delta, seed, threads);
+        System.out.println(ConsoleColors.CYAN + "Sweep: " + points.size() + " configurations, " + mode
+                + " win rate towards " + target + ", up to " + games + " games each." + ConsoleColors.RESET);
+
+        long start = System.nanoTime();
+        List<Candidate> ranked = sweep.race(points);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long played = 0;
+        for (Candidate c : ranked) played += c.getGames();
+        long exhaustive = (long) games * points.size();
+        System.out.println("\n" + ConsoleColors.YELLOW + "=== Sweep Results ===" + ConsoleColors.RESET);
+        for (int i = 0; i < ranked.size(); i++) {
+            Candidate c = ranked.get(i);
+            StringBuilder params = new StringBuilder();
+            for (Map.Entry<String, Double> e : c.getPoint().entrySet()) {
+                if (params.length() > 0) params.append(' ');
+                params.append(e.getKey()).append('=').append(String.format("%.4g", e.getValue()));
+            }
+            String status = c.isPruned() ? "dropped after " + c.getPrunedAt() : ConsoleColors.GREEN + "survived" + ConsoleColors.RESET;
+            System.out.printf("%-4d %-60s win %5.1f%%  games %6d  %s%n", i + 1, params, c.getWinRate() * 100, c.getGames(), status);
+        }
+        System.out.printf("%nPlayed %d of %d games (%.0f%% saved by pruning) in %.1f s.%n",
+                played, exhaustive, 100.0 * (exhaustive - played) / exhaustive, seconds);
+    }
+
+    private static String requireValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value.");
+        }
+        return args[index];
+    }
+}
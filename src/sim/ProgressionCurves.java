@@ -0,0 +1,126 @@
+package sim;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Per-step progression statistics over many exploration runs, kept in constant memory.
+ *
+ * <p>For every step the curves hold how many runs were still alive, how many died on that
+ * step, and running mean and variance of party level and gold over the live runs (Welford's
+ * update). Runs are added one step at a time and never stored; partial curves built on
+ * different threads are combined with {@link #merge} (Chan et al.'s pairwise formula), so the
+ * result is the same as if every run had been added to one instance.</p>
+ *
+ * <p>Not thread-safe; each worker fills its own instance.</p>
+ */
+public final class ProgressionCurves {
+    private final int steps;
+    private final long[] alive;
+    private final long[] deaths;
+    private final double[] levelMean, levelM2;
+    private final double[] goldMean, goldM2;
+    private long runs;
+
+    /**
+     * @param steps Steps per run; index 0 is the state before the first step.
+     */
+    public ProgressionCurves(int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Curves need at least one step.");
+        }
+        this.steps = steps;
+        int n = steps + 1;
+        alive = new long[n];
+        deaths = new long[n];
+        levelMean = new double[n];
+        levelM2 = new double[n];
+        goldMean = new double[n];
+        goldM2 = new double[n];
+    }
+
+    public int getSteps() { return steps; }
+    public long getRuns() { return runs; }
+
+    /** Counts one more run; call once per run before its first {@link #sample}. */
+    public void startRun() {
+        runs++;
+    }
+
+    /** Adds a live run's state after {@code step}. */
+    public void sample(int step, double level, double gold) {
+        long n = ++alive[step];
+        double d = level - levelMean[step];
+        levelMean[step] += d / n;
+        levelM2[step] += d * (level - levelMean[step]);
+        d = gold - goldMean[step];
+        goldMean[step] += d / n;
+        goldM2[step] += d * (gold - goldMean[step]);
+    }
+
+    /** Records that a run was wiped out on {@code step}; it is not sampled afterwards. */
+    public void died(int step) {
+        deaths[step]++;
+    }
+
+    /** Folds {@code other} (same step count) into this instance. */
+    public void merge(ProgressionCurves other) {
+        if (other.steps != steps) {
+            throw new IllegalArgumentException("Cannot merge curves of different lengths.");
+        }
+        runs += other.runs;
+        for (int s = 0; s <= steps; s++) {
+            deaths[s] += other.deaths[s];
+            long nb = other.alive[s];
+            if (nb == 0) continue;
+            long na = alive[s];
+            long n = na + nb;
+            double d = other.levelMean[s] - levelMean[s];
+            levelMean[s] += d * nb / n;
+            levelM2[s] += other.levelM2[s] + d * d * na * nb / n;
+            d = other.goldMean[s] - goldMean[s];
+            goldMean[s] += d * nb / n;
+            goldM2[s] += other.goldM2[s] + d * d * na * nb / n;
+            alive[s] = n;
+        }
+    }
+
+    public long alive(int step) { return alive[step]; }
+
+    /** Share of all runs wiped out at or before {@code step}. */
+    public double deathRate(int step) {
+        if (runs == 0) return 0;
+        long dead = 0;
+        for (int s = 0; s <= step; s++) dead += deaths[s];
+        return (double) dead / runs;
+    }
+
+    public double levelMean(int step) { return levelMean[step]; }
+    public double levelStdDev(int step) { return stdDev(levelM2[step], alive[step]); }
+    public double goldMean(int step) { return goldMean[step]; }
+    public double goldStdDev(int step) { return stdDev(goldM2[step], alive[step]); }
+
+    private static double stdDev(double m2, long n) {
+        return (n < 2) ? 0 : Math.sqrt(m2 / (n - 1));
+    }
+
+    /**
+     * Writes one row per step: alive, deaths, death rate, level and gold mean and standard deviation.
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("step,alive,deaths,death_rate,level_mean,level_sd,gold_mean,gold_sd");
+            long dead = 0;
+            for (int s = 0; s <= steps; s++) {
+                dead += deaths[s];
+                out.printf(Locale.ROOT, "%d,%d,%d,%.6f,%.4f,%.4f,%.2f,%.2f%n", s, alive[s], deaths[s],
+                        runs == 0 ? 0.0 : (double) dead / runs,
+                        levelMean[s], levelStdDev(s), goldMean[s], goldStdDev(s));
+            }
+        }
+    }
+}
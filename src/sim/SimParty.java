@@ -0,0 +1,126 @@
+package sim;
+
+import entities.Hero;
+import items.Armor;
+import items.Item;
+import items.Spell;
+import items.Weapon;
+
+import java.util.List;
+
+/**
+ * Frozen combat stats of a party entered in a {@link Tournament}, with the starter kit each
+ * hero would buy: the strongest weapon, then armor, then spell its starting gold and level allow.
+ *
+ * <p>Immutable, so every worker thread can simulate the same party without copying it.</p>
+ */
+public final class SimParty {
+    /** Spells kept per hero; a starter budget never buys more than one. */
+    static final int MAX_SPELLS = 1;
+
+    private final String key;
+    final int size;
+    final int level;
+    final Hero.HeroType[] types;
+    final double[] hp, maxHp, mana, maxMana, strength, agility, dexterity;
+    final double[] weapon, armor;
+    final int[] spellCount;
+    final double[] spellDamage, spellCost;
+    final int[] spellType;
+
+    /**
+     * @param heroes Fresh heroes; they are read, never modified.
+     */
+    public SimParty(List<Hero> heroes, List<Weapon> weapons, List<Armor> armors, List<Spell> spells) {
+        if (heroes.isEmpty() || heroes.size() > 3) {
+            throw new IllegalArgumentException("A party has between 1 and 3 heroes.");
+        }
+        size = heroes.size();
+        types = new Hero.HeroType[size];
+        hp = new double[size];
+        maxHp = new double[size];
+        mana = new double[size];
+        maxMana = new double[size];
+        strength = new double[size];
+        agility = new double[size];
+        dexterity = new double[size];
+        weapon = new double[size];
+        armor = new double[size];
+        spellCount = new int[size];
+        spellDamage = new double[size * MAX_SPELLS];
+        spellCost = new double[size * MAX_SPELLS];
+        spellType = new int[size * MAX_SPELLS];
+
+        StringBuilder names = new StringBuilder();
+        int maxLevel = 1;
+        for (int i = 0; i < size; i++) {
+            Hero h = heroes.get(i);
+            if (i > 0) names.append('+');
+            names.append(h.getName());
+            maxLevel = Math.max(maxLevel, h.getLevel());
+            types[i] = h.getType();
+            hp[i] = h.getHp();
+            maxHp[i] = h.getMaxHp();
+            mana[i] = h.getMana();
+            maxMana[i] = h.getMaxMana();
+            strength[i] = h.getBaseStrength();
+            agility[i] = h.getBaseAgility();
+            dexterity[i] = h.getBaseDexterity();
+
+            double gold = h.getMoney();
+            Weapon w = best(weapons, h.getLevel(), gold);
+            if (w != null) {
+                weapon[i] = w.getDamage();
+                gold -= w.getBasePrice();
+            }
+            Armor a = best(armors, h.getLevel(), gold);
+            if (a != null) {
+                armor[i] = a.getDamageReduction();
+                gold -= a.getBasePrice();
+            }
+            Spell s = best(spells, h.getLevel(), gold);
+            if (s != null) {
+                int slot = i * MAX_SPELLS;
+                spellDamage[slot] = s.getDamage();
+                spellCost[slot] = s.getManaCost();
+                spellType[slot] = s.getType().ordinal();
+                spellCount[i] = 1;
+            }
+        }
+        this.key = names.toString();
+        this.level = maxLevel;
+    }
+
+    /** Hero names joined by {@code +}; unique per party and stable across runs. */
+    public String getKey() {
+        return key;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /** Class initials in party order, e.g. {@code WSP}. */
+    public String getClasses() {
+        StringBuilder sb = new StringBuilder(size);
+        for (Hero.HeroType t : types) sb.append(t.name().charAt(0));
+        return sb.toString();
+    }
+
+    /** Most powerful affordable item by its main stat, or null. */
+    private static <T extends Item> T best(List<T> catalog, int level, double gold) {
+        T pick = null;
+        double pickValue = 0;
+        for (T item : catalog) {
+            if (item.getMinLevel() > level || item.getBasePrice() > gold) continue;
+            double value = (item instanceof Weapon) ? ((Weapon) item).getDamage()
+                    : (item instanceof Armor) ? ((Armor) item).getDamageReduction()
+                    : ((Spell) item).getDamage();
+            if (pick == null || value > pickValue) {
+                pick = item;
+                pickValue = value;
+            }
+        }
+        return pick;
+    }
+}
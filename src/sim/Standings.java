@@ -0,0 +1,139 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Aggregated tournament table: win rates, rounds and an Elo rating per party.
+ *
+ * <p>Every party played the same seeded games, so any two parties are compared game by game
+ * (a win beats a loss; between two wins the faster one wins, between two losses the one that
+ * held out longer). The Elo ratings are the Bradley-Terry fit of all those head-to-head
+ * scores on the Elo scale, anchored by one virtual draw against a 1500 player, so they do
+ * not depend on the order games finished in.</p>
+ */
+public final class Standings {
+    public static final double ANCHOR_ELO = 1500;
+    private static final int MAX_FIT_ITERATIONS = 500;
+
+    /** One table row. */
+    public static final class Row {
+        private final SimParty party;
+        private final double valorWinRate, legendsWinRate, averageRounds, elo;
+
+        Row(SimParty party, double valorWinRate, double legendsWinRate, double averageRounds, double elo) {
+            this.party = party;
+            this.valorWinRate = valorWinRate;
+            this.legendsWinRate = legendsWinRate;
+            this.averageRounds = averageRounds;
+            this.elo = elo;
+        }
+
+        public SimParty getParty() { return party; }
+        public double getValorWinRate() { return valorWinRate; }
+        public double getLegendsWinRate() { return legendsWinRate; }
+        /** Mean rounds of the games this party won, or 0 if it won none. */
+        public double getAverageRounds() { return averageRounds; }
+        public double getElo() { return elo; }
+    }
+
+    private final List<Row> rows;
+
+    /**
+     * @param valor   Per party (same order as {@code parties}), signed results of the Valor games.
+     * @param legends Same for the Legends games.
+     */
+    public Standings(List<SimParty> parties, int[][] valor, int[][] legends) {
+        int n = parties.size();
+        int games = (n == 0) ? 0 : valor[0].length + legends[0].length;
+
+        // Head-to-head points; each row is independent, so the quadratic pass runs in parallel
+        double[] points = new double[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double total = 0;
+            for (int j = 0; j < n; j++) {
+                if (j == i) continue;
+                total += score(valor[i], valor[j]) + score(legends[i], legends[j]);
+            }
+            points[i] = total;
+        });
+
+        double[] strength = fit(points, games);
+        List<Row> table = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int wins = 0, valorWins = 0;
+            long rounds = 0;
+            for (int r : valor[i]) {
+                if (r > 0) { valorWins++; wins++; rounds += r; }
+            }
+            int legendsWins = 0;
+            for (int r : legends[i]) {
+                if (r > 0) { legendsWins++; wins++; rounds += r; }
+            }
+            table.add(new Row(parties.get(i),
+                    valor[i].length == 0 ? 0 : (double) valorWins / valor[i].length,
+                    legends[i].length == 0 ? 0 : (double) legendsWins / legends[i].length,
+                    wins == 0 ? 0 : (double) rounds / wins,
+                    ANCHOR_ELO + 400 * Math.log10(strength[i])));
+        }
+        table.sort(Comparator.comparingDouble(Row::getElo).reversed()
+                .thenComparing(r -> r.getParty().getKey()));
+        this.rows = table;
+    }
+
+    /** Rows from the highest Elo down. */
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /** Points {@code a} takes off {@code b} over their shared games: 1 per game won, 1/2 per tie. */
+    static double score(int[] a, int[] b) {
+        double points = 0;
+        for (int g = 0; g < a.length; g++) {
+            int x = a[g], y = b[g];
+            if (x == y) {
+                points += 0.5;
+            } else if ((x > 0) != (y > 0)) {
+                if (x > 0) points += 1;
+            } else if (x > 0) {
+                if (x < y) points += 1;   // Both won: fewer rounds is better
+            } else if (x < y) {
+                points += 1;              // Both lost: held out longer
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Minorization-maximization fit of Bradley-Terry strengths (Hunter 2004) for a complete
+     * round robin where every pair played {@code games} games, plus one virtual draw per party
+     * against a fixed opponent of strength 1.
+     */
+    private static double[] fit(double[] points, int games) {
+        int n = points.length;
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1.0);
+        double[] next = new double[n];
+        for (int iter = 0; iter < MAX_FIT_ITERATIONS; iter++) {
+            double[] current = strength;
+            IntStream.range(0, n).parallel().forEach(i -> {
+                double si = current[i];
+                double denominator = 1 / (si + 1);
+                for (int j = 0; j < n; j++) {
+                    if (j != i) denominator += games / (si + current[j]);
+                }
+                next[i] = (points[i] + 0.5) / denominator;
+            });
+            double change = 0;
+            for (int i = 0; i < n; i++) {
+                change = Math.max(change, Math.abs(next[i] - strength[i]) / strength[i]);
+                strength[i] = next[i];
+            }
+            if (change < 1e-9) break;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,415 @@
+package sim;
+
+import entities.Hero;
+import entities.Hero.HeroType;
+import entities.Monster;
+import entities.MonsterTemplate;
+import game.CombatResolver;
+import game.CombatRules;
+import items.Armor;
+import items.Spell;
+import items.Spell.SpellType;
+import items.Weapon;
+import utils.ConsoleColors;
+import utils.GameDataLoader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Round-robin tournament of every 3-hero party that can be drafted from the hero data files.
+ *
+ * <p>Each party plays the same {@code games} seeded Valor matches and Legends battles
+ * ({@link BattleSim}); because the seeds are shared, every pair of parties meets head to head
+ * on identical games, and {@link Standings} turns those comparisons into win rates and Elo.</p>
+ *
+ * <p>Parties are simulated on a {@link ForkJoinPool}: the party range is split in halves down
+ * to single parties, so idle workers steal whatever is left when some parties take far longer
+ * than others. A finished party is appended to the checkpoint file straight away, and a run
+ * pointed at an existing checkpoint only plays what is missing. The checkpoint header records
+ * the games, the seed and a fingerprint of the combat rules, parties and monsters, so results
+ * played under other rules or data are never mixed into one table.</p>
+ *
+ * <p>Options: {@code --games N} (default 8), {@code --seed N} (default 1),
+ * {@code --checkpoint FILE} (default {@code tournament.ckpt}), {@code --threads N}
+ * (default: all cores) and {@code --top N} rows to print (default 20).</p>
+ */
+public final class Tournament {
+    private static final String HEADER = "# legends-of-valor tournament v2";
+
+    private final List<SimParty> parties;
+    private final int games;
+    private final long[] valorSeeds;
+    private final long[] legendsSeeds;
+    private final Path checkpoint;
+    private final int threads;
+    private final ThreadLocal<BattleSim> sims;
+    private final long seed;
+    private final String fingerprint;
+
+    private BufferedWriter out;
+    private final AtomicInteger finished = new AtomicInteger();
+    private int toPlay;
+    private long startNanos;
+
+    public Tournament(List<SimParty> parties, List<MonsterTemplate> monsters, int games, long seed,
+                      Path checkpoint, int threads) {
+        if (games < 1) {
+            throw new IllegalArgumentException("A tournament needs at least one game per party.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("A tournament needs at least one thread.");
+        }
+        this.parties = parties;
+        this.games = games;
+        this.seed = seed;
+        this.checkpoint = checkpoint;
+        this.threads = threads;
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        this.valorSeeds = new long[games];
+        this.legendsSeeds = new long[games];
+        for (int g = 0; g < games; g++) {
+            valorSeeds[g] = seeds.nextLong();
+            legendsSeeds[g] = seeds.nextLong();
+        }
+        CombatResolver combat = CombatResolver.getInstance();
+        this.sims = ThreadLocal.withInitial(() -> new BattleSim(combat, monsters));
+        this.fingerprint = fingerprint(combat.getRules(), parties, monsters);
+    }
+
+    /** CRC32 of everything a result depends on besides the seeds: rules, party stats and monsters. */
+    private static String fingerprint(CombatRules rules, List<SimParty> parties, List<MonsterTemplate> monsters) {
+        StringBuilder sb = new StringBuilder();
+        for (String key : CombatRules.keys()) {
+            sb.append(key).append('=').append(rules.get(key)).append(';');
+        }
+        for (SimParty p : parties) {
+            sb.append('|').append(p.getKey()).append(Arrays.toString(p.types)).append(p.level)
+                    .append(Arrays.toString(p.hp)).append(Arrays.toString(p.maxHp))
+                    .append(Arrays.toString(p.mana)).append(Arrays.toString(p.maxMana))
+                    .append(Arrays.toString(p.strength)).append(Arrays.toString(p.agility))
+                    .append(Arrays.toString(p.dexterity)).append(Arrays.toString(p.weapon))
+                    .append(Arrays.toString(p.armor)).append(Arrays.toString(p.spellCount))
+                    .append(Arrays.toString(p.spellDamage)).append(Arrays.toString(p.spellCost))
+                    .append(Arrays.toString(p.spellType));
+        }
+        for (MonsterTemplate m : monsters) {
+            sb.append('|').append(m.getName()).append(',').append(m.getType()).append(',').append(m.getBaseLevel())
+                    .append(',').append(m.getBaseDamage()).append(',').append(m.getBaseDefense())
+                    .append(',').append(m.getDodgeChance());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Parses the command line, plays (or resumes) the tournament and prints the table.
+     *
+     * @param args Command line arguments passed to {@code Main}, starting with {@code --tournament}.
+     */
+    public static void run(String[] args) {
+        int games = 8;
+        long seed = 1;
+        String file = "tournament.ckpt";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int top = 20;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games":
+                        games = Integer.parseInt(requireValue(args, ++i, "--games"));
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(requireValue(args, ++i, "--seed"));
+                        break;
+                    case "--checkpoint":
+                        file = requireValue(args, ++i, "--checkpoint");
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(requireValue(args, ++i, "--threads"));
+                        break;
+                    case "--top":
+                        top = Integer.parseInt(requireValue(args, ++i, "--top"));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java Main --tournament [--games N] [--seed N] [--checkpoint FILE] [--threads N] [--top N]");
+            System.exit(2);
+            return;
+        }
+
+        Tournament tournament = new Tournament(draftParties(), loadMonsters(), games, seed, Paths.get(file), threads);
+        Standings standings;
+        try {
+            standings = tournament.play();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(ConsoleColors.RED + "Tournament failed: " + e.getMessage() + ConsoleColors.RESET);
+            System.exit(1);
+            return;
+        }
+        print(standings, top);
+    }
+
+    /** Templates of every monster in the data files. */
+    public static List<MonsterTemplate> loadMonsters() {
+        List<Monster> catalog = new ArrayList<>();
+        catalog.addAll(GameDataLoader.loadMonsters("Dragons.txt", Monster.MonsterType.DRAGON));
+        catalog.addAll(GameDataLoader.loadMonsters("Exoskeletons.txt", Monster.MonsterType.EXOSKELETON));
+        catalog.addAll(GameDataLoader.loadMonsters("Spirits.txt", Monster.MonsterType.SPIRIT));
+        List<MonsterTemplate> monsters = new ArrayList<>();
+        for (Monster m : catalog) {
+            if (m.getTemplate() != null) monsters.add(m.getTemplate());
+        }
+        return monsters;
+    }
+
+    /**
+     * Every unordered 3-hero party from Warriors, Sorcerers and Paladins, each hero with its starter kit.
+     */
+    public static List<SimParty> draftParties() {
+        List<Hero> roster = new ArrayList<>();
+        roster.addAll(GameDataLoader.loadHeroes("Warriors.txt", HeroType.WARRIOR));
+        roster.addAll(GameDataLoader.loadHeroes("Sorcerers.txt", HeroType.SORCERER));
+        roster.addAll(GameDataLoader.loadHeroes("Paladins.txt", HeroType.PALADIN));
+        List<Weapon> weapons = GameDataLoader.loadWeapons("Weaponry.txt");
+        List<Armor> armors = GameDataLoader.loadArmor("Armory.txt");
+        List<Spell> spells = new ArrayList<>();
+        spells.addAll(GameDataLoader.loadSpells("FireSpells.txt", SpellType.FIRE));
+        spells.addAll(GameDataLoader.loadSpells("IceSpells.txt", SpellType.ICE));
+        spells.addAll(GameDataLoader.loadSpells("LightningSpells.txt", SpellType.LIGHTNING));
+
+        List<SimParty> parties = new ArrayList<>();
+        int n = roster.size();
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                for (int c = b + 1; c < n; c++) {
+                    List<Hero> heroes = new ArrayList<>(3);
+                    heroes.add(roster.get(a));
+                    heroes.add(roster.get(b));
+                    heroes.add(roster.get(c));
+                    parties.add(new SimParty(heroes, weapons, armors, spells));
+                }
+            }
+        }
+        return parties;
+    }
+
+    /**
+     * Plays every party missing from the checkpoint and returns the standings of all of them.
+     */
+    public Standings play() throws IOException {
+        int[][] valor = new int[parties.size()][];
+        int[][] legends = new int[parties.size()][];
+        Map<String, int[][]> saved = readCheckpoint();
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < parties.size(); i++) {
+            int[][] results = saved.get(parties.get(i).getKey());
+            if (results != null) {
+                valor[i] = results[0];
+                legends[i] = results[1];
+            } else {
+                missing.add(i);
+            }
+        }
+        System.out.println(ConsoleColors.CYAN + "Tournament: " + parties.size() + " parties, " + games
+                + " Valor + " + games + " Legends games each, " + threads + " threads." + ConsoleColors.RESET);
+        if (missing.size() < parties.size()) {
+            System.out.println("Resuming from " + checkpoint + ": " + (parties.size() - missing.size()) + " parties already played.");
+        }
+
+        if (!missing.isEmpty()) {
+            toPlay = missing.size();
+            startNanos = System.nanoTime();
+            out = openCheckpoint();
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new PlayRange(missing, 0, missing.size(), valor, legends));
+            } catch (RuntimeException e) {
+                // The pool may rethrow a copy of the worker's exception wrapping the original
+                for (Throwable t = e; t != null; t = t.getCause()) {
+                    if (t instanceof UncheckedIOException) throw ((UncheckedIOException) t).getCause();
+                }
+                throw e;
+            } finally {
+                pool.shutdown();
+                out.close();
+                out = null;
+            }
+        }
+        return new Standings(parties, valor, legends);
+    }
+
+    /** Splits the missing parties in halves down to one party per task. */
+    private final class PlayRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Integer> missing;
+        private final int from, to;
+        private final int[][] valor, legends;
+
+        PlayRange(List<Integer> missing, int from, int to, int[][] valor, int[][] legends) {
+            this.missing = missing;
+            this.from = from;
+            this.to = to;
+            this.valor = valor;
+            this.legends = legends;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PlayRange(missing, from, mid, valor, legends),
+                        new PlayRange(missing, mid, to, valor, legends));
+                return;
+            }
+            int i = missing.get(from);
+            SimParty party = parties.get(i);
+            BattleSim sim = sims.get();
+            int[] v = new int[games];
+            int[] l = new int[games];
+            for (int g = 0; g < games; g++) {
+                v[g] = sim.playValor(party, valorSeeds[g]);
+                l[g] = sim.playLegends(party, legendsSeeds[g]);
+            }
+            valor[i] = v;
+            legends[i] = l;
+            record(party, v, l);
+        }
+    }
+
+    /** Appends one finished party to the checkpoint and reports progress every 5%. */
+    private synchronized void record(SimParty party, int[] valor, int[] legends) {
+        try {
+            out.write(party.getKey() + '\t' + join(valor) + '\t' + join(legends));
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int done = finished.incrementAndGet();
+        int step = Math.max(1, toPlay / 20);
+        if (done % step == 0 || done == toPlay) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            System.out.printf("  %d/%d parties played (%.0f games/s)%n", done, toPlay, done * 2.0 * games / Math.max(seconds, 1e-9));
+        }
+    }
+
+    private String headerLine() {
+        return HEADER + " games=" + games + " seed=" + seed + " data=" + fingerprint;
+    }
+
+    /**
+     * @return Saved results by party key; a torn last line from an interrupted run is ignored.
+     * @throws IllegalArgumentException If the checkpoint was written with other games, seed, rules or data.
+     */
+    private Map<String, int[][]> readCheckpoint() throws IOException {
+        Map<String, int[][]> saved = new HashMap<>();
+        if (!Files.exists(checkpoint)) return saved;
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) return saved;
+        if (!lines.get(0).equals(headerLine())) {
+            throw new IllegalArgumentException("Checkpoint " + checkpoint + " was written by a different tournament ("
+                    + lines.get(0) + "); use another --checkpoint file.");
+        }
+        for (int k = 1; k < lines.size(); k++) {
+            String[] fields = lines.get(k).split("\t");
+            if (fields.length != 3) continue;
+            int[] valor = parse(fields[1]);
+            int[] legends = parse(fields[2]);
+            if (valor == null || legends == null) continue;
+            saved.put(fields[0], new int[][]{valor, legends});
+        }
+        return saved;
+    }
+
+    private BufferedWriter openCheckpoint() throws IOException {
+        boolean fresh = !Files.exists(checkpoint) || Files.size(checkpoint) == 0;
+        boolean torn = false;
+        if (!fresh) {
+            // A run killed mid-write can leave a line without its newline
+            try (RandomAccessFile file = new RandomAccessFile(checkpoint.toFile(), "r")) {
+                file.seek(file.length() - 1);
+                torn = file.read() != '\n';
+            }
+        }
+        BufferedWriter writer = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (fresh) {
+            writer.write(headerLine());
+            writer.newLine();
+        } else if (torn) {
+            writer.newLine();
+        }
+        writer.flush();
+        return writer;
+    }
+
+    /** @return The {@code games} comma-separated results, or null if the field is damaged. */
+    private int[] parse(String field) {
+        String[] parts = field.split(",");
+        if (parts.length != games) return null;
+        int[] results = new int[games];
+        try {
+            for (int g = 0; g < games; g++) results[g] = Integer.parseInt(parts[g]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return results;
+    }
+
+    private static String join(int[] results) {
+        StringBuilder sb = new StringBuilder(results.length * 4);
+        for (int g = 0; g < results.length; g++) {
+            if (g > 0) sb.append(',');
+            sb.append(results[g]);
+        }
+        return sb.toString();
+    }
+
+    private static void print(Standings standings, int top) {
+        List<Standings.Row> rows = standings.getRows();
+        System.out.println("\n" + ConsoleColors.YELLOW + "=== Tournament Standings ===" + ConsoleColors.RESET);
+        System.out.printf("%-5s %-52s %-7s %8s %8s %8s %7s%n", "Rank", "Party", "Classes", "Valor%", "Legends%", "Rounds", "Elo");
+        for (int i = 0; i < Math.min(top, rows.size()); i++) {
+            Standings.Row r = rows.get(i);
+            System.out.printf("%-5d %-52s %-7s %7.1f%% %7.1f%% %8.1f %7.0f%n", i + 1,
+                    r.getParty().getKey(), r.getParty().getClasses(),
+                    r.getValorWinRate() * 100, r.getLegendsWinRate() * 100, r.getAverageRounds(), r.getElo());
+        }
+        if (rows.size() > top) {
+            System.out.println("... " + (rows.size() - top) + " more parties (--top N to show more)");
+        }
+    }
+
+    private static String requireValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value.");
+        }
+        return args[index];
+    }
+}
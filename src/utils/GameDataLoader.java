@@ -11,7 +11,9 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class responsible for parsing game data from external text files.
@@ -78,14 +80,23 @@ public class GameDataLoader {
                     // Format: Name/level/damage/defense/dodge chance
                     if (parts.length < 5) continue;
 
-                    Monster monster = createMonster(parts[0], type,
+                    MonsterTemplate template = new MonsterTemplate(parts[0], type,
                             Integer.parseInt(parts[1]),   // Level
-                            Integer.parseInt(parts[1]) * 100.0, // HP = level * 100
                             Double.parseDouble(parts[2]), // Damage
                             Double.parseDouble(parts[3]), // Defense
                             Double.parseDouble(parts[4])  // Dodge
                     );
-                    if (monster != null) monsters.add(monster);
+                    Monster monster = createMonster(template.getName(), type,
+                            template.getBaseLevel(),
+                            template.getBaseLevel() * 100.0, // HP = level * 100
+                            template.getBaseDamage(),
+                            template.getBaseDefense(),
+                            template.getDodgeChance()
+                    );
+                    if (monster != null) {
+                        monster.setTemplate(template);
+                        monsters.add(monster);
+                    }
                 } catch (Exception e) {
                     logError(fileName, line);
                 }
@@ -201,6 +212,68 @@ public class GameDataLoader {
         return potions;
     }
 
+    // RULE TABLES
+
+    /**
+     * Loads a two-column "key value" table of numeric tuning parameters.
+     * Keys are lower-cased; lines that do not parse are logged and skipped.
+     *
+     * @param fileName File inside the data directory.
+     * @return Parsed entries in file order (empty if the file is missing).
+     */
+    public static Map<String, Double> loadNumberTable(String fileName) {
+        Map<String, Double> table = new LinkedHashMap<>();
+        File file = new File(DATA_DIR + File.separator + fileName);
+
+        if (!file.exists()) {
+            System.err.println("Warning: Config file not found: " + fileName);
+            return table;
+        }
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (shouldSkip(line)) continue;
+                try {
+                    String[] parts = line.trim().split("\\s+");
+                    // Format: Name/value
+                    if (parts.length < 2) continue;
+                    table.put(parts[0].toLowerCase(), Double.parseDouble(parts[1]));
+                } catch (Exception e) {
+                    logError(fileName, line);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return table;
+    }
+
+    /**
+     * Reads a whitespace-separated table as raw rows, for files whose columns are interpreted
+     * by their owner (the header line and blank lines are skipped).
+     */
+    public static List<String[]> loadRows(String fileName) {
+        List<String[]> rows = new ArrayList<>();
+        File file = new File(DATA_DIR + File.separator + fileName);
+
+        if (!file.exists()) {
+            System.err.println("Warning: Config file not found: " + fileName);
+            return rows;
+        }
+
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (shouldSkip(line)) continue;
+                rows.add(line.trim().split("\\s+"));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return rows;
+    }
+
     public static List<Spell> loadSpells(String fileName, SpellType type) {
         List<Spell> spells = new ArrayList<>();
         File file = new File(DATA_DIR + File.separator + fileName);
@@ -276,20 +349,23 @@ public class GameDataLoader {
 
     // Public factory method for runtime monster creation
     public static Monster createMonsterFromTemplate(Monster template, int level) {
-        // Much more reasonable scaling - base damage is way too high in data files
-        // Scale damage to be appropriate for hero HP levels (heroes have ~150-300 HP)
-        double scaledDamage = Math.max(10, level * 15 + (level * 5)); // Level 1: ~20, Level 2: ~40, Level 5: ~100
-        double scaledDefense = Math.max(5, level * 8 + (level * 2)); // Level 1: ~10, Level 2: ~20, Level 5: ~50
-        
-        return createMonster(
-            template.getName(),
-            template.getType(), 
-            level,
-            level * 100.0, // HP = level * 100 (reasonable)
-            scaledDamage, // Reasonable damage scaling
-            scaledDefense, // Reasonable defense scaling
-            Math.min(50, template.getDodgeChance()) // Cap dodge at 50%
-        );
+        MonsterTemplate species = template.getTemplate();
+        if (species == null) {
+            // Hand-built catalog entry: describe it once and keep the description
+            species = new MonsterTemplate(template.getName(), template.getType(), template.getLevel(),
+                    template.getBaseDamage(), template.getDefense(), template.getDodgeChance() * 100);
+            template.setTemplate(species);
+        }
+        // Scaling curves live on the shared template; instances come from the pool
+        return MonsterPool.current().acquire(species, level);
+    }
+
+    /**
+     * Returns a monster created by {@link #createMonsterFromTemplate} to the pool.
+     * Call only once nothing references the monster any more.
+     */
+    public static void recycleMonster(Monster monster) {
+        MonsterPool.current().release(monster);
     }
 
     // Factory method to create specific spell subclasses